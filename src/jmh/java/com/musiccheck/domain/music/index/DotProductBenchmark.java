@@ -0,0 +1,80 @@
+package com.musiccheck.domain.music.index;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 책 벡터 × 음악 행렬 내적 벤치마크 (./gradlew jmh)
+ * naive: 단순 for 루프 / scalar: ScalarDotProduct / kernel: DotProduct.get() (Vector API 사용 시 SIMD)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DotProductBenchmark {
+
+    @Param({"384", "768", "1536"})
+    int dimension;
+
+    @Param({"1000"})
+    int rows;
+
+    private float[] query;
+    private float[] matrix;
+    private final DotProduct kernel = DotProduct.get();
+    private final DotProduct scalar = DotProduct.scalar();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        query = new float[dimension];
+        matrix = new float[rows * dimension];
+        for (int i = 0; i < dimension; i++) {
+            query[i] = (float) random.nextGaussian();
+        }
+        for (int i = 0; i < matrix.length; i++) {
+            matrix[i] = (float) random.nextGaussian();
+        }
+    }
+
+    @Benchmark
+    public void naive(Blackhole blackhole) {
+        for (int row = 0; row < rows; row++) {
+            int offset = row * dimension;
+            float sum = 0f;
+            for (int i = 0; i < dimension; i++) {
+                sum += query[i] * matrix[offset + i];
+            }
+            blackhole.consume(sum);
+        }
+    }
+
+    @Benchmark
+    public void scalar(Blackhole blackhole) {
+        for (int row = 0; row < rows; row++) {
+            blackhole.consume(scalar.dot(query, 0, matrix, row * dimension, dimension));
+        }
+    }
+
+    @Benchmark
+    public void kernel(Blackhole blackhole) {
+        for (int row = 0; row < rows; row++) {
+            blackhole.consume(kernel.dot(query, 0, matrix, row * dimension, dimension));
+        }
+    }
+}
@@ -65,7 +65,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/user/google-token").permitAll()  // 구글 로그인 임시 토큰 조회 (인증 불필요)
                         .requestMatchers("/api/admin/login").permitAll()  // 관리자 로그인 API (인증 불필요)
                         .requestMatchers("/api/admin/users").permitAll()  // 관리자 사용자 목록 조회 (인증 불필요)
-                        .requestMatchers("/api/user/me", "/api/user", "/api/likes", "/api/likes/disliked", "/api/likes/**", "/api/search/books/*/select", "/api/search/recent", "/api/books/*/playlist", "/api/spotify/connect", "/api/spotify/create-playlist", "/api/admin/**").authenticated() // 인증 필요한 API
+                        .requestMatchers("/api/user/me", "/api/user", "/api/likes", "/api/likes/disliked", "/api/likes/**", "/api/search/books/*/select", "/api/search/recent", "/api/books/*/playlist", "/api/books/playlists", "/api/spotify/connect", "/api/spotify/create-playlist", "/api/admin/**").authenticated() // 인증 필요한 API
                         .requestMatchers("/private/**").authenticated()
                         .anyRequest().permitAll()
                 )
@@ -103,7 +103,7 @@ public class SecurityConfig {
         config.setAllowedOriginPatterns(Collections.singletonList("*"));
         config.setAllowedMethods(Arrays.asList("GET","POST","PUT","DELETE","OPTIONS","PATCH"));
         config.setAllowedHeaders(Collections.singletonList("*"));
-        config.setExposedHeaders(Arrays.asList("Content-Type", "Authorization", "Access-Control-Allow-Origin", "Access-Control-Allow-Credentials"));
+        config.setExposedHeaders(Arrays.asList("Content-Type", "Authorization", "Access-Control-Allow-Origin", "Access-Control-Allow-Credentials", "X-Next-Cursor"));
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
 
@@ -1,11 +1,15 @@
 package com.musiccheck.domain.book.controller;
 
 import com.musiccheck.domain.book.dto.BookDto;
+import com.musiccheck.domain.book.dto.BookSearchSlice;
+import com.musiccheck.domain.book.dto.BookSuggestion;
 import com.musiccheck.domain.book.service.BookService;
+import com.musiccheck.domain.book.service.BookSuggestService;
 import com.musiccheck.domain.user.entity.User;
 import com.musiccheck.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -19,7 +23,10 @@ import java.util.Map;
 @RequestMapping("/api/search")
 public class BookController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookService bookService;
+    private final BookSuggestService bookSuggestService;
     private final UserRepository userRepository;
 
     @GetMapping
@@ -31,6 +38,31 @@ public class BookController {
         return bookService.search(keyword, page, size);
     }
 
+    // 무한 스크롤 검색 (건수 없이 hasNext만, 다음 페이지 커서는 X-Next-Cursor 헤더로 전달)
+    @GetMapping("/scroll")
+    public ResponseEntity<Slice<BookDto>> scroll(
+            @RequestParam String keyword,                 // 검색어
+            @RequestParam(required = false) String cursor // 이전 응답의 X-Next-Cursor (첫 페이지는 생략)
+    ) {
+        int size = 12; // 3x4 그리드 → 12개
+        BookSearchSlice slice = bookService.scroll(keyword, cursor, size);
+        if (slice.nextCursor() == null) {
+            return ResponseEntity.ok(slice.books());
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, slice.nextCursor())
+                .body(slice.books());
+    }
+
+    // 검색어 자동완성 (메모리 인덱스에서 바로 응답, DB 조회 없음)
+    @GetMapping("/suggest")
+    public List<BookSuggestion> suggest(
+            @RequestParam String keyword,                 // 입력 중인 검색어
+            @RequestParam(defaultValue = "10") int limit  // 최대 개수
+    ) {
+        return bookSuggestService.suggest(keyword, limit);
+    }
+
     // 책 선택 시 히스토리 저장
     @PostMapping("/books/{isbn}/select")
     public ResponseEntity<Map<String, Object>> selectBook(
@@ -0,0 +1,11 @@
+package com.musiccheck.domain.book.dto;
+
+import org.springframework.data.domain.Slice;
+
+/**
+ * 무한 스크롤 검색 한 페이지 (nextCursor가 null이면 마지막 페이지)
+ */
+public record BookSearchSlice(
+        Slice<BookDto> books,
+        String nextCursor
+) {}
@@ -0,0 +1,9 @@
+package com.musiccheck.domain.book.dto;
+
+/**
+ * 검색어 자동완성 항목
+ */
+public record BookSuggestion(
+        String isbn,
+        String title
+) {}
@@ -0,0 +1,10 @@
+package com.musiccheck.domain.book.event;
+
+/**
+ * 검색 결과에서 책을 선택한 이벤트 (커밋 후 플레이리스트 선계산용)
+ */
+public record BookSelectedEvent(
+        Long userId,
+        String isbn,
+        String searchQuery
+) {}
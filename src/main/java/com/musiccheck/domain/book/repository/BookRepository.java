@@ -1,18 +1,61 @@
 package com.musiccheck.domain.book.repository;
 
+import com.musiccheck.domain.book.dto.BookDto;
 import com.musiccheck.domain.book.entity.BookEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BookRepository extends JpaRepository<BookEntity, String> {
 
     Page<BookEntity> findByTitleContainingIgnoreCase(String keyword, Pageable pageable);
 
+    /**
+     * 제목 부분 일치 무한 스크롤 (isbn 순, afterIsbn 뒤부터, 건수 조회 없음)
+     */
+    Slice<BookEntity> findByTitleContainingIgnoreCaseAndIsbnGreaterThanOrderByIsbnAsc(String keyword, String afterIsbn, Pageable pageable);
+
     /**
      * ISBN 목록으로 책 조회
      */
     List<BookEntity> findByIsbnIn(List<String> isbns);
+
+    /**
+     * 메모리 검색 인덱스용 전체 책 (설명/임베딩 등 큰 컬럼 제외)
+     */
+    @Query("""
+        SELECT new com.musiccheck.domain.book.dto.BookDto(b.isbn, b.title, b.author, b.publisher, b.pubdate, b.image)
+        FROM BookEntity b
+        """)
+    List<BookDto> findAllForSearchIndex();
+
+    /**
+     * book 테이블 누적 쓰기 건수 (insert + update + delete, 값이 바뀌면 책이 변경된 것)
+     * 테이블 이름만으로 찾으면 다른 스키마의 book과 섞이므로 search_path 기준 OID(to_regclass)로 찾음
+     */
+    @Query(value = """
+        SELECT COALESCE((SELECT n_tup_ins + n_tup_upd + n_tup_del
+                         FROM pg_stat_user_tables
+                         WHERE relid = to_regclass('book')), 0)
+        """,
+            nativeQuery = true)
+    long countBookWrites();
+
+    /**
+     * 여러 책의 임베딩 벡터 한 번에 조회 (isbn, pgvector 텍스트 표현)
+     */
+    @Query(value = """
+        SELECT b.isbn, CAST(e.vector AS text)
+        FROM book b
+        JOIN embedding e ON e.embedding_id = b.embedding_id
+        WHERE b.isbn IN (:isbns)
+        """,
+            nativeQuery = true)
+    List<Object[]> findEmbeddingVectorsByIsbns(@Param("isbns") Collection<String> isbns);
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.musiccheck.domain.book.repository;
+
+import com.musiccheck.domain.book.dto.BookDto;
+import com.musiccheck.domain.book.dto.BookSearchSlice;
+import com.musiccheck.domain.book.search.BookSearchCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * pg_trgm GIN 인덱스 기반 책 검색 (db/book_search_trgm.sql 필요)
+ * - 제목/저자/검색 키워드를 이은 식에 부분 일치(ILIKE '%kw%')를 걸어 trigram 인덱스로 후보를 찾음
+ * - 정렬: 제목 완전 일치 → 제목 접두 일치 → 제목/저자/키워드 word_similarity 순 (동점은 isbn)
+ * - 전체 건수는 COUNT(*) OVER ()로 같은 쿼리에서 함께 계산 (Page용 COUNT 쿼리를 따로 실행하지 않음)
+ * - 무한 스크롤(scroll)은 첫 페이지만 관련도 순, 이후는 첫 페이지 뒤의 결과를 isbn keyset으로 읽음 (OFFSET/건수 없음)
+ *   관련도 정렬은 일치하는 책 전부에 점수를 매겨야 하므로 첫 페이지에서 한 번만 하고,
+ *   이후 페이지는 isbn 순으로 읽으며 limit을 채울 때까지 읽은 책만 점수를 계산 (첫 페이지에 나온 책 제외용)
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookSearchRepository {
+
+    // 인덱스 식과 정확히 같아야 인덱스를 사용함
+    private static final String SEARCH_TEXT =
+            "(coalesce(b.title, '') || ' ' || coalesce(b.author, '') || ' ' || coalesce(b.search_keyword, ''))";
+
+    // 검색 후보와 정렬 열: tier (제목 완전 일치 2 / 접두 일치 1 / 그 외 0), score (제목/저자/키워드 word_similarity 가중 최댓값)
+    private static final String RANKED_CTE = """
+            WITH q AS (SELECT CAST(? AS text) AS keyword, CAST(? AS text) AS contains, CAST(? AS text) AS prefix),
+            ranked AS (
+                SELECT b.isbn, b.title, b.author, b.publisher, b.pubdate, b.image,
+                       CASE WHEN lower(b.title) = lower(q.keyword) THEN 2
+                            WHEN b.title ILIKE q.prefix THEN 1
+                            ELSE 0 END AS tier,
+                       CAST(coalesce(GREATEST(word_similarity(q.keyword, b.title),
+                                              0.8 * word_similarity(q.keyword, b.author),
+                                              0.5 * word_similarity(q.keyword, b.search_keyword)), 0) AS double precision) AS score
+                FROM book b, q
+                WHERE %s ILIKE q.contains
+            )
+            """.formatted(SEARCH_TEXT);
+
+    private static final String SEARCH_SQL = RANKED_CTE + """
+            SELECT r.*, COUNT(*) OVER () AS total
+            FROM ranked r
+            ORDER BY r.tier DESC, r.score DESC, r.isbn
+            LIMIT ? OFFSET ?
+            """;
+
+    // 스크롤 첫 페이지: 관련도 순 (일치하는 책 전부에 점수를 매겨 정렬, 스크롤마다 한 번)
+    private static final String SCROLL_FIRST_SQL = RANKED_CTE + """
+            SELECT r.*
+            FROM ranked r
+            ORDER BY r.tier DESC, r.score DESC, r.isbn
+            LIMIT ?
+            """;
+
+    // 이후 페이지: isbn keyset, 첫 페이지 마지막 위치 (tier, score, isbn) 뒤의 책만 (첫 페이지에 나온 책 제외)
+    private static final String SCROLL_NEXT_SQL = RANKED_CTE + """
+            SELECT r.*
+            FROM ranked r
+            WHERE r.isbn > ?
+              AND (r.tier < ? OR (r.tier = ? AND (r.score < ? OR (r.score = ? AND r.isbn > ?))))
+            ORDER BY r.isbn
+            LIMIT ?
+            """;
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM book b WHERE " + SEARCH_TEXT + " ILIKE ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Page<BookDto> search(String keyword, Pageable pageable) {
+        String escaped = escapeLike(keyword);
+        long[] total = {-1L};
+        List<BookDto> books = new ArrayList<>(pageable.getPageSize());
+        jdbcTemplate.query(SEARCH_SQL, rs -> {
+            total[0] = rs.getLong("total");
+            books.add(toBookDto(rs));
+        }, keyword, "%" + escaped + "%", escaped + "%", pageable.getPageSize(), pageable.getOffset());
+
+        // 마지막 페이지를 넘긴 요청만 건수를 따로 조회
+        if (total[0] < 0) {
+            total[0] = pageable.getOffset() == 0 ? 0L
+                    : jdbcTemplate.queryForObject(COUNT_SQL, Long.class, "%" + escaped + "%");
+        }
+        return new PageImpl<>(books, pageable, total[0]);
+    }
+
+    /**
+     * after 위치 뒤의 결과 size권 (건수 조회 없이 size + 1권을 읽어 다음 페이지 유무 판단)
+     * 첫 페이지(after.afterIsbn() == null)는 관련도 순, 이후는 첫 페이지 위치를 유지한 채 isbn 순
+     */
+    public BookSearchSlice scroll(String keyword, BookSearchCursor after, int size) {
+        String escaped = escapeLike(keyword);
+        List<BookDto> books = new ArrayList<>(size + 1);
+        List<BookSearchCursor> positions = new ArrayList<>(size + 1);
+        boolean firstPage = after.afterIsbn() == null;
+        RowCallbackHandler collect = rs -> {
+            books.add(toBookDto(rs));
+            positions.add(new BookSearchCursor(rs.getInt("tier"), rs.getDouble("score"), rs.getString("isbn")));
+        };
+        if (firstPage) {
+            jdbcTemplate.query(SCROLL_FIRST_SQL, collect, keyword, "%" + escaped + "%", escaped + "%", size + 1);
+        } else {
+            jdbcTemplate.query(SCROLL_NEXT_SQL, collect, keyword, "%" + escaped + "%", escaped + "%", after.afterIsbn(),
+                    after.tier(), after.tier(), after.score(), after.score(), after.isbn(), size + 1);
+        }
+
+        boolean hasNext = books.size() > size;
+        if (!hasNext) {
+            return new BookSearchSlice(new SliceImpl<>(books, PageRequest.of(0, size), false), null);
+        }
+        String lastIsbn = books.get(size - 1).isbn();
+        BookSearchCursor next = firstPage
+                ? positions.get(size - 1).continuingAfter("")
+                : after.continuingAfter(lastIsbn);
+        return new BookSearchSlice(new SliceImpl<>(books.subList(0, size), PageRequest.of(0, size), true), next.encode());
+    }
+
+    private static BookDto toBookDto(ResultSet rs) throws SQLException {
+        return new BookDto(
+                rs.getString("isbn"),
+                rs.getString("title"),
+                rs.getString("author"),
+                rs.getString("publisher"),
+                rs.getString("pubdate"),
+                rs.getString("image")
+        );
+    }
+
+    // LIKE 패턴 문자 이스케이프 (기본 ESCAPE 문자는 역슬래시)
+    private static String escapeLike(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
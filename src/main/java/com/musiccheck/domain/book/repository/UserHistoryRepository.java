@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -23,5 +24,19 @@ public interface UserHistoryRepository extends JpaRepository<UserHistory, Long>
            "AND h.id IN (SELECT MAX(h2.id) FROM UserHistory h2 WHERE h2.userId = :userId GROUP BY h2.bookId) " +
            "ORDER BY h.createdAt DESC")
     List<String> findRecentBookIdsByUserId(@Param("userId") Long userId, org.springframework.data.domain.Pageable pageable);
-}
 
+    /**
+     * since 이후 많이 선택된 책 ID와 선택 횟수 (선택 횟수 내림차순, 시작 시 warm-up 대상 선정용)
+     * @return (book_id, selections) 목록
+     */
+    @Query(value = "SELECT book_id, COUNT(*) AS selections FROM user_history " +
+                   "WHERE created_at >= :since " +
+                   "GROUP BY book_id " +
+                   "ORDER BY selections DESC, book_id " +
+                   "LIMIT :limit", nativeQuery = true)
+    List<Object[]> findMostSelectedBookIds(@Param("since") LocalDateTime since, @Param("limit") int limit);
+
+    // since 이후 전체 선택 횟수 (warm-up 커버리지 계산용)
+    @Query("SELECT COUNT(h) FROM UserHistory h WHERE h.createdAt >= :since")
+    long countSelectionsSince(@Param("since") LocalDateTime since);
+}
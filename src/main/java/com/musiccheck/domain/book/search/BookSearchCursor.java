@@ -0,0 +1,69 @@
+package com.musiccheck.domain.book.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * 검색 결과 무한 스크롤 커서 (클라이언트에는 불투명한 문자열로 전달)
+ * 결과는 (tier 내림차순, score 내림차순, isbn 오름차순)으로 정렬되고, 커서는 이전 페이지 마지막 책의 위치
+ * - trigram 검색: tier = 제목 완전 일치 2 / 접두 일치 1 / 그 외 0, score = word_similarity 가중 최댓값
+ * - like 검색: tier/score 0 (isbn 순)
+ * - 메모리 검색: tier = 등급, score = -제목 길이 (짧은 제목이 앞)
+ * trigram 검색은 첫 페이지만 관련도 순이고 이후는 isbn 순 (afterIsbn이 있으면 두 번째 페이지부터)
+ * - (tier, score, isbn): 첫 페이지 마지막 책의 위치 (이 위치까지의 책은 첫 페이지에서 이미 반환)
+ * - afterIsbn: 이전 페이지 마지막 책의 isbn (두 번째 페이지 시작은 빈 문자열)
+ */
+public record BookSearchCursor(int tier, double score, String isbn, String afterIsbn) {
+
+    // 첫 페이지 (모든 결과가 이 위치 뒤에 옴)
+    public static final BookSearchCursor FIRST = new BookSearchCursor(Integer.MAX_VALUE, Double.POSITIVE_INFINITY, "");
+
+    public static final Comparator<BookSearchCursor> ORDER = Comparator
+            .comparingInt(BookSearchCursor::tier).reversed()
+            .thenComparing(Comparator.comparingDouble(BookSearchCursor::score).reversed())
+            .thenComparing(BookSearchCursor::isbn);
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public BookSearchCursor(int tier, double score, String isbn) {
+        this(tier, score, isbn, null);
+    }
+
+    // 첫 페이지 위치는 그대로 두고 isbn 순 다음 페이지로 이어가는 커서
+    public BookSearchCursor continuingAfter(String lastIsbn) {
+        return new BookSearchCursor(tier, score, isbn, lastIsbn);
+    }
+
+    public boolean isAfter(BookSearchCursor other) {
+        return ORDER.compare(this, other) > 0;
+    }
+
+    public String encode() {
+        String position = tier + ":" + score + ":" + isbn + (afterIsbn != null ? ":" + afterIsbn : "");
+        return ENCODER.encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor 이전 페이지의 커서 (없으면 FIRST)
+     */
+    public static BookSearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String[] parts = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split(":", 4);
+            if (parts.length < 3 || parts[2].isEmpty()) {
+                throw new IllegalArgumentException("잘못된 cursor입니다.");
+            }
+            double score = Double.parseDouble(parts[1]);
+            if (Double.isNaN(score)) {
+                throw new IllegalArgumentException("잘못된 cursor입니다.");
+            }
+            return new BookSearchCursor(Integer.parseInt(parts[0]), score, parts[2], parts.length == 4 ? parts[3] : null);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 cursor입니다.");
+        }
+    }
+}
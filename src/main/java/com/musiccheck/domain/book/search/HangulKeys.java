@@ -0,0 +1,130 @@
+package com.musiccheck.domain.book.search;
+
+/**
+ * 한글 음절 초성/자모 분해 (호환 자모 U+3131~U+318E 기준)
+ * - 초성 키: 음절은 초성으로, 그 외 글자는 그대로 ("해리포터" → "ㅎㄹㅍㅌ")
+ * - 자모: 음절과 겹자모를 낱자로 분해 ("닭" → "ㄷㅏㄹㄱ", "과" → "ㄱㅗㅏ")
+ */
+public final class HangulKeys {
+
+    private static final char SYLLABLE_FIRST = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+    private static final char JAMO_FIRST = 0x3131;
+    private static final char JAMO_LAST = 0x318E;
+    private static final char CONSONANT_LAST = 0x314E; // ㅎ
+
+    private static final String CHOSUNG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String[] JUNGSUNG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ",
+            "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+    private static final String[] JONGSUNG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+            "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+    // 호환 자모 중 겹자모의 낱자 분해
+    private static final String COMPOUND_JAMO = "ㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄㅘㅙㅚㅝㅞㅟㅢ";
+    private static final String[] COMPOUND_PARTS = {
+            "ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅂㅅ",
+            "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅡㅣ"
+    };
+
+    private HangulKeys() {
+    }
+
+    public static boolean isSyllable(char c) {
+        return c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST;
+    }
+
+    // 단독으로 입력된 자음/모음 (호환 자모)
+    public static boolean isJamo(char c) {
+        return c >= JAMO_FIRST && c <= JAMO_LAST;
+    }
+
+    public static boolean isConsonant(char c) {
+        return c >= JAMO_FIRST && c <= CONSONANT_LAST;
+    }
+
+    public static boolean containsJamo(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isJamo(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 받침이 있는 음절 (입력 중에는 다음 음절의 초성일 수 있음)
+    public static boolean hasFinal(char c) {
+        return isSyllable(c) && (c - SYLLABLE_FIRST) % 28 != 0;
+    }
+
+    /**
+     * 음절이면 초성, 그 외에는 그대로
+     */
+    public static char chosung(char c) {
+        return isSyllable(c) ? CHOSUNG.charAt((c - SYLLABLE_FIRST) / 588) : c;
+    }
+
+    public static String chosung(String text) {
+        StringBuilder key = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            key.append(chosung(text.charAt(i)));
+        }
+        return key.toString();
+    }
+
+    /**
+     * 한 글자를 낱자 자모로 분해해 붙임 (한글이 아니면 그대로)
+     */
+    public static void appendJamo(StringBuilder target, char c) {
+        if (isSyllable(c)) {
+            int index = c - SYLLABLE_FIRST;
+            target.append(CHOSUNG.charAt(index / 588))
+                    .append(JUNGSUNG[(index % 588) / 28])
+                    .append(JONGSUNG[index % 28]);
+            return;
+        }
+        int compound = COMPOUND_JAMO.indexOf(c);
+        if (compound >= 0) {
+            target.append(COMPOUND_PARTS[compound]);
+        } else {
+            target.append(c);
+        }
+    }
+
+    /**
+     * 입력 중인 음절 c가 가리킬 수 있는 완성 음절 (초성이 같고, 자모가 c의 자모로 시작하거나 c의 자모의 앞부분인 음절)
+     * 예: "퐅" → "퐅", "포" (받침 ㅌ이 다음 음절 초성으로 넘어간 경우), "달" → "달", "닭", "닮", ..., "다"
+     */
+    public static char[] completions(char c) {
+        if (!isSyllable(c)) {
+            return new char[]{c};
+        }
+        int index = c - SYLLABLE_FIRST;
+        int cho = index / 588;
+        String typed = JUNGSUNG[(index % 588) / 28] + JONGSUNG[index % 28];
+        StringBuilder found = new StringBuilder();
+        for (int jung = 0; jung < JUNGSUNG.length; jung++) {
+            String vowel = JUNGSUNG[jung];
+            if (!vowel.startsWith(typed) && !typed.startsWith(vowel)) {
+                continue;
+            }
+            for (int jong = 0; jong < JONGSUNG.length; jong++) {
+                String rest = vowel + JONGSUNG[jong];
+                if (rest.startsWith(typed) || typed.startsWith(rest)) {
+                    found.append((char) (SYLLABLE_FIRST + cho * 588 + jung * 28 + jong));
+                }
+            }
+        }
+        return found.toString().toCharArray();
+    }
+
+    public static String jamo(String text) {
+        StringBuilder jamo = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            appendJamo(jamo, text.charAt(i));
+        }
+        return jamo.toString();
+    }
+}
@@ -0,0 +1,815 @@
+package com.musiccheck.domain.book.search;
+
+import com.musiccheck.domain.book.dto.BookSuggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+/**
+ * 책 제목/저자 메모리 검색 인덱스 (자동완성, 초성/자모 검색)
+ * - 제목/저자를 소문자 + 글자/숫자만 남긴 키로 바꿔 2-gram 역색인을 만듦 (문서 ID 순)
+ * - 한글 제목/저자는 초성 키("해리포터" → "ㅎㄹㅍㅌ")의 2-gram도 같은 역색인에 넣어 초성/자모 질의의 후보로 사용
+ * - 질의는 글자 단위로 비교: 완성 음절은 그대로, 단독 자음은 초성으로, 마지막 글자는 입력 중일 수 있으므로
+ *   자모 접두로 비교 ("해리퐅"의 "퐅" = ㅍㅗㅌ 은 "포터"의 ㅍㅗ + ㅌ 과 일치)
+ * - 1글자 질의: 첫 글자(또는 그 초성) 일치를 등급별(제목 시작/제목 단어 시작/저자 시작) 1-gram 목록으로 따로 색인
+ * - 등급 목록과 제목 첫 2-gram 목록은 정렬 순서(짧은 제목 → 문서 ID)로 유지해, 제목 접두 일치가 N개 나오면 바로 반환
+ * - 정렬: 제목 접두 일치 → 제목 포함 → 저자만 일치, 같은 등급이면 글자 그대로 일치 → 짧은 제목 → 먼저 색인된 책
+ *   (자동완성과 전체 검색이 같은 정렬을 사용)
+ * - 변경은 문서 단위 추가/삭제 (삭제는 표시만 하고, 삭제 비율이 커지면 살아 있는 문서로 다시 색인)
+ * - 조회는 읽기 잠금, 변경은 쓰기 잠금 (조회끼리는 동시에 실행)
+ */
+public class TitleSuggestIndex {
+
+    private static final double COMPACT_DELETED_RATIO = 0.3;
+
+    private static final int TIER_TITLE_PREFIX = 3;
+    private static final int TIER_TITLE = 2;
+    private static final int TIER_AUTHOR = 1;
+
+    private static final int DOC_BITS = 28;
+    private static final int LENGTH_BITS = 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 문서 ID(추가 순서) 기준 열
+    private final List<String> isbns = new ArrayList<>();
+    private final List<String> titles = new ArrayList<>();
+    private final List<String> titleKeys = new ArrayList<>();
+    private final List<String> authorKeys = new ArrayList<>();
+    private long[] deleted = new long[0];
+    private int deletedCount = 0;
+
+    private final Map<String, Integer> docIdByIsbn = new HashMap<>();
+    // gram → 문서 ID 목록 (문서 ID는 증가 순으로만 추가되므로 항상 정렬 상태)
+    private Map<Integer, Postings> postings = new HashMap<>();
+    // 제목 첫 2-gram(글자 그대로/초성) → 문서 ID 목록 (정렬 순서)
+    private Map<Integer, Postings> prefixPostings = new HashMap<>();
+
+    /**
+     * 전체 검색 결과 한 페이지 (total은 전체 일치 건수)
+     */
+    public record SearchHits(List<String> isbns, int total) {}
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdByIsbn.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 책 추가 또는 갱신 (제목/저자가 그대로면 아무것도 하지 않음)
+     * @return 색인이 바뀌었으면 true
+     */
+    public boolean put(String isbn, String title, String author) {
+        String titleKey = normalize(title);
+        String authorKey = normalize(author);
+        lock.writeLock().lock();
+        try {
+            Integer existing = docIdByIsbn.get(isbn);
+            if (existing != null) {
+                if (titles.get(existing).equals(title == null ? "" : title) && authorKeys.get(existing).equals(authorKey)) {
+                    return false;
+                }
+                markDeleted(existing);
+            }
+            addDocument(isbn, title == null ? "" : title, titleKey, authorKey);
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 목록에 없는 책 제거
+     * @return 제거한 책 수
+     */
+    public int retainAll(Collection<String> liveIsbns) {
+        Set<String> live = liveIsbns instanceof Set<String> set ? set : new HashSet<>(liveIsbns);
+        lock.writeLock().lock();
+        try {
+            List<String> removed = new ArrayList<>();
+            for (String isbn : docIdByIsbn.keySet()) {
+                if (!live.contains(isbn)) {
+                    removed.add(isbn);
+                }
+            }
+            for (String isbn : removed) {
+                markDeleted(docIdByIsbn.remove(isbn));
+            }
+            compactIfNeeded();
+            return removed.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 일괄 추가 후 posting 배열의 여유 공간 정리
+     */
+    public void trimToSize() {
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(Postings::trim);
+            prefixPostings.values().forEach(Postings::trim);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 질의와 일치하는 상위 limit권 (질의가 비어 있으면 빈 목록)
+     */
+    public List<BookSuggestion> suggest(String query, int limit) {
+        String key = normalize(query);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Query q = new Query(key);
+        lock.readLock().lock();
+        try {
+            int[] docIds = prefixMatches(q, limit);
+            if (docIds == null) {
+                long[] ranked = rank(q, limit).toSortedArray();
+                docIds = new int[ranked.length];
+                for (int i = 0; i < ranked.length; i++) {
+                    docIds[i] = docIdOf(ranked[i]);
+                }
+            }
+            List<BookSuggestion> suggestions = new ArrayList<>(docIds.length);
+            for (int docId : docIds) {
+                suggestions.add(new BookSuggestion(isbns.get(docId), titles.get(docId)));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 일치 결과 중 [offset, offset + limit) 구간 (자동완성과 같은 정렬)
+     * offset이 전체 건수 이상이거나 limit이 0이면 빈 목록과 전체 건수
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset과 limit은 0 이상이어야 합니다.");
+        }
+        String key = normalize(query);
+        if (key.isEmpty()) {
+            return new SearchHits(List.of(), 0);
+        }
+        Query q = new Query(key);
+        lock.readLock().lock();
+        try {
+            RankedDocs ranked = rank(q, (int) Math.min(Integer.MAX_VALUE, (long) offset + limit));
+            long[] top = ranked.toSortedArray();
+            List<String> page = new ArrayList<>();
+            for (int i = offset; i < top.length; i++) {
+                page.add(isbns.get(docIdOf(top[i])));
+            }
+            return new SearchHits(page, ranked.total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 무한 스크롤용 검색: after 위치 뒤의 결과 중 앞에서 limit개의 위치
+     * 정렬은 search와 같은 등급 → 짧은 제목 순이지만, 동점은 문서 ID 대신 isbn 순 (다시 색인해도 순서가 유지됨)
+     * - 정렬은 limit개 힙으로 하지만 후보 문서는 매 페이지 전부 비교하므로 비용은 페이지 크기가 아니라 일치 건수에 비례
+     */
+    public List<BookSearchCursor> scroll(String query, BookSearchCursor after, int limit) {
+        String key = normalize(query);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Query q = new Query(key);
+        lock.readLock().lock();
+        try {
+            // 앞에서 limit개만 유지 (맨 위가 가장 뒤 위치인 힙, 가득 차면 그보다 앞일 때만 교체)
+            PriorityQueue<BookSearchCursor> top = new PriorityQueue<>(BookSearchCursor.ORDER.reversed());
+            forEachCandidate(q, docId -> {
+                if (!isDeleted(docId)) {
+                    int rankClass = rankClass(docId, q);
+                    if (rankClass > 0) {
+                        BookSearchCursor position = new BookSearchCursor(
+                                rankClass, -titleKeys.get(docId).length(), isbns.get(docId));
+                        if (position.isAfter(after)
+                                && (top.size() < limit || BookSearchCursor.ORDER.compare(position, top.peek()) < 0)) {
+                            if (top.size() == limit) {
+                                top.poll();
+                            }
+                            top.add(position);
+                        }
+                    }
+                }
+            });
+            BookSearchCursor[] positions = new BookSearchCursor[top.size()];
+            for (int i = positions.length - 1; i >= 0; i--) {
+                positions[i] = top.poll();
+            }
+            return Arrays.asList(positions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 대략적인 힙 사용량 (객체 헤더 16바이트, 참조 4바이트, 문자열은 Latin-1이 아니면 글자당 2바이트 기준 추정)
+     */
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (int docId = 0; docId < isbns.size(); docId++) {
+                bytes += stringBytes(isbns.get(docId)) + stringBytes(titles.get(docId))
+                        + stringBytes(titleKeys.get(docId)) + stringBytes(authorKeys.get(docId)) + 4L * 4;
+            }
+            bytes += 48L * docIdByIsbn.size();                    // HashMap 노드 + Integer
+            for (Postings list : postings.values()) {
+                bytes += 48 + 16 + 4L * list.ids.length;          // HashMap 노드 + Integer 키 + Postings + int[]
+            }
+            for (Postings list : prefixPostings.values()) {
+                bytes += 48 + 16 + 4L * list.ids.length;
+            }
+            return bytes + 8L * deleted.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 소문자로 바꾸고 글자/숫자만 남긴 키 (공백/기호 무시)
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * 정렬 순서 목록에서 제목 접두 일치를 앞에서부터 limit개 찾음 (모자라면 null → 전체 순위 계산)
+     * 같은 등급 안에서는 글자 그대로 일치가 앞서므로, 자모 비교가 필요한 질의는 글자 그대로 일치만 먼저 확인
+     * (단독 자모가 들어간 질의는 글자 그대로 일치할 수 없으므로 초성 목록에서 자모 비교로 확인)
+     */
+    private int[] prefixMatches(Query q, int limit) {
+        boolean literal = !q.hasLoneJamo;
+        String gramKey = literal ? q.key : q.skeleton;
+        if (gramKey.isEmpty()) {
+            return null;
+        }
+        Postings list = gramKey.length() == 1
+                ? postings.get(initialGram(TIER_TITLE_PREFIX, gramKey.charAt(0)))
+                : prefixPostings.get(bigram(gramKey.charAt(0), gramKey.charAt(1)));
+        if (list == null) {
+            return null;
+        }
+        int[] found = new int[limit];
+        int count = 0;
+        for (int p = 0; p < list.size; p++) {
+            int docId = list.ids[p];
+            if (isDeleted(docId)) {
+                continue;
+            }
+            String titleKey = titleKeys.get(docId);
+            if (!literal && titleKey.startsWith(q.key)) {
+                return null;   // 제목에 자모가 그대로 있는 책은 더 높은 등급이므로 전체 순위로 계산
+            }
+            if (literal ? titleKey.startsWith(q.key) : q.matchesAt(titleKey, 0)) {
+                found[count++] = docId;
+                if (count == limit) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    // 후보 전체의 등급을 계산해 상위 limit개를 모음 (일치 건수는 전체를 셈)
+    private RankedDocs rank(Query q, int limit) {
+        RankedDocs ranked = new RankedDocs(limit);
+        forEachCandidate(q, docId -> {
+            if (!isDeleted(docId)) {
+                int rankClass = rankClass(docId, q);
+                if (rankClass > 0) {
+                    ranked.offer(sortKey(rankClass, titleKeys.get(docId).length(), docId));
+                }
+            }
+        });
+        return ranked;
+    }
+
+    /**
+     * 질의를 포함할 수 있는 문서 (중복 없음, 확인 전 후보)
+     * - 1글자: 그 글자(단독 자모면 그대로, 입력 중인 음절이면 가능한 완성 음절들)의 등급별 1-gram 목록
+     * - 2글자 이상: 인접한 두 글자마다 2-gram 목록(입력 중인 마지막 음절은 완성 음절별 목록의 합집합)의 교집합
+     */
+    private void forEachCandidate(Query q, IntConsumer action) {
+        if (q.key.length() == 1) {
+            if (q.lastCompletions != null) {
+                List<Integer> grams = new ArrayList<>();
+                for (int tier = TIER_TITLE_PREFIX; tier >= TIER_AUTHOR; tier--) {
+                    for (char completion : q.lastCompletions) {
+                        grams.add(initialGram(tier, completion));
+                    }
+                }
+                Postings union = union(grams.stream().mapToInt(Integer::intValue).toArray());
+                for (int p = 0; p < union.size; p++) {
+                    action.accept(union.ids[p]);
+                }
+                return;
+            }
+            char initial = q.key.charAt(0);
+            for (int tier = TIER_TITLE_PREFIX; tier >= TIER_AUTHOR; tier--) {
+                Postings list = postings.get(initialGram(tier, initial));
+                if (list != null) {
+                    for (int p = 0; p < list.size; p++) {
+                        action.accept(list.ids[p]);
+                    }
+                }
+            }
+            return;
+        }
+
+        List<int[]> groups = q.candidateGramGroups();
+        if (groups.isEmpty()) {
+            return;
+        }
+        Postings[] lists = new Postings[groups.size()];
+        for (int i = 0; i < lists.length; i++) {
+            int[] group = groups.get(i);
+            lists[i] = group.length == 1 ? postings.get(group[0]) : union(group);
+            if (lists[i] == null || lists[i].size == 0) {
+                return;
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        int[] cursors = new int[lists.length];
+        Postings shortest = lists[0];
+        for (int p = 0; p < shortest.size; p++) {
+            int docId = shortest.ids[p];
+            if (advanceAll(lists, cursors, docId)) {
+                action.accept(docId);
+            }
+        }
+    }
+
+    // 여러 gram 목록의 합집합 (문서 ID 순, 중복 제거)
+    private Postings union(int[] grams) {
+        Postings union = new Postings();
+        for (int gram : grams) {
+            Postings list = postings.get(gram);
+            if (list != null) {
+                for (int p = 0; p < list.size; p++) {
+                    union.add(list.ids[p]);
+                }
+            }
+        }
+        Arrays.sort(union.ids, 0, union.size);
+        int distinct = 0;
+        for (int p = 0; p < union.size; p++) {
+            if (distinct == 0 || union.ids[distinct - 1] != union.ids[p]) {
+                union.ids[distinct++] = union.ids[p];
+            }
+        }
+        union.size = distinct;
+        return union;
+    }
+
+    // 나머지 목록의 커서를 docId 이상으로 전진 (docId는 증가 순으로 들어오므로 커서는 되돌아가지 않음)
+    private static boolean advanceAll(Postings[] lists, int[] cursors, int docId) {
+        for (int i = 1; i < lists.length; i++) {
+            Postings list = lists[i];
+            int cursor = cursors[i];
+            while (cursor < list.size && list.ids[cursor] < docId) {
+                cursor++;
+            }
+            cursors[i] = cursor;
+            if (cursor == list.size || list.ids[cursor] != docId) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 등급 * 2 + (글자 그대로 일치면 1), 일치하지 않으면 0
+     * 1글자 질의는 제목 시작/제목 단어 시작/저자 시작에서만 일치로 봄
+     */
+    private int rankClass(int docId, Query q) {
+        String titleKey = titleKeys.get(docId);
+        String authorKey = authorKeys.get(docId);
+        if (q.matchesAt(titleKey, 0)) {
+            return TIER_TITLE_PREFIX * 2 + (titleKey.startsWith(q.key) ? 1 : 0);
+        }
+        if (q.key.length() == 1) {
+            int at = wordStartMatch(titles.get(docId), titleKey, q);
+            if (at >= 0) {
+                return TIER_TITLE * 2 + (titleKey.startsWith(q.key, at) ? 1 : 0);
+            }
+            return q.matchesAt(authorKey, 0) ? TIER_AUTHOR * 2 + (authorKey.startsWith(q.key) ? 1 : 0) : 0;
+        }
+        if (q.containedIn(titleKey)) {
+            return TIER_TITLE * 2 + (titleKey.contains(q.key) ? 1 : 0);
+        }
+        if (q.containedIn(authorKey)) {
+            return TIER_AUTHOR * 2 + (authorKey.contains(q.key) ? 1 : 0);
+        }
+        return 0;
+    }
+
+    // 제목 단어 시작 위치 중 질의와 일치하는 첫 키 위치 (없으면 -1)
+    private static int wordStartMatch(String title, String titleKey, Query q) {
+        boolean wordStart = true;
+        int keyIndex = 0;
+        for (int i = 0; i < title.length(); i++) {
+            char c = title.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (wordStart && q.matchesAt(titleKey, keyIndex)) {
+                    return keyIndex;
+                }
+                wordStart = false;
+                keyIndex++;
+            } else {
+                wordStart = true;
+            }
+        }
+        return -1;
+    }
+
+    // 등급 → 짧은 제목 → 작은 문서 ID 순으로 큰 값이 되는 정렬 키 (하위 비트에서 문서 ID 복원)
+    private static long sortKey(int rankClass, int titleLength, int docId) {
+        long shorter = (1L << LENGTH_BITS) - 1 - Math.min(titleLength, (1 << LENGTH_BITS) - 1);
+        long earlier = (1L << DOC_BITS) - 1 - docId;
+        return ((long) rankClass << (LENGTH_BITS + DOC_BITS)) | (shorter << DOC_BITS) | earlier;
+    }
+
+    private static int docIdOf(long sortKey) {
+        return (int) ((1L << DOC_BITS) - 1 - (sortKey & ((1L << DOC_BITS) - 1)));
+    }
+
+    private void addDocument(String isbn, String title, String titleKey, String authorKey) {
+        int docId = isbns.size();
+        isbns.add(isbn);
+        titles.add(title);
+        titleKeys.add(titleKey);
+        authorKeys.add(authorKey);
+        docIdByIsbn.put(isbn, docId);
+
+        String titleChosung = HangulKeys.chosung(titleKey);
+        Set<Integer> grams = new HashSet<>();
+        addGrams(grams, titleKey);
+        addGrams(grams, titleChosung);
+        addGrams(grams, authorKey);
+        addGrams(grams, HangulKeys.chosung(authorKey));
+        for (Integer gram : grams) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(docId);
+        }
+
+        if (titleKey.length() >= 2) {
+            Set<Integer> prefixes = new HashSet<>();
+            prefixes.add(bigram(titleKey.charAt(0), titleKey.charAt(1)));
+            prefixes.add(bigram(titleChosung.charAt(0), titleChosung.charAt(1)));
+            for (Integer prefix : prefixes) {
+                prefixPostings.computeIfAbsent(prefix, g -> new Postings()).insert(docId, this::compareRank);
+            }
+        }
+
+        // 첫 글자(와 그 초성)별로 가장 높은 등급 하나에만 색인
+        Set<Character> initials = new HashSet<>();
+        if (!titleKey.isEmpty()) {
+            addInitial(initials, TIER_TITLE_PREFIX, titleKey.charAt(0), docId);
+        }
+        for (char initial : wordInitials(title)) {
+            addInitial(initials, TIER_TITLE, initial, docId);
+        }
+        if (!authorKey.isEmpty()) {
+            addInitial(initials, TIER_AUTHOR, authorKey.charAt(0), docId);
+        }
+    }
+
+    private void addInitial(Set<Character> initials, int tier, char initial, int docId) {
+        if (initials.add(initial)) {
+            postings.computeIfAbsent(initialGram(tier, initial), g -> new Postings()).insert(docId, this::compareRank);
+        }
+        char chosung = HangulKeys.chosung(initial);
+        if (chosung != initial && initials.add(chosung)) {
+            postings.computeIfAbsent(initialGram(tier, chosung), g -> new Postings()).insert(docId, this::compareRank);
+        }
+    }
+
+    // 짧은 제목 → 문서 ID 순
+    private int compareRank(int a, int b) {
+        int byLength = Integer.compare(titleKeys.get(a).length(), titleKeys.get(b).length());
+        return byLength != 0 ? byLength : Integer.compare(a, b);
+    }
+
+    private void markDeleted(int docId) {
+        int word = docId >>> 6;
+        if (word >= deleted.length) {
+            deleted = Arrays.copyOf(deleted, Math.max(word + 1, deleted.length * 2));
+        }
+        deleted[word] |= 1L << docId;
+        deletedCount++;
+    }
+
+    private boolean isDeleted(int docId) {
+        int word = docId >>> 6;
+        return word < deleted.length && (deleted[word] & (1L << docId)) != 0;
+    }
+
+    // 삭제 표시된 문서 비율이 크면 살아 있는 문서만 다시 색인 (문서 ID 재부여)
+    private void compactIfNeeded() {
+        int total = isbns.size();
+        if (total == 0 || (double) deletedCount / total <= COMPACT_DELETED_RATIO) {
+            return;
+        }
+        List<String> liveIsbns = new ArrayList<>(isbns);
+        List<String> liveTitles = new ArrayList<>(titles);
+        List<String> liveTitleKeys = new ArrayList<>(titleKeys);
+        List<String> liveAuthorKeys = new ArrayList<>(authorKeys);
+        long[] wasDeleted = deleted;
+
+        isbns.clear();
+        titles.clear();
+        titleKeys.clear();
+        authorKeys.clear();
+        docIdByIsbn.clear();
+        postings = new HashMap<>();
+        prefixPostings = new HashMap<>();
+        deleted = new long[0];
+        deletedCount = 0;
+        for (int docId = 0; docId < total; docId++) {
+            int word = docId >>> 6;
+            if (word < wasDeleted.length && (wasDeleted[word] & (1L << docId)) != 0) {
+                continue;
+            }
+            addDocument(liveIsbns.get(docId), liveTitles.get(docId), liveTitleKeys.get(docId), liveAuthorKeys.get(docId));
+        }
+        postings.values().forEach(Postings::trim);
+        prefixPostings.values().forEach(Postings::trim);
+    }
+
+    // 2-gram 키는 앞 글자를 상위 16비트에 둠 (글자/숫자만 남기므로 앞 글자는 '0'(0x30) 이상)
+    private static int bigram(char first, char second) {
+        return (first << 16) | second;
+    }
+
+    // 1-gram 키는 상위 16비트에 등급(1~3)을 둬 2-gram 키와 겹치지 않게 함
+    private static int initialGram(int tier, char initial) {
+        return (tier << 16) | initial;
+    }
+
+    private static void addGrams(Set<Integer> grams, String key) {
+        for (int i = 0; i + 1 < key.length(); i++) {
+            grams.add(bigram(key.charAt(i), key.charAt(i + 1)));
+        }
+    }
+
+    // 단어(글자/숫자 연속)마다 소문자 첫 글자
+    private static List<Character> wordInitials(String text) {
+        List<Character> initials = new ArrayList<>();
+        boolean wordStart = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (wordStart) {
+                    initials.add(Character.toLowerCase(c));
+                }
+                wordStart = false;
+            } else {
+                wordStart = true;
+            }
+        }
+        return initials;
+    }
+
+    private static long stringBytes(String value) {
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        return 24 + 16 + (latin1 ? 1L : 2L) * value.length();
+    }
+
+    /**
+     * 정규화된 질의
+     * - 단독 자모가 있거나 마지막 음절에 받침이 있으면 자모 비교 (초성 검색, 입력 중인 음절)
+     * - 그 외에는 글자 그대로 부분 일치
+     */
+    private static final class Query {
+
+        private final String key;
+        private final boolean jamo;
+        private final boolean hasLoneJamo;
+        private final String skeleton;   // 글자별 초성 (단독 모음 제외), 후보 목록 조회용
+        private final String lastJamo;   // 마지막 글자의 자모
+        private final char[] lastCompletions;   // 자모 비교일 때 마지막 음절 자리에 올 수 있는 완성 음절 (음절이 아니면 null)
+
+        Query(String key) {
+            this.key = key;
+            this.hasLoneJamo = HangulKeys.containsJamo(key);
+            char last = key.charAt(key.length() - 1);
+            this.jamo = hasLoneJamo || HangulKeys.hasFinal(last);
+            StringBuilder chosung = new StringBuilder(key.length());
+            for (int i = 0; i < key.length(); i++) {
+                char c = key.charAt(i);
+                if (!HangulKeys.isJamo(c) || HangulKeys.isConsonant(c)) {
+                    chosung.append(HangulKeys.chosung(c));
+                }
+            }
+            this.skeleton = chosung.toString();
+            this.lastJamo = HangulKeys.jamo(String.valueOf(last));
+            this.lastCompletions = jamo && HangulKeys.isSyllable(last) ? HangulKeys.completions(last) : null;
+        }
+
+        /**
+         * 인접한 두 글자마다 후보 2-gram 묶음 (묶음 안은 합집합, 묶음끼리는 교집합)
+         * - 완성 음절/그 외 글자끼리는 글자 그대로
+         * - 입력 중인 마지막 음절과 앞 글자는 마지막 음절의 완성 음절별 2-gram
+         * - 단독 자음이 끼면 초성 2-gram, 단독 모음이 끼면 건너뜀
+         */
+        List<int[]> candidateGramGroups() {
+            List<int[]> groups = new ArrayList<>();
+            int last = key.length() - 1;
+            for (int i = 0; i < last; i++) {
+                char first = key.charAt(i);
+                char second = key.charAt(i + 1);
+                if (isVowel(first) || isVowel(second)) {
+                    continue;
+                }
+                if (HangulKeys.isJamo(first) || HangulKeys.isJamo(second)) {
+                    groups.add(new int[]{bigram(HangulKeys.chosung(first), HangulKeys.chosung(second))});
+                } else if (i + 1 == last && lastCompletions != null) {
+                    int[] group = new int[lastCompletions.length];
+                    for (int j = 0; j < group.length; j++) {
+                        group[j] = bigram(first, lastCompletions[j]);
+                    }
+                    groups.add(group);
+                } else {
+                    groups.add(new int[]{bigram(first, second)});
+                }
+            }
+            return groups;
+        }
+
+        boolean matchesAt(String text, int at) {
+            if (!jamo) {
+                return text.startsWith(key, at);
+            }
+            int last = key.length() - 1;
+            if (at + last >= text.length()) {
+                return false;
+            }
+            for (int k = 0; k < last; k++) {
+                char qc = key.charAt(k);
+                char tc = text.charAt(at + k);
+                if (qc != tc && !(HangulKeys.isConsonant(qc) && HangulKeys.chosung(tc) == qc)) {
+                    return false;
+                }
+            }
+            char tc = text.charAt(at + last);
+            if (lastJamo.length() == 1 && HangulKeys.isSyllable(tc)) {
+                return HangulKeys.chosung(tc) == lastJamo.charAt(0);   // 단독 자음 (가장 흔한 초성 검색)
+            }
+            // 마지막 글자: 받침이 다음 음절의 초성일 수 있으므로 다음 글자의 자모까지 이어서 접두 비교
+            StringBuilder tail = new StringBuilder(8);
+            HangulKeys.appendJamo(tail, tc);
+            if (tail.length() < lastJamo.length() && at + last + 1 < text.length()) {
+                HangulKeys.appendJamo(tail, text.charAt(at + last + 1));
+            }
+            return tail.length() >= lastJamo.length() && tail.indexOf(lastJamo) == 0;
+        }
+
+        boolean containedIn(String text) {
+            if (!jamo) {
+                return text.contains(key);
+            }
+            for (int at = 0; at + key.length() <= text.length(); at++) {
+                if (matchesAt(text, at)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isVowel(char c) {
+            return HangulKeys.isJamo(c) && !HangulKeys.isConsonant(c);
+        }
+    }
+
+    // 정렬 키 상위 limit개와 전체 건수 (limit이 크면 전부 모아 정렬)
+    private static final class RankedDocs {
+
+        private static final int INSERTION_MAX = 64;
+
+        private final int limit;
+        private long[] keys = new long[16];
+        private int size = 0;
+        private int total = 0;
+
+        RankedDocs(int limit) {
+            this.limit = limit;
+        }
+
+        void offer(long key) {
+            total++;
+            if (limit == 0) {
+                return;  // 건수만 셈
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            if (limit > INSERTION_MAX) {
+                keys[size++] = key;
+                return;
+            }
+            // limit이 작은 자동완성 경로: 내림차순 유지, 가득 차면 가장 작은 키보다 클 때만 교체
+            if (size == limit) {
+                if (key <= keys[size - 1]) {
+                    return;
+                }
+                size--;
+            }
+            int at = size++;
+            while (at > 0 && keys[at - 1] < key) {
+                keys[at] = keys[at - 1];
+                at--;
+            }
+            keys[at] = key;
+        }
+
+        long[] toSortedArray() {
+            long[] sorted = Arrays.copyOf(keys, size);
+            if (limit > INSERTION_MAX) {
+                Arrays.sort(sorted);
+                for (int i = 0, j = sorted.length - 1; i < j; i++, j--) {
+                    long swap = sorted[i];
+                    sorted[i] = sorted[j];
+                    sorted[j] = swap;
+                }
+                return sorted.length > limit ? Arrays.copyOf(sorted, limit) : sorted;
+            }
+            return sorted;
+        }
+    }
+
+    // 문서 ID 목록 (2-gram은 증가 순 추가, 등급/접두 목록은 정렬 순서 위치에 삽입)
+    private static final class Postings {
+
+        private int[] ids = new int[2];
+        private int size = 0;
+
+        void add(int docId) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = docId;
+        }
+
+        void insert(int docId, IntComparator order) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (order.compare(ids[mid], docId) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, low, ids, low + 1, size - low);
+            ids[low] = docId;
+            size++;
+        }
+
+        void trim() {
+            ids = Arrays.copyOf(ids, size);
+        }
+    }
+
+    private interface IntComparator {
+        int compare(int a, int b);
+    }
+}
@@ -1,13 +1,21 @@
 package com.musiccheck.domain.book.service;
 
 import com.musiccheck.domain.book.dto.BookDto;
+import com.musiccheck.domain.book.dto.BookSearchSlice;
 import com.musiccheck.domain.book.entity.BookEntity;
 import com.musiccheck.domain.book.entity.UserHistory;
+import com.musiccheck.domain.book.event.BookSelectedEvent;
 import com.musiccheck.domain.book.repository.BookRepository;
+import com.musiccheck.domain.book.repository.BookSearchRepository;
 import com.musiccheck.domain.book.repository.UserHistoryRepository;
+import com.musiccheck.domain.book.search.BookSearchCursor;
+import com.musiccheck.domain.book.search.HangulKeys;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,23 +28,88 @@ public class BookService {
 
     private final BookRepository bookRepository;
     private final UserHistoryRepository userHistoryRepository;
+    private final BookSearchRepository bookSearchRepository;
+    private final BookSuggestService bookSuggestService;
+    private final SearchResultCache searchResultCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    // 검색 메서드
+    // trigram 인덱스를 쓸 수 있는 최소 검색어 길이 ('%사랑%'처럼 2글자 이하는 패턴에서 trigram이 나오지 않아 인덱스 전체를 훑음)
+    private static final int MIN_TRIGRAM_LENGTH = 3;
+
+    // 검색 방식: like (기본, 제목 부분 일치), trigram (pg_trgm 인덱스 + 관련도 정렬, db/book_search_trgm.sql 적용 후에만 사용)
+    // 또는 memory (자동완성용 메모리 인덱스, DB 조회 없음)
+    // 초성/자모가 섞인 검색어("ㅎㄹㅍㅌ", "해리ㅍ")는 DB로 찾을 수 없으므로 방식과 관계없이 메모리 인덱스 사용
+    // trigram 방식의 짧은 검색어는 메모리 인덱스 (준비 전이면 like)
+    @Value("${musiccheck.search.mode:like}")
+    private String searchMode;
+
+    // 검색 메서드 (인기 검색어는 SearchResultCache에서 응답)
     public Page<BookDto> search(String keyword, int page, int size) {
+        return searchResultCache.get(keyword, page, size, normalized -> searchUncached(normalized, page, size));
+    }
+
+    private Page<BookDto> searchUncached(String keyword, int page, int size) {
 
         // page: 0부터 시작
         var pageable = PageRequest.of(page, size);
 
+        if (useMemoryIndex(keyword)) {
+            return bookSuggestService.search(keyword, pageable);
+        }
+        if (useTrigram(keyword)) {
+            return bookSearchRepository.search(keyword, pageable);
+        }
         return bookRepository
                 .findByTitleContainingIgnoreCase(keyword, pageable)
                 .map(BookDto::from);  // Entity → DTO 변환
     }
 
+    /**
+     * 무한 스크롤 검색 (건수 조회 없이 다음 페이지 유무만, 커서 뒤의 결과만 읽으므로 깊은 페이지도 같은 비용)
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     */
+    public BookSearchSlice scroll(String keyword, String cursor, int size) {
+        BookSearchCursor after = BookSearchCursor.decode(cursor);
+
+        if (useMemoryIndex(keyword)) {
+            return bookSuggestService.scroll(keyword, after, size);
+        }
+        if (useTrigram(keyword)) {
+            return bookSearchRepository.scroll(keyword, after, size);
+        }
+        Slice<BookDto> books = bookRepository
+                .findByTitleContainingIgnoreCaseAndIsbnGreaterThanOrderByIsbnAsc(keyword, after.isbn(), PageRequest.of(0, size))
+                .map(BookDto::from);
+        String nextCursor = books.hasNext()
+                ? new BookSearchCursor(0, 0, books.getContent().get(books.getNumberOfElements() - 1).isbn()).encode()
+                : null;
+        return new BookSearchSlice(books, nextCursor);
+    }
+
+    private boolean useMemoryIndex(String keyword) {
+        boolean memory = "memory".equals(searchMode)
+                || HangulKeys.containsJamo(keyword)
+                || ("trigram".equals(searchMode) && !hasTrigram(keyword));
+        return memory && bookSuggestService.isReady();
+    }
+
+    private boolean useTrigram(String keyword) {
+        return "trigram".equals(searchMode) && hasTrigram(keyword);
+    }
+
+    private static boolean hasTrigram(String keyword) {
+        String stripped = keyword.strip();
+        return stripped.codePointCount(0, stripped.length()) >= MIN_TRIGRAM_LENGTH;
+    }
+
     // 책 선택 시 히스토리 저장
     @Transactional
     public void saveHistory(Long userId, String bookId, String searchQuery) {
         UserHistory history = new UserHistory(userId, bookId, searchQuery);
         userHistoryRepository.save(history);
+
+        // 선택 직후 거의 항상 플레이리스트 조회가 이어지므로 커밋 후 추천 후보를 미리 계산
+        eventPublisher.publishEvent(new BookSelectedEvent(userId, bookId, searchQuery));
     }
 
     /**
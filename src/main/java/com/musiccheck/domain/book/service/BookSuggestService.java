@@ -0,0 +1,168 @@
+package com.musiccheck.domain.book.service;
+
+import com.musiccheck.domain.book.dto.BookDto;
+import com.musiccheck.domain.book.dto.BookSearchSlice;
+import com.musiccheck.domain.book.dto.BookSuggestion;
+import com.musiccheck.domain.book.repository.BookRepository;
+import com.musiccheck.domain.book.search.BookSearchCursor;
+import com.musiccheck.domain.book.search.TitleSuggestIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 검색어 자동완성 (/api/search/suggest)과 메모리 검색 (초성/자모 질의의 /api/search)
+ * - 시작 시 book 테이블의 제목/저자로 메모리 n-gram 인덱스(TitleSuggestIndex, 초성 키 포함)를 만들고 요청은 인덱스에서만 응답
+ * - 검색 결과용 책 정보(BookDto)도 함께 들고 있어 검색 중 DB를 조회하지 않음
+ * - 주기적으로 전체 책을 읽어 바뀐 책만 다시 색인하고 없어진 책은 제거
+ * - 인덱스가 준비되기 전이거나 비활성화 상태면 빈 목록 (검색은 isReady로 확인 후 DB 검색으로 대체)
+ * - 메모리: 10만 권 기준 인덱스 약 58MB (한글 위주 제목, 책당 약 580B) + 책 정보 책당 약 300B (이미지 URL 길이에 비례)
+ * - 지표: search.suggest.books (색인된 책 수)
+ */
+@Slf4j
+@Service
+public class BookSuggestService {
+
+    private final BookRepository bookRepository;
+    private final SearchResultCache searchResultCache;
+    private final TitleSuggestIndex index = new TitleSuggestIndex();
+    private final boolean enabled;
+    private final int maxLimit;
+    private volatile Map<String, BookDto> books = Map.of();
+    private volatile boolean ready = false;
+
+    public BookSuggestService(
+            BookRepository bookRepository,
+            SearchResultCache searchResultCache,
+            MeterRegistry meterRegistry,
+            @Value("${musiccheck.search.suggest.enabled:true}") boolean enabled,
+            @Value("${musiccheck.search.suggest.max-limit:20}") int maxLimit
+    ) {
+        this.bookRepository = bookRepository;
+        this.searchResultCache = searchResultCache;
+        this.enabled = enabled;
+        this.maxLimit = maxLimit;
+        meterRegistry.gauge("search.suggest.books", index, TitleSuggestIndex::size);
+    }
+
+    /**
+     * 검색어와 일치하는 책 상위 limit권 (최대 max-limit권)
+     */
+    public List<BookSuggestion> suggest(String keyword, int limit) {
+        if (!enabled || !ready) {
+            return List.of();
+        }
+        return index.suggest(keyword, Math.min(limit, maxLimit));
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 메모리 인덱스 검색 (자동완성과 같은 정렬, 준비 전이면 빈 페이지)
+     */
+    public Page<BookDto> search(String keyword, Pageable pageable) {
+        if (!isReady()) {
+            return Page.empty(pageable);
+        }
+        if (pageable.getOffset() > Integer.MAX_VALUE) {
+            // 색인된 책 수는 int 범위이므로 이 위치에는 결과가 없음 (전체 건수만 계산)
+            return new PageImpl<>(List.of(), pageable, index.search(keyword, 0, 0).total());
+        }
+        TitleSuggestIndex.SearchHits hits = index.search(keyword, (int) pageable.getOffset(), pageable.getPageSize());
+        Map<String, BookDto> snapshot = books;
+        List<BookDto> content = new ArrayList<>(hits.isbns().size());
+        for (String isbn : hits.isbns()) {
+            BookDto book = snapshot.get(isbn);
+            if (book != null) {
+                content.add(book);
+            }
+        }
+        return new PageImpl<>(content, pageable, hits.total());
+    }
+
+    /**
+     * 메모리 인덱스 무한 스크롤 (after 위치 뒤의 size권, 준비 전이면 빈 페이지)
+     */
+    public BookSearchSlice scroll(String keyword, BookSearchCursor after, int size) {
+        if (!isReady()) {
+            return new BookSearchSlice(new SliceImpl<>(List.of(), PageRequest.of(0, size), false), null);
+        }
+        List<BookSearchCursor> positions = index.scroll(keyword, after, size + 1);
+        boolean hasNext = positions.size() > size;
+        List<BookSearchCursor> page = hasNext ? positions.subList(0, size) : positions;
+        Map<String, BookDto> snapshot = books;
+        List<BookDto> content = new ArrayList<>(page.size());
+        for (BookSearchCursor position : page) {
+            BookDto book = snapshot.get(position.isbn());
+            if (book != null) {
+                content.add(book);
+            }
+        }
+        String nextCursor = hasNext ? page.get(size - 1).encode() : null;
+        return new BookSearchSlice(new SliceImpl<>(content, PageRequest.of(0, size), hasNext), nextCursor);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            log.info("자동완성 인덱스 비활성화 상태");
+            return;
+        }
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("자동완성 인덱스 빌드 실패 - 자동완성은 빈 목록으로 응답", e);
+        }
+    }
+
+    /**
+     * 바뀐 책만 다시 색인 (첫 호출이면 전체 색인)
+     */
+    @Scheduled(fixedDelayString = "${musiccheck.search.suggest.refresh-interval-ms:300000}",
+            initialDelayString = "${musiccheck.search.suggest.refresh-interval-ms:300000}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        Map<String, BookDto> loaded = new HashMap<>();
+        int changed = 0;
+        for (BookDto book : bookRepository.findAllForSearchIndex()) {
+            loaded.put(book.isbn(), book);
+            if (index.put(book.isbn(), book.title(), book.author())) {
+                changed++;
+            }
+        }
+        books = loaded;
+        int removed = index.retainAll(loaded.keySet());
+
+        if (!ready) {
+            index.trimToSize();
+            ready = true;
+            // 준비 전 DB로 대신 검색해 캐시된 초성/자모 검색 결과(빈 결과) 제거
+            searchResultCache.invalidateAll();
+            log.info("자동완성 인덱스 빌드 완료: {}권, {}ms, 약 {}MB",
+                    index.size(), System.currentTimeMillis() - startedAt, index.sizeInBytes() / (1024 * 1024));
+        } else if (changed > 0 || removed > 0) {
+            // 메모리 검색 결과가 바뀌었으므로 캐시된 검색 결과도 비움
+            searchResultCache.invalidateAll();
+            log.info("자동완성 인덱스 증분 갱신: 변경 {}권, 삭제 {}권", changed, removed);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.musiccheck.domain.book.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.musiccheck.domain.book.repository.BookRepository;
+import com.musiccheck.domain.music.index.VectorMath;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * ISBN별 책 임베딩 벡터 캐시
+ * - 추천마다 book → embedding 조회를 반복하지 않도록 float[]로 보관
+ * - 크기/TTL 기반 제거, 미스는 여러 ISBN을 한 번의 쿼리로 로드
+ * - 임베딩이 없는 책은 캐시하지 않음
+ * - hit/miss/eviction 지표는 cache=book.vectors
+ */
+@Service
+public class BookVectorCache {
+
+    private static final String CACHE_NAME = "book.vectors";
+
+    private final LoadingCache<String, float[]> cache;
+
+    public BookVectorCache(
+            BookRepository bookRepository,
+            MeterRegistry meterRegistry,
+            @Value("${musiccheck.book-vector-cache.max-size:5000}") long maxSize,
+            @Value("${musiccheck.book-vector-cache.ttl:1h}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public float[] load(String isbn) {
+                        return loadAll(Set.of(isbn)).get(isbn);
+                    }
+
+                    @Override
+                    public Map<String, float[]> loadAll(Set<? extends String> isbns) {
+                        Map<String, float[]> vectors = new HashMap<>();
+                        for (Object[] row : bookRepository.findEmbeddingVectorsByIsbns(Set.copyOf(isbns))) {
+                            vectors.put((String) row[0], VectorMath.parse((String) row[1]));
+                        }
+                        return vectors;
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 책 벡터 조회 (임베딩이 없는 책이면 empty)
+     */
+    public Optional<float[]> get(String isbn) {
+        return Optional.ofNullable(cache.get(isbn));
+    }
+
+    /**
+     * 여러 책 벡터 조회, 캐시에 없는 ISBN은 한 번의 쿼리로 로드
+     * 임베딩이 없는 책은 결과에 포함되지 않음
+     */
+    public Map<String, float[]> getAll(Collection<String> isbns) {
+        return cache.getAll(isbns);
+    }
+
+    // 책 임베딩이 바뀐 ISBN 제거
+    public void invalidateAll(Collection<String> isbns) {
+        cache.invalidateAll(isbns);
+    }
+}
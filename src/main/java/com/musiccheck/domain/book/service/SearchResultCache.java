@@ -0,0 +1,181 @@
+package com.musiccheck.domain.book.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.musiccheck.domain.book.dto.BookDto;
+import com.musiccheck.domain.book.repository.BookRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 인기 검색어 결과 캐시 (/api/search 앞단)
+ * - 키: 정규화한 검색어(앞뒤 공백 제거, 연속 공백 하나로, 소문자) + 페이지 + 크기, 앞쪽 max-page개 페이지(0 ~ max-page - 1)만 캐시
+ * - Caffeine의 W-TinyLFU 입장 정책: 새 항목은 작은 입장 구역에 먼저 들어가고, 빈도 추정치가 밀려날 항목보다 높을 때만
+ *   본 구역에 남음 (한 번 검색되고 마는 검색어가 인기 검색어를 밀어내지 않음)
+ * - TTL(쓰기 기준) 만료, book 테이블 쓰기(pg_stat_user_tables의 insert/update/delete 건수)가 바뀌면 전체 비움
+ * - 메모리: 항목당 약 5KB (12권) → 기본 2000개 약 10MB
+ * - 지표: cache=search.results (전체 hit/miss/eviction),
+ *   search.cache.keyword.requests / search.cache.keyword.hit.ratio (요청 많은 검색어 top-keywords개)
+ *   검색어 원문은 사용자 입력이므로 지표에 남기지 않고 SHA-256 앞 12자리(keyword_hash 태그)로만 구분
+ */
+@Slf4j
+@Service
+public class SearchResultCache {
+
+    private static final String CACHE_NAME = "search.results";
+
+    private final BookRepository bookRepository;
+    private final Cache<Key, Page<BookDto>> cache;
+    // 검색어별 hit/miss (추적할 검색어 수도 제한, 자주 나오는 검색어가 남음)
+    private final Cache<String, KeywordStats> keywordStats;
+    private final MultiGauge keywordRequests;
+    private final MultiGauge keywordHitRatio;
+    private final boolean enabled;
+    private final int maxPage;
+    private final int topKeywords;
+    private volatile Long lastBookWrites = null;
+
+    public SearchResultCache(
+            BookRepository bookRepository,
+            MeterRegistry meterRegistry,
+            @Value("${musiccheck.search.cache.enabled:true}") boolean enabled,
+            @Value("${musiccheck.search.cache.max-size:2000}") long maxSize,
+            @Value("${musiccheck.search.cache.ttl:10m}") Duration ttl,
+            @Value("${musiccheck.search.cache.max-page:2}") int maxPage,
+            @Value("${musiccheck.search.cache.tracked-keywords:1000}") long trackedKeywords,
+            @Value("${musiccheck.search.cache.top-keywords:20}") int topKeywords
+    ) {
+        this.bookRepository = bookRepository;
+        this.enabled = enabled;
+        this.maxPage = maxPage;
+        this.topKeywords = topKeywords;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.keywordStats = Caffeine.newBuilder()
+                .maximumSize(trackedKeywords)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.keywordRequests = MultiGauge.builder("search.cache.keyword.requests").register(meterRegistry);
+        this.keywordHitRatio = MultiGauge.builder("search.cache.keyword.hit.ratio").register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 검색 결과 (없으면 loader로 검색해 저장)
+     * @param loader 정규화한 검색어로 검색 (캐시 키와 같은 검색어로 검색해야 결과가 키와 일치)
+     */
+    public Page<BookDto> get(String keyword, int page, int size, Function<String, Page<BookDto>> loader) {
+        String normalized = normalize(keyword);
+        if (!enabled || page >= maxPage || normalized.isEmpty()) {
+            return loader.apply(normalized);
+        }
+        boolean[] loaded = {false};
+        Page<BookDto> result = cache.get(new Key(normalized, page, size), key -> {
+            loaded[0] = true;
+            return loader.apply(key.keyword());
+        });
+        KeywordStats stats = keywordStats.get(normalized, k -> new KeywordStats());
+        (loaded[0] ? stats.misses : stats.hits).increment();
+        return result;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * book 테이블에 쓰기가 있었으면 캐시 전체 비움 (책은 외부 적재 작업으로 추가되므로 통계 카운터로 감지)
+     */
+    @Scheduled(fixedDelayString = "${musiccheck.search.cache.check-interval-ms:60000}",
+            initialDelayString = "${musiccheck.search.cache.check-interval-ms:60000}")
+    public void checkBookChanges() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long writes = bookRepository.countBookWrites();
+            Long previous = lastBookWrites;
+            lastBookWrites = writes;
+            if (previous != null && previous != writes) {
+                cache.invalidateAll();
+                log.info("book 테이블 변경 감지 - 검색 결과 캐시 비움");
+            }
+        } catch (DataAccessException e) {
+            log.warn("book 테이블 변경 확인 실패 - 캐시는 TTL로만 만료", e);
+        }
+    }
+
+    /**
+     * 요청 많은 검색어 top-keywords개의 요청 수/hit 비율 지표 갱신
+     */
+    @Scheduled(fixedDelayString = "${musiccheck.search.cache.stats-interval-ms:60000}")
+    public void publishKeywordStats() {
+        if (!enabled) {
+            return;
+        }
+        List<Map.Entry<String, KeywordStats>> top = keywordStats.asMap().entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, KeywordStats> e) -> e.getValue().requests()).reversed())
+                .limit(topKeywords)
+                .collect(Collectors.toList());
+        keywordRequests.register(top.stream()
+                .<MultiGauge.Row<?>>map(e -> MultiGauge.Row.of(keywordTags(e.getKey()), e.getValue().requests()))
+                .collect(Collectors.toList()), true);
+        keywordHitRatio.register(top.stream()
+                .<MultiGauge.Row<?>>map(e -> MultiGauge.Row.of(keywordTags(e.getKey()), e.getValue().hitRatio()))
+                .collect(Collectors.toList()), true);
+    }
+
+    // 검색어 원문 대신 해시 태그 (같은 검색어는 항상 같은 값)
+    static Tags keywordTags(String keyword) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(keyword.getBytes(StandardCharsets.UTF_8));
+            return Tags.of("keyword_hash", HexFormat.of().formatHex(digest, 0, 6));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String normalize(String keyword) {
+        return keyword == null ? "" : keyword.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private record Key(String keyword, int page, int size) {}
+
+    private static final class KeywordStats {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        long requests() {
+            return hits.sum() + misses.sum();
+        }
+
+        double hitRatio() {
+            long requests = requests();
+            return requests == 0 ? 0.0 : (double) hits.sum() / requests;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.musiccheck.domain.music.controller;
 
 import com.musiccheck.domain.music.dto.DislikedSongDto;
+import com.musiccheck.domain.music.dto.DislikedSongPage;
+import com.musiccheck.domain.music.dto.FeedbackSaveResult;
 import com.musiccheck.domain.music.dto.MusicDto;
+import com.musiccheck.domain.music.dto.PlaylistPage;
+import com.musiccheck.domain.music.entity.UserFeedback;
 import com.musiccheck.domain.music.service.MusicService;
 import com.musiccheck.domain.user.entity.User;
 import com.musiccheck.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -19,12 +24,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MusicController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final MusicService musicService;
     private final UserRepository userRepository;
 
+    @Value("${musiccheck.recommend.batch.max-isbns:20}")
+    private int maxBatchIsbns;
+
+    // 플레이리스트 조회 (30곡씩, 다음 페이지 커서는 X-Next-Cursor 헤더로 전달)
     @GetMapping("/api/books/{isbn}/playlist")
-    public List<MusicDto> getPlaylist(
+    public ResponseEntity<List<MusicDto>> getPlaylist(
             @PathVariable String isbn,
+            @RequestParam(required = false) String cursor,
             Authentication authentication
     ) {
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -35,7 +47,38 @@ public class MusicController {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("사용자 없음"));
 
-        return musicService.recommend(isbn, user.getId());
+        PlaylistPage page = musicService.recommendPage(isbn, user.getId(), cursor);
+        if (page.nextCursor() == null) {
+            return ResponseEntity.ok(page.tracks());
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, page.nextCursor())
+                .body(page.tracks());
+    }
+
+    // 여러 책의 플레이리스트 한 번에 조회 (홈 화면용, ISBN → 30곡)
+    @PostMapping("/api/books/playlists")
+    public Map<String, List<MusicDto>> getPlaylists(
+            @RequestBody Map<String, List<String>> request,
+            Authentication authentication
+    ) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new IllegalArgumentException("로그인이 필요합니다.");
+        }
+
+        List<String> isbns = request.get("isbns");
+        if (isbns == null || isbns.isEmpty()) {
+            throw new IllegalArgumentException("isbns는 필수입니다.");
+        }
+        if (isbns.size() > maxBatchIsbns) {
+            throw new IllegalArgumentException("isbns는 최대 " + maxBatchIsbns + "개까지 요청할 수 있습니다.");
+        }
+
+        String email = authentication.getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("사용자 없음"));
+
+        return musicService.recommendBatch(isbns, user.getId());
     }
 
     // 좋아요/싫어요 등록
@@ -64,11 +107,18 @@ public class MusicController {
             throw new IllegalArgumentException("feedback은 'like' 또는 'dislike'여야 합니다.");
         }
 
-        musicService.saveFeedback(user.getId(), bookId, musicId, feedback);
+        // 컬럼 길이를 넘는 값은 저장(write-behind면 나중 일괄 반영) 시점에 실패하므로 미리 거부
+        if (bookId.length() > UserFeedback.BOOK_ID_MAX_LENGTH || musicId.length() > UserFeedback.MUSIC_ID_MAX_LENGTH) {
+            throw new IllegalArgumentException("bookId는 " + UserFeedback.BOOK_ID_MAX_LENGTH + "자, musicId는 "
+                    + UserFeedback.MUSIC_ID_MAX_LENGTH + "자 이하여야 합니다.");
+        }
+
+        FeedbackSaveResult result = musicService.saveFeedback(user.getId(), bookId, musicId, feedback);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("message", "피드백이 저장되었습니다.");
+        response.put("result", result.name().toLowerCase()); // inserted, updated, unchanged
         
         // 싫어요인 경우 제외된 곡 정보 반환 (프론트에서 즉시 제거하기 위해)
         if (feedback.equals("dislike")) {
@@ -130,9 +180,14 @@ public class MusicController {
         }
     }
 
-    // 싫어요 목록 조회
+    // 싫어요 목록 조회 (feedback_id 순)
+    // cursor/size가 없으면 전체 목록, 둘 중 하나라도 있으면 페이지 단위 (다음 페이지 커서는 X-Next-Cursor 헤더로 전달)
     @GetMapping("/api/likes/disliked")
-    public ResponseEntity<List<DislikedSongDto>> getDislikedSongs(Authentication authentication) {
+    public ResponseEntity<List<DislikedSongDto>> getDislikedSongs(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication
+    ) {
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new IllegalArgumentException("로그인이 필요합니다.");
         }
@@ -141,8 +196,17 @@ public class MusicController {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("사용자 없음"));
 
-        List<DislikedSongDto> dislikedSongs = musicService.getDislikedSongs(user.getId());
-        return ResponseEntity.ok(dislikedSongs);
+        if (cursor == null && size == null) {
+            return ResponseEntity.ok(musicService.getDislikedSongs(user.getId()));
+        }
+
+        DislikedSongPage page = musicService.getDislikedSongs(user.getId(), cursor, size);
+        if (page.nextCursor() == null) {
+            return ResponseEntity.ok(page.songs());
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()))
+                .body(page.songs());
     }
 
     // 싫어요 취소
@@ -0,0 +1,11 @@
+package com.musiccheck.domain.music.dto;
+
+import java.util.List;
+
+/**
+ * 싫어요 목록 한 페이지 (nextCursor가 null이면 마지막 페이지, 아니면 마지막 행의 feedback_id)
+ */
+public record DislikedSongPage(
+        List<DislikedSongDto> songs,
+        Long nextCursor
+) {}
@@ -0,0 +1,27 @@
+package com.musiccheck.domain.music.dto;
+
+/**
+ * 피드백 저장 결과
+ * - INSERTED: 새 피드백
+ * - UPDATED: 기존 피드백 값 변경 (좋아요 ↔ 싫어요)
+ * - UNCHANGED: 같은 값이 이미 있어 변경 없음 (연속 탭 등)
+ * - QUEUED: write-behind 모드에서 큐에 넣고 바로 응답 (DB 반영은 배치 flush 시점)
+ */
+public enum FeedbackSaveResult {
+    INSERTED,
+    UPDATED,
+    UNCHANGED,
+    QUEUED;
+
+    /**
+     * 변경 전 피드백 값 (like/dislike 두 값뿐이므로 결과만으로 결정됨, 신규면 null)
+     */
+    public String previousFeedback(String feedback) {
+        return switch (this) {
+            case INSERTED -> null;
+            case UPDATED -> "like".equals(feedback) ? "dislike" : "like";
+            case UNCHANGED -> feedback;
+            case QUEUED -> throw new IllegalStateException("아직 반영되지 않은 피드백은 이전 값을 알 수 없습니다.");
+        };
+    }
+}
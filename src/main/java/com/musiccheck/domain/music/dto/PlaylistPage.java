@@ -0,0 +1,11 @@
+package com.musiccheck.domain.music.dto;
+
+import java.util.List;
+
+/**
+ * 플레이리스트 한 페이지 (nextCursor가 null이면 마지막 페이지)
+ */
+public record PlaylistPage(
+        List<MusicDto> tracks,
+        String nextCursor
+) {}
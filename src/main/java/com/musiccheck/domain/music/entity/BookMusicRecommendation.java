@@ -0,0 +1,31 @@
+package com.musiccheck.domain.music.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 책(ISBN)별 유사도 상위 N곡 사전 계산 결과
+ * 배치(RecommendationMaterializeService)가 갱신하고 추천 조회 시 이 행만 읽음
+ */
+@Entity
+@Table(name = "book_music_recommendation",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"isbn", "track_id"}))
+@Getter
+@NoArgsConstructor
+public class BookMusicRecommendation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "recommendation_id")
+    private Long recommendationId;
+
+    @Column(name = "isbn", nullable = false, length = 30)
+    private String isbn;
+
+    @Column(name = "track_id", nullable = false, length = 50)
+    private String trackId;
+
+    @Column(name = "similarity_score", nullable = false)
+    private Double similarityScore; // negative inner product, 작을수록 유사
+}
@@ -13,6 +13,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class UserFeedback {
 
+    // 컬럼 길이 (저장 전 입력 검증에도 사용)
+    public static final int BOOK_ID_MAX_LENGTH = 30;
+    public static final int MUSIC_ID_MAX_LENGTH = 50;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "feedback_id")
@@ -21,10 +25,10 @@ public class UserFeedback {
     @Column(name = "user_id", nullable = false)
     private Long userId;
 
-    @Column(name = "book_id", nullable = false, length = 30)
+    @Column(name = "book_id", nullable = false, length = BOOK_ID_MAX_LENGTH)
     private String bookId;
 
-    @Column(name = "music_id", nullable = false, length = 50)
+    @Column(name = "music_id", nullable = false, length = MUSIC_ID_MAX_LENGTH)
     private String musicId;
 
     @Column(name = "feedback", nullable = false, length = 10)
@@ -0,0 +1,35 @@
+package com.musiccheck.domain.music.event;
+
+/**
+ * 좋아요/싫어요 변경 이벤트 (커밋 후 집계/캐시 갱신용)
+ * - previousFeedback: 변경 전 값 (신규 등록이면 null)
+ * - feedback: 변경 후 값 (삭제면 null)
+ */
+public record FeedbackChangedEvent(
+        Long userId,
+        String bookId,
+        String musicId,
+        String previousFeedback,
+        String feedback
+) {
+    public boolean isLike() {
+        return "like".equals(feedback);
+    }
+
+    public boolean wasLike() {
+        return "like".equals(previousFeedback);
+    }
+
+    public boolean isDislike() {
+        return "dislike".equals(feedback);
+    }
+
+    public boolean wasDislike() {
+        return "dislike".equals(previousFeedback);
+    }
+
+    // 이 변경으로 인한 좋아요 개수 증감 (-1, 0, +1)
+    public long likeDelta() {
+        return (isLike() ? 1L : 0L) - (wasLike() ? 1L : 0L);
+    }
+}
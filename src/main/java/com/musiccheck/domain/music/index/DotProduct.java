@@ -0,0 +1,63 @@
+package com.musiccheck.domain.music.index;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 내적 계산 커널
+ * - jdk.incubator.vector 모듈이 로드된 경우(--add-modules jdk.incubator.vector) SIMD 구현 사용
+ * - 모듈이 없거나 -Dmusiccheck.simd=false 이면 스칼라 구현 사용
+ *
+ * ByteBuffer 버전은 float32가 연속으로 저장된 LITTLE_ENDIAN 순서 버퍼(스냅샷 파일 매핑)를 대상으로 함
+ */
+public abstract class DotProduct {
+
+    private static final DotProduct INSTANCE = select();
+
+    public static DotProduct get() {
+        return INSTANCE;
+    }
+
+    public static DotProduct scalar() {
+        return ScalarDotProduct.INSTANCE;
+    }
+
+    // a[aOffset..] · b[bOffset..] (length개)
+    public abstract float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    // query · buffer[byteOffset..] (length개)
+    public abstract float dot(float[] query, ByteBuffer buffer, int byteOffset, int length);
+
+    // a[aOffset..] · b[bOffset..] (두 버퍼 모두 byte offset)
+    public abstract float dot(ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, int length);
+
+    // query · codes[offset..] (int8 양자화 코드, 스케일은 호출 측에서 곱함)
+    public abstract float dot(float[] query, byte[] codes, int offset, int length);
+
+    // 두 int8 코드 구간의 정수 내적
+    public int dot(byte[] codes, int aOffset, int bOffset, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += codes[aOffset + i] * codes[bOffset + i];
+        }
+        return sum;
+    }
+
+    public float dot(float[] a, float[] b) {
+        return dot(a, 0, b, 0, a.length);
+    }
+
+    public abstract String name();
+
+    private static DotProduct select() {
+        if (!Boolean.parseBoolean(System.getProperty("musiccheck.simd", "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return ScalarDotProduct.INSTANCE;
+        }
+        try {
+            return new SimdDotProduct();
+        } catch (LinkageError e) {
+            // Vector API를 사용할 수 없는 런타임
+            return ScalarDotProduct.INSTANCE;
+        }
+    }
+}
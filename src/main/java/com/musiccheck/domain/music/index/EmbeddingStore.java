@@ -0,0 +1,40 @@
+package com.musiccheck.domain.music.index;
+
+import java.io.Closeable;
+
+/**
+ * embedding_id별 벡터 저장소
+ * 벡터는 slot(0부터 증가하는 저장 순번)으로 접근하고, 한번 배정된 slot은 바뀌지 않음
+ */
+public interface EmbeddingStore extends Closeable {
+
+    int dimension();
+
+    // 저장된 벡터 수 (slot 수)
+    int size();
+
+    // embedding_id의 slot, 없으면 -1
+    int slotOf(int embeddingId);
+
+    // 벡터 추가 후 slot 반환 (이미 있으면 기존 slot)
+    int append(int embeddingId, float[] vector);
+
+    // 질의 벡터와 slot 벡터의 내적
+    float dot(float[] query, int slot);
+
+    // 두 slot 벡터의 내적
+    float dot(int slotA, int slotB);
+
+    // 원본 정밀도 내적 (양자화 저장소는 dot()이 근사값이므로 재정렬에 사용)
+    default float exactDot(float[] query, int slot) {
+        return dot(query, slot);
+    }
+
+    float[] read(int slot);
+
+    // 변경 내용 영속화 (메모리 저장소는 아무 동작 안 함)
+    void flush();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,84 @@
+package com.musiccheck.domain.music.index;
+
+/**
+ * 힙 메모리 벡터 저장소 (하나의 연속된 float[]에 slot 순서대로 저장)
+ * 스냅샷 파일을 쓰지 않을 때와 테스트에서 사용
+ */
+public class HeapEmbeddingStore implements EmbeddingStore {
+
+    private final int dimension;
+    private final DotProduct kernel = DotProduct.get();
+    private final IntIntHashMap slotsByEmbeddingId = new IntIntHashMap(1024);
+    private volatile float[] data;
+    private volatile int size = 0;
+
+    public HeapEmbeddingStore(int dimension) {
+        this.dimension = dimension;
+        this.data = new float[dimension * 1024];
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized int slotOf(int embeddingId) {
+        return slotsByEmbeddingId.get(embeddingId, -1);
+    }
+
+    @Override
+    public synchronized int append(int embeddingId, float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("임베딩 차원이 일치하지 않습니다: " + embeddingId);
+        }
+        int existing = slotsByEmbeddingId.get(embeddingId, -1);
+        if (existing >= 0) {
+            return existing;
+        }
+
+        int slot = size;
+        float[] current = data;
+        if ((slot + 1) * dimension > current.length) {
+            float[] grown = new float[current.length * 2];
+            System.arraycopy(current, 0, grown, 0, slot * dimension);
+            current = grown;
+        }
+        System.arraycopy(vector, 0, current, slot * dimension, dimension);
+        data = current;
+        slotsByEmbeddingId.put(embeddingId, slot);
+        size = slot + 1;
+        return slot;
+    }
+
+    @Override
+    public float dot(float[] query, int slot) {
+        return kernel.dot(query, 0, data, slot * dimension, dimension);
+    }
+
+    @Override
+    public float dot(int slotA, int slotB) {
+        float[] current = data;
+        return kernel.dot(current, slotA * dimension, current, slotB * dimension, dimension);
+    }
+
+    @Override
+    public float[] read(int slot) {
+        float[] vector = new float[dimension];
+        System.arraycopy(data, slot * dimension, vector, 0, dimension);
+        return vector;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,495 @@
+package com.musiccheck.domain.music.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 음악 임베딩용 HNSW(Hierarchical Navigable Small World) 근사 최근접 이웃 인덱스
+ * - 거리: 음의 내적 (pgvector <#> 와 동일, 작을수록 유사)
+ * - 벡터는 EmbeddingStore의 slot으로만 참조 (그래프 노드에 float[]를 두지 않음)
+ * - 검색은 읽기 락, 추가/삭제는 쓰기 락으로 보호 (검색끼리는 동시 실행)
+ * - 삭제는 노드를 삭제 표시만 하고 그래프 탐색에는 계속 사용 (결과에서만 제외)
+ */
+public class HnswIndex {
+
+    private static final Comparator<Candidate> NEAREST_FIRST = Comparator.comparingDouble(Candidate::distance);
+    private static final Comparator<Candidate> FARTHEST_FIRST = NEAREST_FIRST.reversed();
+
+    private final EmbeddingStore store;
+    private final int maxConnections;       // 상위 레벨 최대 이웃 수 (M)
+    private final int maxConnectionsLevel0; // 레벨 0 최대 이웃 수 (2M)
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random;
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<String, Integer> nodeIdsByKey = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<VisitedMarks> visitedMarks = ThreadLocal.withInitial(VisitedMarks::new);
+
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private int deletedCount = 0;
+
+    public HnswIndex(EmbeddingStore store) {
+        this(store, 16, 100, 42L);
+    }
+
+    public HnswIndex(EmbeddingStore store, int maxConnections, int efConstruction, long seed) {
+        if (maxConnections < 2 || efConstruction < 1) {
+            throw new IllegalArgumentException("HNSW 파라미터가 올바르지 않습니다.");
+        }
+        this.store = store;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsLevel0 = maxConnections * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(maxConnections);
+        this.random = new Random(seed);
+    }
+
+    public int dimension() {
+        return store.dimension();
+    }
+
+    // 삭제되지 않은 노드 수
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeIdsByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 삭제 표시된 노드 수 (비율이 커지면 재빌드 판단에 사용)
+    public int deletedCount() {
+        lock.readLock().lock();
+        try {
+            return deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String key) {
+        lock.readLock().lock();
+        try {
+            return nodeIdsByKey.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * key의 원본 벡터 복사본 (인덱스에 없으면 null)
+     */
+    public float[] vectorOf(String key) {
+        lock.readLock().lock();
+        try {
+            Integer nodeId = nodeIdsByKey.get(key);
+            return nodeId != null ? store.read(nodes.get(nodeId).slot) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 질의 벡터와 각 key 벡터의 원본 내적 (인덱스에 없는 key는 NaN)
+     * 검색 결과 외의 후보를 다른 질의 벡터로 다시 점수 매길 때 사용
+     */
+    public float[] exactDots(float[] query, List<String> keys) {
+        if (query == null || query.length != store.dimension()) {
+            throw new IllegalArgumentException("질의 벡터 차원이 일치하지 않습니다.");
+        }
+        float[] dots = new float[keys.size()];
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < dots.length; i++) {
+                Integer nodeId = nodeIdsByKey.get(keys.get(i));
+                dots[i] = nodeId != null ? store.exactDot(query, nodes.get(nodeId).slot) : Float.NaN;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return dots;
+    }
+
+    /**
+     * 질의 벡터에서 가장 먼 곡 (음의 내적 최댓값, 삭제되지 않은 노드 전체를 원본 벡터로 스캔하는 정확한 값)
+     * 정규화 범위용이므로 그래프 탐색(근사) 대신 전체 스캔, 인덱스가 비어 있으면 null
+     */
+    public SearchResult farthest(float[] query) {
+        if (query == null || query.length != store.dimension()) {
+            throw new IllegalArgumentException("질의 벡터 차원이 일치하지 않습니다.");
+        }
+        lock.readLock().lock();
+        try {
+            int farthestNode = -1;
+            double maxDistance = Double.NEGATIVE_INFINITY;
+            for (int nodeId : nodeIdsByKey.values()) {
+                double distance = -store.exactDot(query, nodes.get(nodeId).slot);
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    farthestNode = nodeId;
+                }
+            }
+            return farthestNode >= 0 ? new SearchResult(nodes.get(farthestNode).key, maxDistance) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 저장소 slot의 벡터를 key로 추가 (같은 key가 있으면 기존 노드를 삭제 표시 후 새로 추가)
+     */
+    public void add(String key, int slot) {
+        if (slot < 0 || slot >= store.size()) {
+            throw new IllegalArgumentException("저장소에 없는 slot입니다: " + key);
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = nodeIdsByKey.remove(key);
+            if (existing != null) {
+                markDeleted(existing);
+            }
+
+            int level = randomLevel();
+            int nodeId = nodes.size();
+            Node node = new Node(key, slot, level, maxConnections, maxConnectionsLevel0);
+            nodes.add(node);
+            nodeIdsByKey.put(key, nodeId);
+
+            if (entryPoint < 0) {
+                entryPoint = nodeId;
+                maxLevel = level;
+                return;
+            }
+
+            // 1) 새 노드 레벨보다 위 레벨은 greedy 탐색으로 진입점만 좁힘
+            int current = greedySearch(slotQuery(slot), entryPoint, maxLevel, level);
+
+            // 2) 새 노드 레벨부터 0까지 이웃 연결
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                List<Candidate> found = searchLayer(slotQuery(slot), current, efConstruction, l);
+                List<Candidate> neighbors = selectNeighbors(found, maxConnections);
+                for (Candidate neighbor : neighbors) {
+                    node.addLink(l, neighbor.nodeId());
+                    connect(neighbor.nodeId(), nodeId, l);
+                }
+                current = found.get(0).nodeId();
+            }
+
+            if (level > maxLevel) {
+                maxLevel = level;
+                entryPoint = nodeId;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 벡터 삭제 (삭제 표시)
+     */
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            Integer nodeId = nodeIdsByKey.remove(key);
+            if (nodeId == null) {
+                return false;
+            }
+            markDeleted(nodeId);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 근사 최근접 이웃 검색
+     * @param query 질의 벡터
+     * @param k 반환할 개수
+     * @param ef 탐색 후보 크기 (클수록 정확하지만 느림, k 이상으로 보정)
+     * @return 거리 오름차순 (가장 유사한 곡이 먼저)
+     */
+    public List<SearchResult> search(float[] query, int k, int ef) {
+        return search(query, k, ef, 0);
+    }
+
+    /**
+     * 근사 최근접 이웃 검색 후 상위 rerank개를 원본 벡터 내적(exactDot)으로 다시 정렬
+     * 양자화 저장소에서 1차 후보는 근사 거리로 고르고, 최종 순위와 거리는 원본 기준으로 맞출 때 사용
+     * @param rerank 재정렬할 후보 수 (k보다 작으면 재정렬하지 않음)
+     */
+    public List<SearchResult> search(float[] query, int k, int ef, int rerank) {
+        if (query == null || query.length != store.dimension()) {
+            throw new IllegalArgumentException("질의 벡터 차원이 일치하지 않습니다.");
+        }
+
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || k <= 0) {
+                return List.of();
+            }
+
+            int limit = rerank >= k ? rerank : k;
+            Query vectorQuery = vectorQuery(query);
+            int current = greedySearch(vectorQuery, entryPoint, maxLevel, 0);
+            List<Candidate> found = searchLayer(vectorQuery, current, Math.max(ef, limit), 0);
+
+            List<Candidate> live = new ArrayList<>(Math.min(limit, found.size()));
+            for (Candidate candidate : found) {
+                if (nodes.get(candidate.nodeId()).deleted) {
+                    continue;
+                }
+                live.add(candidate);
+                if (live.size() == limit) {
+                    break;
+                }
+            }
+
+            if (rerank >= k) {
+                for (int i = 0; i < live.size(); i++) {
+                    int nodeId = live.get(i).nodeId();
+                    live.set(i, new Candidate(nodeId, -store.exactDot(query, nodes.get(nodeId).slot)));
+                }
+                live.sort(NEAREST_FIRST);
+            }
+
+            List<SearchResult> results = new ArrayList<>(Math.min(k, live.size()));
+            for (int i = 0; i < live.size() && results.size() < k; i++) {
+                results.add(new SearchResult(nodes.get(live.get(i).nodeId()).key, live.get(i).distance()));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 상위 레벨에서 목표 레벨 직전까지 가장 가까운 노드로 이동
+    private int greedySearch(Query query, int start, int fromLevel, int toLevelExclusive) {
+        int current = start;
+        double currentDistance = query.distanceTo(nodes.get(current).slot);
+        for (int l = fromLevel; l > toLevelExclusive; l--) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                Node node = nodes.get(current);
+                int[] links = node.links[l];
+                for (int i = 0; i < node.linkCounts[l]; i++) {
+                    double d = query.distanceTo(nodes.get(links[i]).slot);
+                    if (d < currentDistance) {
+                        currentDistance = d;
+                        current = links[i];
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    // 한 레벨 내에서 ef 크기의 후보 집합 탐색 (거리 오름차순 반환)
+    private List<Candidate> searchLayer(Query query, int start, int ef, int level) {
+        VisitedMarks visited = visitedMarks.get();
+        visited.reset(nodes.size());
+
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(NEAREST_FIRST);
+        PriorityQueue<Candidate> results = new PriorityQueue<>(FARTHEST_FIRST);
+
+        Candidate first = new Candidate(start, query.distanceTo(nodes.get(start).slot));
+        visited.mark(start);
+        candidates.add(first);
+        results.add(first);
+
+        while (!candidates.isEmpty()) {
+            Candidate closest = candidates.poll();
+            if (closest.distance() > results.peek().distance() && results.size() >= ef) {
+                break;
+            }
+
+            Node node = nodes.get(closest.nodeId());
+            if (level > node.level) {
+                continue;
+            }
+            int[] links = node.links[level];
+            for (int i = 0; i < node.linkCounts[level]; i++) {
+                int neighborId = links[i];
+                if (visited.isMarked(neighborId)) {
+                    continue;
+                }
+                visited.mark(neighborId);
+
+                double d = query.distanceTo(nodes.get(neighborId).slot);
+                if (results.size() < ef || d < results.peek().distance()) {
+                    Candidate candidate = new Candidate(neighborId, d);
+                    candidates.add(candidate);
+                    results.add(candidate);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+
+        List<Candidate> sorted = new ArrayList<>(results);
+        sorted.sort(NEAREST_FIRST);
+        return sorted;
+    }
+
+    /**
+     * 이웃 선택 휴리스틱 (논문 Algorithm 4)
+     * 이미 선택된 이웃보다 기준점에 더 가까운 후보만 우선 선택하고, 남는 자리는 가까운 순으로 채움
+     */
+    private List<Candidate> selectNeighbors(List<Candidate> sortedCandidates, int m) {
+        if (sortedCandidates.size() <= m) {
+            return sortedCandidates;
+        }
+
+        List<Candidate> selected = new ArrayList<>(m);
+        List<Candidate> pruned = new ArrayList<>();
+        for (Candidate candidate : sortedCandidates) {
+            if (selected.size() >= m) {
+                break;
+            }
+            int slot = nodes.get(candidate.nodeId()).slot;
+            boolean diverse = true;
+            for (Candidate chosen : selected) {
+                if (distance(slot, nodes.get(chosen.nodeId()).slot) < candidate.distance()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate);
+            } else {
+                pruned.add(candidate);
+            }
+        }
+
+        for (int i = 0; i < pruned.size() && selected.size() < m; i++) {
+            selected.add(pruned.get(i));
+        }
+        return selected;
+    }
+
+    // 기존 노드에 역방향 링크 추가 (가득 차면 휴리스틱으로 다시 추림)
+    private void connect(int fromId, int toId, int level) {
+        Node from = nodes.get(fromId);
+        int capacity = level == 0 ? maxConnectionsLevel0 : maxConnections;
+        if (from.linkCounts[level] < capacity) {
+            from.addLink(level, toId);
+            return;
+        }
+
+        List<Candidate> candidates = new ArrayList<>(capacity + 1);
+        candidates.add(new Candidate(toId, distance(from.slot, nodes.get(toId).slot)));
+        for (int i = 0; i < from.linkCounts[level]; i++) {
+            int neighborId = from.links[level][i];
+            candidates.add(new Candidate(neighborId, distance(from.slot, nodes.get(neighborId).slot)));
+        }
+        candidates.sort(NEAREST_FIRST);
+
+        List<Candidate> selected = selectNeighbors(candidates, capacity);
+        from.linkCounts[level] = 0;
+        for (Candidate candidate : selected) {
+            from.addLink(level, candidate.nodeId());
+        }
+    }
+
+    private void markDeleted(int nodeId) {
+        Node node = nodes.get(nodeId);
+        if (!node.deleted) {
+            node.deleted = true;
+            deletedCount++;
+        }
+    }
+
+    private int randomLevel() {
+        double r = 1.0 - random.nextDouble(); // (0, 1]
+        return (int) Math.floor(-Math.log(r) * levelMultiplier);
+    }
+
+    // 두 slot 벡터 간 거리 (음의 내적)
+    private double distance(int slotA, int slotB) {
+        return -store.dot(slotA, slotB);
+    }
+
+    // 외부 질의 벡터 기준 거리
+    private Query vectorQuery(float[] vector) {
+        return slot -> -store.dot(vector, slot);
+    }
+
+    // 저장된 slot 벡터 기준 거리 (삽입 시)
+    private Query slotQuery(int querySlot) {
+        return slot -> distance(querySlot, slot);
+    }
+
+    @FunctionalInterface
+    private interface Query {
+        double distanceTo(int slot);
+    }
+
+    // 검색 결과 (key = track_id, distance = 음의 내적)
+    public record SearchResult(String key, double distance) {}
+
+    private record Candidate(int nodeId, double distance) {}
+
+    private static class Node {
+        final String key;
+        final int slot;
+        final int level;
+        final int[][] links;
+        final int[] linkCounts;
+        volatile boolean deleted;
+
+        Node(String key, int slot, int level, int maxConnections, int maxConnectionsLevel0) {
+            this.key = key;
+            this.slot = slot;
+            this.level = level;
+            this.links = new int[level + 1][];
+            this.linkCounts = new int[level + 1];
+            for (int l = 0; l <= level; l++) {
+                links[l] = new int[l == 0 ? maxConnectionsLevel0 : maxConnections];
+            }
+        }
+
+        void addLink(int level, int nodeId) {
+            links[level][linkCounts[level]++] = nodeId;
+        }
+    }
+
+    // 탐색 시 방문 여부 (스레드별 재사용, epoch 증가로 초기화 비용 제거)
+    private static class VisitedMarks {
+        int[] marks = new int[0];
+        int epoch = 0;
+
+        void reset(int size) {
+            if (marks.length < size) {
+                marks = new int[Math.max(size, marks.length * 2)];
+                epoch = 0;
+            }
+            epoch++;
+            if (epoch == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                epoch = 1;
+            }
+        }
+
+        void mark(int nodeId) {
+            marks[nodeId] = epoch;
+        }
+
+        boolean isMarked(int nodeId) {
+            return marks[nodeId] == epoch;
+        }
+    }
+}
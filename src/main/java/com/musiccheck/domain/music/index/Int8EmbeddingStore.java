@@ -0,0 +1,130 @@
+package com.musiccheck.domain.music.index;
+
+/**
+ * int8 스칼라 양자화 벡터 저장소
+ * - 벡터마다 scale = max|x| / 127 로 대칭 양자화 (code = round(x / scale))
+ * - 힙에는 차원당 1바이트 코드 + 벡터당 scale(float)만 유지, 원본은 exact 저장소(스냅샷)에 그대로 둠
+ * - dot()은 양자화 근사값, exactDot()은 원본 벡터 내적 (1차 후보 선별 후 재정렬용)
+ */
+public class Int8EmbeddingStore implements EmbeddingStore {
+
+    private static final float MAX_CODE = 127f;
+
+    private final EmbeddingStore exact;
+    private final int dimension;
+    private final DotProduct kernel = DotProduct.get();
+    private volatile byte[] codes;
+    private volatile float[] scales;
+    private volatile int encodedCount = 0;
+
+    public Int8EmbeddingStore(EmbeddingStore exact) {
+        this.exact = exact;
+        this.dimension = exact.dimension();
+        int capacity = Math.max(exact.size(), 1024);
+        this.codes = new byte[capacity * dimension];
+        this.scales = new float[capacity];
+        encodePending();
+    }
+
+    public EmbeddingStore exact() {
+        return exact;
+    }
+
+    // 벡터 하나당 힙 사용량 (코드 + scale)
+    public int bytesPerVector() {
+        return dimension + Float.BYTES;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public int size() {
+        return encodedCount;
+    }
+
+    @Override
+    public int slotOf(int embeddingId) {
+        int slot = exact.slotOf(embeddingId);
+        return slot < encodedCount ? slot : -1;
+    }
+
+    @Override
+    public synchronized int append(int embeddingId, float[] vector) {
+        int slot = exact.append(embeddingId, vector);
+        encodePending();
+        return slot;
+    }
+
+    @Override
+    public float dot(float[] query, int slot) {
+        return kernel.dot(query, codes, slot * dimension, dimension) * scales[slot];
+    }
+
+    @Override
+    public float dot(int slotA, int slotB) {
+        float[] currentScales = scales;
+        return kernel.dot(codes, slotA * dimension, slotB * dimension, dimension) * currentScales[slotA] * currentScales[slotB];
+    }
+
+    @Override
+    public float exactDot(float[] query, int slot) {
+        return exact.dot(query, slot);
+    }
+
+    @Override
+    public float[] read(int slot) {
+        return exact.read(slot);
+    }
+
+    @Override
+    public void flush() {
+        exact.flush();
+    }
+
+    @Override
+    public void close() {
+        exact.close();
+    }
+
+    // exact 저장소에 있지만 아직 양자화되지 않은 slot 인코딩
+    private synchronized void encodePending() {
+        int target = exact.size();
+        int from = encodedCount;
+        if (target <= from) {
+            return;
+        }
+
+        byte[] currentCodes = codes;
+        float[] currentScales = scales;
+        if (target > currentScales.length) {
+            int capacity = Math.max(target, currentScales.length * 2);
+            byte[] grownCodes = new byte[capacity * dimension];
+            System.arraycopy(currentCodes, 0, grownCodes, 0, from * dimension);
+            float[] grownScales = new float[capacity];
+            System.arraycopy(currentScales, 0, grownScales, 0, from);
+            currentCodes = grownCodes;
+            currentScales = grownScales;
+        }
+
+        for (int slot = from; slot < target; slot++) {
+            float[] vector = exact.read(slot);
+            float maxAbs = 0f;
+            for (float v : vector) {
+                maxAbs = Math.max(maxAbs, Math.abs(v));
+            }
+            float scale = maxAbs == 0f ? 1f : maxAbs / MAX_CODE;
+            int offset = slot * dimension;
+            for (int i = 0; i < dimension; i++) {
+                currentCodes[offset + i] = (byte) Math.round(vector[i] / scale);
+            }
+            currentScales[slot] = scale;
+        }
+
+        codes = currentCodes;
+        scales = currentScales;
+        encodedCount = target;
+    }
+}
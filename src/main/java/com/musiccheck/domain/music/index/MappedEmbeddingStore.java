@@ -0,0 +1,291 @@
+package com.musiccheck.domain.music.index;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * 메모리 매핑(off-heap) 벡터 스냅샷 저장소
+ *
+ * 파일 구성
+ * - {path}: 64바이트 헤더(magic, version, dimension, count) + slot 순서의 float32(little endian) 벡터
+ * - {path}.ids: (embedding_id, slot) int 쌍 목록 → 로드 시 IntIntHashMap으로 복원
+ *
+ * 벡터는 1GB 단위 세그먼트로 매핑되어 힙을 사용하지 않고, 추가는 파일 끝에만 이루어져 기존 slot은 변하지 않음
+ * 더 이상 참조되지 않는 벡터는 compactTo로 새 파일을 만들어 정리
+ */
+public class MappedEmbeddingStore implements EmbeddingStore {
+
+    private static final int MAGIC = 0x4D434553; // "MCES"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private final Path path;
+    private final Path idsPath;
+    private final FileChannel channel;
+    private final int dimension;
+    private final int vectorBytes;
+    private final int slotsPerSegment;
+    private final DotProduct kernel = DotProduct.get();
+    private final IntIntHashMap slotsByEmbeddingId;
+
+    private volatile ByteBuffer[] segments = new ByteBuffer[0];
+    private volatile int size;
+    private boolean dirty = false;
+
+    private MappedEmbeddingStore(Path path, FileChannel channel, int dimension, int size, IntIntHashMap slotsByEmbeddingId) {
+        this.path = path;
+        this.idsPath = idsPath(path);
+        this.channel = channel;
+        this.dimension = dimension;
+        this.vectorBytes = dimension * Float.BYTES;
+        this.slotsPerSegment = (int) Math.max(1, MAX_SEGMENT_BYTES / vectorBytes);
+        this.size = size;
+        this.slotsByEmbeddingId = slotsByEmbeddingId;
+        ensureMapped(size);
+    }
+
+    /**
+     * 새 스냅샷 파일 생성 (기존 파일은 덮어씀)
+     */
+    public static MappedEmbeddingStore create(Path path, int dimension) {
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(idsPath(path));
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedEmbeddingStore store = new MappedEmbeddingStore(path, channel, dimension, 0, new IntIntHashMap(1024));
+            store.dirty = true;
+            store.flush();
+            return store;
+        } catch (IOException e) {
+            throw new UncheckedIOException("임베딩 스냅샷 생성 실패: " + path, e);
+        }
+    }
+
+    /**
+     * 기존 스냅샷 파일 열기 (형식이 다르거나 손상되었으면 예외)
+     */
+    public static MappedEmbeddingStore open(Path path) {
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < 16 || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                channel.close();
+                throw new IllegalStateException("임베딩 스냅샷 형식이 올바르지 않습니다: " + path);
+            }
+            int dimension = header.getInt();
+            int count = header.getInt();
+
+            IntIntHashMap slots = readIds(idsPath(path), count);
+            if (slots.size() != count) {
+                channel.close();
+                throw new IllegalStateException("임베딩 스냅샷 인덱스가 손상되었습니다: " + path);
+            }
+            return new MappedEmbeddingStore(path, channel, dimension, count, slots);
+        } catch (IOException e) {
+            throw new UncheckedIOException("임베딩 스냅샷 열기 실패: " + path, e);
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized int slotOf(int embeddingId) {
+        return slotsByEmbeddingId.get(embeddingId, -1);
+    }
+
+    @Override
+    public synchronized int append(int embeddingId, float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("임베딩 차원이 일치하지 않습니다: " + embeddingId);
+        }
+        int existing = slotsByEmbeddingId.get(embeddingId, -1);
+        if (existing >= 0) {
+            return existing;
+        }
+
+        int slot = size;
+        ensureMapped(slot + 1);
+        ByteBuffer segment = segments[slot / slotsPerSegment];
+        int offset = (slot % slotsPerSegment) * vectorBytes;
+        for (int i = 0; i < dimension; i++) {
+            segment.putFloat(offset + i * Float.BYTES, vector[i]);
+        }
+        slotsByEmbeddingId.put(embeddingId, slot);
+        size = slot + 1;
+        dirty = true;
+        return slot;
+    }
+
+    @Override
+    public float dot(float[] query, int slot) {
+        return kernel.dot(query, segments[slot / slotsPerSegment], (slot % slotsPerSegment) * vectorBytes, dimension);
+    }
+
+    @Override
+    public float dot(int slotA, int slotB) {
+        ByteBuffer[] current = segments;
+        return kernel.dot(current[slotA / slotsPerSegment], (slotA % slotsPerSegment) * vectorBytes,
+                current[slotB / slotsPerSegment], (slotB % slotsPerSegment) * vectorBytes, dimension);
+    }
+
+    @Override
+    public float[] read(int slot) {
+        ByteBuffer segment = segments[slot / slotsPerSegment];
+        int offset = (slot % slotsPerSegment) * vectorBytes;
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = segment.getFloat(offset + i * Float.BYTES);
+        }
+        return vector;
+    }
+
+    /**
+     * 헤더의 count와 ids 파일 기록 후 디스크 동기화
+     * ids 파일은 임시 파일에 쓴 뒤 교체하므로 중간에 종료되어도 이전 상태가 유지됨
+     */
+    @Override
+    public synchronized void flush() {
+        if (!dirty) {
+            return;
+        }
+        try {
+            channel.force(false);
+
+            ByteBuffer ids = ByteBuffer.allocate(slotsByEmbeddingId.size() * 2 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            slotsByEmbeddingId.forEach((embeddingId, slot) -> ids.putInt(embeddingId).putInt(slot));
+            ids.flip();
+            Path tmp = idsPath.resolveSibling(idsPath.getFileName() + ".tmp");
+            try (FileChannel idsChannel = FileChannel.open(tmp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (ids.hasRemaining()) {
+                    idsChannel.write(ids);
+                }
+                idsChannel.force(true);
+            }
+            Files.move(tmp, idsPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(dimension).putInt(size);
+            header.rewind();
+            channel.write(header, 0);
+            channel.force(true);
+            dirty = false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("임베딩 스냅샷 저장 실패: " + path, e);
+        }
+    }
+
+    /**
+     * keep 조건을 만족하는 embedding_id의 벡터만 새 파일로 복사 (slot 재배정)
+     */
+    public synchronized MappedEmbeddingStore compactTo(Path target, IntPredicate keep) {
+        MappedEmbeddingStore compacted = create(target, dimension);
+        int[] embeddingIdsBySlot = new int[size];
+        Arrays.fill(embeddingIdsBySlot, -1);
+        slotsByEmbeddingId.forEach((embeddingId, slot) -> embeddingIdsBySlot[slot] = embeddingId);
+        for (int slot = 0; slot < size; slot++) {
+            int embeddingId = embeddingIdsBySlot[slot];
+            if (embeddingId >= 0 && keep.test(embeddingId)) {
+                compacted.append(embeddingId, read(slot));
+            }
+        }
+        compacted.flush();
+        return compacted;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            flush();
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 이미 닫힌 채널
+            }
+        }
+    }
+
+    /**
+     * 스냅샷 파일과 ids 파일을 다른 경로로 교체 (compactTo 결과를 원래 경로로 옮길 때 사용)
+     */
+    public static void replace(Path source, Path target) {
+        try {
+            Files.move(idsPath(source), idsPath(target), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("임베딩 스냅샷 교체 실패: " + target, e);
+        }
+    }
+
+    // slotCount개를 담을 수 있도록 세그먼트 매핑 (READ_WRITE 매핑은 파일을 세그먼트 크기만큼 늘림)
+    private void ensureMapped(int slotCount) {
+        int required = slotCount == 0 ? 0 : (slotCount - 1) / slotsPerSegment + 1;
+        ByteBuffer[] current = segments;
+        if (required <= current.length) {
+            return;
+        }
+        try {
+            ByteBuffer[] grown = Arrays.copyOf(current, required);
+            long segmentBytes = (long) slotsPerSegment * vectorBytes;
+            for (int i = current.length; i < required; i++) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE,
+                        HEADER_BYTES + i * segmentBytes, segmentBytes);
+                grown[i] = mapped.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            segments = grown;
+        } catch (IOException e) {
+            throw new UncheckedIOException("임베딩 스냅샷 매핑 실패: " + path, e);
+        }
+    }
+
+    private static IntIntHashMap readIds(Path idsPath, int expectedCount) throws IOException {
+        IntIntHashMap slots = new IntIntHashMap(Math.max(expectedCount, 16));
+        if (!Files.exists(idsPath)) {
+            return slots;
+        }
+        try (FileChannel idsChannel = FileChannel.open(idsPath, StandardOpenOption.READ)) {
+            ByteBuffer ids = idsChannel.map(FileChannel.MapMode.READ_ONLY, 0, idsChannel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            while (ids.remaining() >= 2 * Integer.BYTES) {
+                int embeddingId = ids.getInt();
+                int slot = ids.getInt();
+                if (slot < expectedCount) {
+                    slots.put(embeddingId, slot);
+                }
+            }
+        }
+        return slots;
+    }
+
+    private static Path idsPath(Path path) {
+        return path.resolveSibling(path.getFileName() + ".ids");
+    }
+}
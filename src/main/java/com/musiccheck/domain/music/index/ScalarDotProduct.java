@@ -0,0 +1,54 @@
+package com.musiccheck.domain.music.index;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 스칼라 내적 (Vector API를 쓸 수 없을 때의 기본 구현)
+ */
+final class ScalarDotProduct extends DotProduct {
+
+    static final ScalarDotProduct INSTANCE = new ScalarDotProduct();
+
+    private ScalarDotProduct() {}
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0f;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(float[] query, ByteBuffer buffer, int byteOffset, int length) {
+        float sum = 0f;
+        for (int i = 0; i < length; i++) {
+            sum += query[i] * buffer.getFloat(byteOffset + i * Float.BYTES);
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, int length) {
+        float sum = 0f;
+        for (int i = 0; i < length; i++) {
+            sum += a.getFloat(aOffset + i * Float.BYTES) * b.getFloat(bOffset + i * Float.BYTES);
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(float[] query, byte[] codes, int offset, int length) {
+        float sum = 0f;
+        for (int i = 0; i < length; i++) {
+            sum += query[i] * codes[offset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,127 @@
+package com.musiccheck.domain.music.index;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Vector API(jdk.incubator.vector) 내적
+ * - 플랫폼 기본 레인 폭(SPECIES_PREFERRED)으로 fma 누적 후 마지막에 한 번만 reduce
+ * - 레인 폭으로 나누어 떨어지지 않는 꼬리 구간은 스칼라로 처리
+ * 이 클래스는 DotProduct.get()에서 모듈이 있을 때만 로드됨
+ */
+final class SimdDotProduct extends DotProduct {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final VectorSpecies<Integer> INT_SPECIES = VectorSpecies.of(int.class, SPECIES.vectorShape());
+    // float 레인 수와 같은 수의 byte를 읽는 species (64bit 미만 shape는 없으므로 그때는 스칼라 처리)
+    private static final VectorSpecies<Byte> CODE_SPECIES = LANES * Byte.SIZE >= 64
+            ? VectorSpecies.of(byte.class, VectorShape.forBitSize(LANES * Byte.SIZE))
+            : null;
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += LANES) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, aOffset + i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, bOffset + i);
+            acc = va.fma(vb, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(float[] query, ByteBuffer buffer, int byteOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += LANES) {
+            FloatVector vq = FloatVector.fromArray(SPECIES, query, i);
+            FloatVector vb = FloatVector.fromByteBuffer(SPECIES, buffer, byteOffset + i * Float.BYTES, ByteOrder.LITTLE_ENDIAN);
+            acc = vq.fma(vb, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += query[i] * buffer.getFloat(byteOffset + i * Float.BYTES);
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, int length) {
+        int bound = SPECIES.loopBound(length);
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += LANES) {
+            FloatVector va = FloatVector.fromByteBuffer(SPECIES, a, aOffset + i * Float.BYTES, ByteOrder.LITTLE_ENDIAN);
+            FloatVector vb = FloatVector.fromByteBuffer(SPECIES, b, bOffset + i * Float.BYTES, ByteOrder.LITTLE_ENDIAN);
+            acc = va.fma(vb, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a.getFloat(aOffset + i * Float.BYTES) * b.getFloat(bOffset + i * Float.BYTES);
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(float[] query, byte[] codes, int offset, int length) {
+        if (CODE_SPECIES == null) {
+            return ScalarDotProduct.INSTANCE.dot(query, codes, offset, length);
+        }
+        int bound = SPECIES.loopBound(length);
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += LANES) {
+            FloatVector vq = FloatVector.fromArray(SPECIES, query, i);
+            FloatVector vc = (FloatVector) ByteVector.fromArray(CODE_SPECIES, codes, offset + i)
+                    .convertShape(VectorOperators.B2F, SPECIES, 0);
+            acc = vq.fma(vc, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += query[i] * codes[offset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int dot(byte[] codes, int aOffset, int bOffset, int length) {
+        if (CODE_SPECIES == null) {
+            return super.dot(codes, aOffset, bOffset, length);
+        }
+        int bound = SPECIES.loopBound(length);
+        IntVector acc = IntVector.zero(INT_SPECIES);
+        int i = 0;
+        for (; i < bound; i += LANES) {
+            IntVector va = (IntVector) ByteVector.fromArray(CODE_SPECIES, codes, aOffset + i)
+                    .convertShape(VectorOperators.B2I, INT_SPECIES, 0);
+            IntVector vb = (IntVector) ByteVector.fromArray(CODE_SPECIES, codes, bOffset + i)
+                    .convertShape(VectorOperators.B2I, INT_SPECIES, 0);
+            acc = acc.add(va.mul(vb));
+        }
+        int sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += codes[aOffset + i] * codes[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "simd-" + SPECIES.vectorBitSize() + "bit";
+    }
+}
@@ -0,0 +1,60 @@
+package com.musiccheck.domain.music.index;
+
+/**
+ * 임베딩 벡터 연산 유틸
+ * pgvector의 <#> 연산자는 음의 내적(-a·b)을 반환하므로 인덱스 거리도 동일하게 맞춤 (작을수록 유사)
+ */
+public final class VectorMath {
+
+    private VectorMath() {}
+
+    // 내적 (SIMD 커널 사용 가능 시 Vector API)
+    public static float dot(float[] a, float[] b) {
+        return DotProduct.get().dot(a, b);
+    }
+
+    // pgvector <#> 와 동일한 음의 내적
+    public static double negativeInnerProduct(float[] a, float[] b) {
+        return -dot(a, b);
+    }
+
+    /**
+     * float[]를 pgvector 텍스트 표현으로 변환 (쿼리 바인드 파라미터용, CAST(:v AS vector))
+     */
+    public static String toText(float[] vector) {
+        StringBuilder text = new StringBuilder(vector.length * 12 + 2).append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(vector[i]);
+        }
+        return text.append(']').toString();
+    }
+
+    /**
+     * pgvector 텍스트 표현("[0.1,0.2,...]")을 float[]로 변환
+     */
+    public static float[] parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        String body = text.trim();
+        if (body.startsWith("[")) {
+            body = body.substring(1);
+        }
+        if (body.endsWith("]")) {
+            body = body.substring(0, body.length() - 1);
+        }
+        if (body.isBlank()) {
+            return new float[0];
+        }
+
+        String[] parts = body.split(",");
+        float[] vector = new float[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            vector[i] = Float.parseFloat(parts[i].trim());
+        }
+        return vector;
+    }
+}
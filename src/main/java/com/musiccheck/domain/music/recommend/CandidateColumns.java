@@ -0,0 +1,293 @@
+package com.musiccheck.domain.music.recommend;
+
+import com.musiccheck.domain.music.dto.MusicDto;
+import com.musiccheck.domain.music.index.IntIntHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 책별 추천 후보의 열(column) 단위 표현 (캐시 저장 형태, 불변)
+ * - 유사도/좋아요 개수를 primitive 배열로 보관해 점수 계산 중 후보별 객체를 만들지 않음
+ * - 곡 정보(rows)는 최종 상위 K곡의 DTO를 만들 때만 참조
+ * - 곡마다 사전 ID → 후보 인덱스 맵을 두어, 싫어요 비트맵은 호출마다 후보 인덱스 비트 마스크로 바꿔 제외
+ * - 좋아요 개수는 likeCounts가 기준 (rows의 likeCount는 생성 시점 값)
+ * - 정규화 범위는 후보 열과 후보 밖 카탈로그 범위(CatalogBounds)를 합쳐 계산 (SQL 경로와 같은 점수)
+ * - 후보는 유사도 상위 N곡 + 좋아요 상위 곡, 후보 밖 곡의 점수 상한이 K번째 점수를 넘으면 순위를 확정할 수 없음
+ */
+public final class CandidateColumns {
+
+    private final RecommendationCandidate[] rows;
+    private final IntIntHashMap indexByOrdinal;
+    private final double[] similarityScores;
+    private final long[] likeCounts;
+    private final CatalogBounds catalog;
+
+    private CandidateColumns(RecommendationCandidate[] rows, IntIntHashMap indexByOrdinal, double[] similarityScores,
+                             long[] likeCounts, CatalogBounds catalog) {
+        this.rows = rows;
+        this.indexByOrdinal = indexByOrdinal;
+        this.similarityScores = similarityScores;
+        this.likeCounts = likeCounts;
+        this.catalog = catalog;
+    }
+
+    /**
+     * 후보만으로 정규화하는 열 (카탈로그 범위 없음)
+     */
+    public static CandidateColumns of(List<RecommendationCandidate> candidates, IdDictionary trackDictionary) {
+        return of(candidates, trackDictionary, CatalogBounds.NONE);
+    }
+
+    /**
+     * @param trackDictionary track_id → 사전 ID (싫어요 비트맵과 같은 사전을 사용해야 함)
+     * @param catalog 후보 밖 카탈로그 곡의 정규화 범위
+     */
+    public static CandidateColumns of(List<RecommendationCandidate> candidates, IdDictionary trackDictionary,
+                                      CatalogBounds catalog) {
+        int size = candidates.size();
+        RecommendationCandidate[] rows = candidates.toArray(new RecommendationCandidate[0]);
+        IntIntHashMap indexByOrdinal = new IntIntHashMap(size);
+        double[] similarityScores = new double[size];
+        long[] likeCounts = new long[size];
+        for (int i = 0; i < size; i++) {
+            indexByOrdinal.put(trackDictionary.idOf(rows[i].trackId()), i);
+            similarityScores[i] = rows[i].similarityScore();
+            likeCounts[i] = rows[i].likeCount();
+        }
+        return new CandidateColumns(rows, indexByOrdinal, similarityScores, likeCounts, catalog);
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    // 후보 순서의 track_id 목록
+    public List<String> trackIds() {
+        List<String> trackIds = new ArrayList<>(rows.length);
+        for (RecommendationCandidate row : rows) {
+            trackIds.add(row.trackId());
+        }
+        return trackIds;
+    }
+
+    /**
+     * 유사도에 후보별 보정값을 더한 사본 (사용자 취향 반영용, 곡 정보/좋아요 열은 공유)
+     * 카탈로그 범위도 같은 보정 범위만큼 옮김 (후보 밖 곡의 보정값은 모르므로 후보 보정값의 최소/최대로 추정)
+     * - 최대 유사도는 가장 큰 보정값만큼, 후보 밖 유사도 하한은 가장 작은 보정값만큼 이동 (하한이 낮아지는 쪽이라 순위 확정 판단은 보수적)
+     */
+    public CandidateColumns withSimilarityOffsets(double[] offsets) {
+        if (offsets.length != rows.length) {
+            throw new IllegalArgumentException("보정값 개수가 후보 수와 다릅니다.");
+        }
+        double[] adjusted = new double[rows.length];
+        double minOffset = 0.0;
+        double maxOffset = 0.0;
+        for (int i = 0; i < rows.length; i++) {
+            adjusted[i] = similarityScores[i] + offsets[i];
+            minOffset = Math.min(minOffset, offsets[i]);
+            maxOffset = Math.max(maxOffset, offsets[i]);
+        }
+        CatalogBounds shifted = new CatalogBounds(catalog.maxSimilarity() + maxOffset, catalog.maxLikeCount(),
+                catalog.outsideMinSimilarity() + minOffset);
+        return new CandidateColumns(rows, indexByOrdinal, adjusted, likeCounts, shifted);
+    }
+
+    /**
+     * 제외 곡(곡 사전 ID 비트맵)을 뺀 상위 limit곡 (점수 내림차순, 동점이면 후보 순서)
+     * 정규화 범위는 제외 후 후보와 카탈로그 범위를 합쳐 계산, DTO는 결과 곡에 대해서만 생성
+     * 후보 밖 곡이 상위 limit곡에 들 수 있으면 null (호출 측은 카탈로그 전체를 스캔하는 SQL 경로로 계산)
+     */
+    public List<MusicDto> rank(IntBitmap excludedTracks, int limit) {
+        return rank(excludedTracks, limit, ParallelScoring.SEQUENTIAL);
+    }
+
+    /**
+     * rank와 같은 결과를 후보 수가 많으면 병렬로 계산
+     * 청크마다 정규화 범위와 로컬 top-K를 구해 병합 (동점은 후보 인덱스로 정렬되므로 순차 계산과 결과가 같음)
+     */
+    public List<MusicDto> rank(IntBitmap excludedTracks, int limit, ParallelScoring parallel) {
+        long[] excluded = excludedMask(excludedTracks);
+        Bounds bounds;
+        IndexTopK topK;
+        if (parallel.isParallel(rows.length)) {
+            bounds = parallel.pool().invoke(new BoundsTask(excluded, 0, rows.length, parallel.chunkSize()))
+                    .withCatalog(catalog);
+            topK = parallel.pool().invoke(new ScoreTask(excluded, bounds, limit, 0, rows.length, parallel.chunkSize()));
+        } else {
+            bounds = bounds(excluded, 0, rows.length).withCatalog(catalog);
+            topK = score(excluded, bounds, limit, 0, rows.length);
+        }
+        if (!isExact(bounds, topK, limit)) {
+            return null;
+        }
+
+        int[] order = topK.toSortedIndices();
+        List<MusicDto> ranked = new ArrayList<>(order.length);
+        for (int i : order) {
+            RecommendationCandidate row = rows[i];
+            ranked.add(new MusicDto(row.trackId(), row.trackName(), row.artistName(),
+                    row.imageUrl(), row.externalUrl(), likeCounts[i]));
+        }
+        return ranked;
+    }
+
+    /**
+     * 후보 밖 곡이 결과에 들 수 없는지 (SQL 경로와 같은 결과인지)
+     * 후보 밖 곡의 점수 상한 = 유사도 하한의 정규화 점수 + 좋아요 상한의 정규화 점수
+     */
+    private boolean isExact(Bounds bounds, IndexTopK topK, int limit) {
+        if (!catalog.hasOutsideTracks()) {
+            return true;
+        }
+        if (topK.size() < limit) {
+            return false;  // 후보가 모자라면 후보 밖 곡이 채움
+        }
+        double outsideUpperBound = RecommendationScorer.score(catalog.outsideMinSimilarity(), catalog.maxLikeCount(),
+                bounds.minSimilarity(), bounds.maxSimilarity(), bounds.maxLikeCount());
+        return outsideUpperBound <= topK.lowestScore();
+    }
+
+    // 제외 곡 중 후보에 있는 곡의 인덱스 비트 마스크 (제외할 후보가 없으면 null)
+    private long[] excludedMask(IntBitmap excludedTracks) {
+        if (excludedTracks.isEmpty()) {
+            return null;
+        }
+        long[] mask = new long[(rows.length + 63) >>> 6];
+        boolean[] any = {false};
+        excludedTracks.forEach(ordinal -> {
+            int i = indexByOrdinal.get(ordinal, -1);
+            if (i >= 0) {
+                mask[i >>> 6] |= 1L << i;
+                any[0] = true;
+            }
+        });
+        return any[0] ? mask : null;
+    }
+
+    // [from, to) 구간에서 제외 곡을 뺀 유사도 min/max와 최대 좋아요 개수
+    private Bounds bounds(long[] excluded, int from, int to) {
+        boolean filter = excluded != null;
+        double minSimilarity = Double.POSITIVE_INFINITY;
+        double maxSimilarity = Double.NEGATIVE_INFINITY;
+        long maxLikeCount = 0L;
+        for (int i = from; i < to; i++) {
+            if (filter && (excluded[i >>> 6] & (1L << i)) != 0) {
+                continue;
+            }
+            minSimilarity = Math.min(minSimilarity, similarityScores[i]);
+            maxSimilarity = Math.max(maxSimilarity, similarityScores[i]);
+            maxLikeCount = Math.max(maxLikeCount, likeCounts[i]);
+        }
+        return new Bounds(minSimilarity, maxSimilarity, maxLikeCount);
+    }
+
+    // [from, to) 구간의 로컬 top-K
+    private IndexTopK score(long[] excluded, Bounds bounds, int limit, int from, int to) {
+        boolean filter = excluded != null;
+        IndexTopK topK = new IndexTopK(limit);
+        for (int i = from; i < to; i++) {
+            if (filter && (excluded[i >>> 6] & (1L << i)) != 0) {
+                continue;
+            }
+            double score = RecommendationScorer.score(similarityScores[i], likeCounts[i],
+                    bounds.minSimilarity(), bounds.maxSimilarity(), bounds.maxLikeCount());
+            if (topK.accepts(score)) {
+                topK.offer(i, score);
+            }
+        }
+        return topK;
+    }
+
+    /**
+     * 한 곡의 좋아요 개수만 증감한 사본
+     * 후보에 없는 곡이면 카탈로그 범위 없이는 그대로, 있으면 후보 밖 최대 좋아요 개수를 알 수 없으므로 null (다시 로드)
+     */
+    public CandidateColumns withLikeDelta(String trackId, long delta) {
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i].trackId().equals(trackId)) {
+                long[] patched = likeCounts.clone();
+                patched[i] = Math.max(0L, patched[i] + delta);
+                return new CandidateColumns(rows, indexByOrdinal, similarityScores, patched, catalog);
+            }
+        }
+        return catalog.equals(CatalogBounds.NONE) ? this : null;
+    }
+
+    private record Bounds(double minSimilarity, double maxSimilarity, long maxLikeCount) {
+
+        Bounds merge(Bounds other) {
+            return new Bounds(Math.min(minSimilarity, other.minSimilarity),
+                    Math.max(maxSimilarity, other.maxSimilarity),
+                    Math.max(maxLikeCount, other.maxLikeCount));
+        }
+
+        // 최소 유사도는 후보 기준 (후보가 유사도 상위 N곡, 모두 제외된 경우만 후보 밖 하한 사용), 최댓값은 카탈로그와 합침
+        Bounds withCatalog(CatalogBounds catalog) {
+            return new Bounds(Math.min(minSimilarity, catalog.outsideMinSimilarity()),
+                    Math.max(maxSimilarity, catalog.maxSimilarity()),
+                    Math.max(maxLikeCount, catalog.maxLikeCount()));
+        }
+    }
+
+    private final class BoundsTask extends RecursiveTask<Bounds> {
+
+        private final long[] excluded;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        BoundsTask(long[] excluded, int from, int to, int chunkSize) {
+            this.excluded = excluded;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected Bounds compute() {
+            if (to - from <= chunkSize) {
+                return bounds(excluded, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            BoundsTask left = new BoundsTask(excluded, from, mid, chunkSize);
+            left.fork();
+            Bounds right = new BoundsTask(excluded, mid, to, chunkSize).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private final class ScoreTask extends RecursiveTask<IndexTopK> {
+
+        private final long[] excluded;
+        private final Bounds bounds;
+        private final int limit;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        ScoreTask(long[] excluded, Bounds bounds, int limit, int from, int to, int chunkSize) {
+            this.excluded = excluded;
+            this.bounds = bounds;
+            this.limit = limit;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected IndexTopK compute() {
+            if (to - from <= chunkSize) {
+                return score(excluded, bounds, limit, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(excluded, bounds, limit, from, mid, chunkSize);
+            left.fork();
+            IndexTopK right = new ScoreTask(excluded, bounds, limit, mid, to, chunkSize).compute();
+            IndexTopK merged = left.join();
+            merged.merge(right);
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.musiccheck.domain.music.recommend;
+
+/**
+ * 후보 밖 카탈로그 곡의 범위 (SQL 경로와 같은 기준으로 점수를 맞추고, 후보 밖 곡이 상위에 들 수 있는지 판단)
+ * - maxSimilarity: 책 기준 카탈로그 전체 곡의 최대 유사도 (음의 내적, 가장 먼 곡)
+ * - maxLikeCount: 후보에 들지 않은 곡의 좋아요 개수 상한 (후보 곡은 싫어요 제외 후 후보 열에서 계산)
+ * - outsideMinSimilarity: 후보에 들지 않은 곡의 유사도 하한 (유사도 상위 N곡의 마지막 값, 카탈로그 전체가 후보면 POSITIVE_INFINITY)
+ * 최소 유사도는 유사도 상위 N곡이 후보에 있으므로 후보 열에서 계산
+ */
+public record CatalogBounds(double maxSimilarity, long maxLikeCount, double outsideMinSimilarity) {
+
+    // 카탈로그 정보 없음 (후보만으로 정규화, 후보 밖 곡 없음)
+    public static final CatalogBounds NONE =
+            new CatalogBounds(Double.NEGATIVE_INFINITY, 0L, Double.POSITIVE_INFINITY);
+
+    // 후보 밖에 곡이 있는지 (없으면 후보만으로 순위가 확정됨)
+    public boolean hasOutsideTracks() {
+        return outsideMinSimilarity != Double.POSITIVE_INFINITY;
+    }
+}
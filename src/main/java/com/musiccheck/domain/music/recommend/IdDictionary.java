@@ -0,0 +1,31 @@
+package com.musiccheck.domain.music.recommend;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 문자열 ID(track_id, isbn) → 0부터 증가하는 정수 ID 사전
+ * - 처음 본 ID에 다음 번호를 부여하고 한 번 부여한 번호는 바꾸지 않음 (프로세스 수명 동안 유효)
+ * - 비트맵 필터처럼 조밀한 정수 키가 필요한 곳에서 문자열 해시 조회 대신 사용
+ */
+public class IdDictionary {
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    // 번호 조회, 없으면 새로 부여
+    public int idOf(String key) {
+        Integer id = ids.get(key);
+        return id != null ? id : ids.computeIfAbsent(key, k -> next.getAndIncrement());
+    }
+
+    // 번호 조회 (부여되지 않았으면 -1)
+    public int find(String key) {
+        Integer id = ids.get(key);
+        return id != null ? id : -1;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,130 @@
+package com.musiccheck.domain.music.recommend;
+
+/**
+ * 점수 상위 K개의 인덱스만 유지하는 primitive bounded min-heap
+ * - 항목 객체 없이 int 인덱스와 double 점수만 보관 (후보별 할당 없음)
+ * - 점수가 같으면 인덱스가 작은 항목이 우선 (입력 순서 = 인덱스 순서일 때 TopK와 동일한 순서)
+ */
+public class IndexTopK {
+
+    private final int capacity;
+    private final int[] indices;
+    private final double[] scores;
+    private int size = 0;
+
+    public IndexTopK(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity는 1 이상이어야 합니다.");
+        }
+        this.capacity = capacity;
+        this.indices = new int[capacity];
+        this.scores = new double[capacity];
+    }
+
+    /**
+     * 이 점수가 힙에 들어갈 수 있는지 (인덱스가 증가하는 순서로 넣는 경우 동점은 밀림)
+     */
+    public boolean accepts(double score) {
+        return size < capacity || score > scores[0];
+    }
+
+    public void offer(int index, double score) {
+        if (size < capacity) {
+            indices[size] = index;
+            scores[size] = score;
+            siftUp(size++);
+            return;
+        }
+        if (!isBetter(score, index, scores[0], indices[0])) {
+            return;
+        }
+        indices[0] = index;
+        scores[0] = score;
+        siftDown(0);
+    }
+
+    /**
+     * 다른 힙의 항목을 모두 합침 (병렬 청크 병합용)
+     * 비교 기준이 (점수, 인덱스) 전순서라 병합 순서와 무관하게 결과가 같음
+     */
+    public void merge(IndexTopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.indices[i], other.scores[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 힙에 남은 가장 낮은 점수 (비어 있으면 NEGATIVE_INFINITY)
+    public double lowestScore() {
+        return size > 0 ? scores[0] : Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * 점수 내림차순(동점이면 인덱스 오름차순) 인덱스 배열
+     * 힙을 제자리에서 비우며 정렬하므로 호출 후에는 비어 있음
+     */
+    public int[] toSortedIndices() {
+        int[] sorted = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            sorted[i] = indices[0];
+            size--;
+            if (size > 0) {
+                indices[0] = indices[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+        }
+        return sorted;
+    }
+
+    // a가 b보다 우선순위가 높은지 (점수 높은 순, 같으면 인덱스 작은 순)
+    private static boolean isBetter(double scoreA, int indexA, double scoreB, int indexB) {
+        if (scoreA != scoreB) {
+            return scoreA > scoreB;
+        }
+        return indexA < indexB;
+    }
+
+    // 힙 루트에는 가장 우선순위가 낮은 항목이 위치
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!isBetter(scores[parent], indices[parent], scores[index], indices[index])) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = index * 2 + 1;
+            if (left >= size) {
+                break;
+            }
+            int right = left + 1;
+            int worst = left;
+            if (right < size && isBetter(scores[left], indices[left], scores[right], indices[right])) {
+                worst = right;
+            }
+            if (!isBetter(scores[index], indices[index], scores[worst], indices[worst])) {
+                break;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int index = indices[a];
+        indices[a] = indices[b];
+        indices[b] = index;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -0,0 +1,274 @@
+package com.musiccheck.domain.music.recommend;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * 음이 아닌 int 집합을 압축해 담는 불변 비트맵 (Roaring 방식)
+ * - 원소가 SPARSE_MAX개 이하면 정렬된 int 배열 하나로 보관 (사용자별 싫어요처럼 작고 흩어진 집합은 청크마다
+ *   객체를 두는 것보다 작음)
+ * - 그보다 크면 상위 16비트로 청크를 나누고, 청크마다 하위 16비트를
+ *   원소가 4096개 이하면 정렬된 char 배열(원소당 2바이트), 넘으면 65536비트 long[1024] 비트맵으로 보관
+ * - with/without은 바뀐 부분만 복사한 새 인스턴스를 반환 (캐시에 두고 여러 스레드가 읽어도 안전)
+ */
+public final class IntBitmap {
+
+    public static final IntBitmap EMPTY = new IntBitmap(new int[0]);
+
+    private static final int SPARSE_MAX = 1024;
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private final int[] sparse;         // 작은 집합: 정렬된 원소 (청크 형태면 null)
+    private final char[] keys;          // 청크 상위 16비트 (오름차순)
+    private final Object[] containers;  // char[] (정렬된 하위 16비트) 또는 long[1024]
+
+    private IntBitmap(int[] sparse) {
+        this.sparse = sparse;
+        this.keys = null;
+        this.containers = null;
+    }
+
+    private IntBitmap(char[] keys, Object[] containers) {
+        this.sparse = null;
+        this.keys = keys;
+        this.containers = containers;
+    }
+
+    public static IntBitmap of(int... values) {
+        IntBitmap bitmap = EMPTY;
+        for (int value : values) {
+            bitmap = bitmap.with(value);
+        }
+        return bitmap;
+    }
+
+    public boolean isEmpty() {
+        return sparse != null ? sparse.length == 0 : keys.length == 0;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        if (sparse != null) {
+            return Arrays.binarySearch(sparse, value) >= 0;
+        }
+        int index = Arrays.binarySearch(keys, (char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) value;
+        Object container = containers[index];
+        if (container instanceof char[] array) {
+            return Arrays.binarySearch(array, low) >= 0;
+        }
+        long[] words = (long[]) container;
+        return (words[low >>> 6] & (1L << low)) != 0;
+    }
+
+    /**
+     * value를 추가한 비트맵 (이미 있으면 this)
+     */
+    public IntBitmap with(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("음수는 담을 수 없습니다: " + value);
+        }
+        if (contains(value)) {
+            return this;
+        }
+        if (sparse != null) {
+            if (sparse.length == SPARSE_MAX) {
+                return toChunks(sparse).with(value);
+            }
+            int insertAt = -Arrays.binarySearch(sparse, value) - 1;
+            int[] grown = new int[sparse.length + 1];
+            System.arraycopy(sparse, 0, grown, 0, insertAt);
+            grown[insertAt] = value;
+            System.arraycopy(sparse, insertAt, grown, insertAt + 1, sparse.length - insertAt);
+            return new IntBitmap(grown);
+        }
+        char high = (char) (value >>> 16);
+        char low = (char) value;
+        int index = Arrays.binarySearch(keys, high);
+        if (index < 0) {
+            int insertAt = -index - 1;
+            char[] grownKeys = new char[keys.length + 1];
+            Object[] grownContainers = new Object[containers.length + 1];
+            System.arraycopy(keys, 0, grownKeys, 0, insertAt);
+            System.arraycopy(containers, 0, grownContainers, 0, insertAt);
+            grownKeys[insertAt] = high;
+            grownContainers[insertAt] = new char[]{low};
+            System.arraycopy(keys, insertAt, grownKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(containers, insertAt, grownContainers, insertAt + 1, containers.length - insertAt);
+            return new IntBitmap(grownKeys, grownContainers);
+        }
+
+        Object[] updated = containers.clone();
+        if (containers[index] instanceof char[] array) {
+            if (array.length < ARRAY_MAX) {
+                int insertAt = -Arrays.binarySearch(array, low) - 1;
+                char[] grown = new char[array.length + 1];
+                System.arraycopy(array, 0, grown, 0, insertAt);
+                grown[insertAt] = low;
+                System.arraycopy(array, insertAt, grown, insertAt + 1, array.length - insertAt);
+                updated[index] = grown;
+            } else {
+                long[] words = new long[BITMAP_WORDS];
+                for (char existing : array) {
+                    words[existing >>> 6] |= 1L << existing;
+                }
+                words[low >>> 6] |= 1L << low;
+                updated[index] = words;
+            }
+        } else {
+            long[] words = ((long[]) containers[index]).clone();
+            words[low >>> 6] |= 1L << low;
+            updated[index] = words;
+        }
+        return new IntBitmap(keys, updated);
+    }
+
+    /**
+     * value를 뺀 비트맵 (없으면 this)
+     */
+    public IntBitmap without(int value) {
+        if (!contains(value)) {
+            return this;
+        }
+        if (sparse != null) {
+            int removeAt = Arrays.binarySearch(sparse, value);
+            int[] smaller = new int[sparse.length - 1];
+            System.arraycopy(sparse, 0, smaller, 0, removeAt);
+            System.arraycopy(sparse, removeAt + 1, smaller, removeAt, sparse.length - removeAt - 1);
+            return smaller.length > 0 ? new IntBitmap(smaller) : EMPTY;
+        }
+        char low = (char) value;
+        int index = Arrays.binarySearch(keys, (char) (value >>> 16));
+
+        Object container = containers[index];
+        Object shrunk;
+        if (container instanceof char[] array) {
+            int removeAt = Arrays.binarySearch(array, low);
+            char[] smaller = new char[array.length - 1];
+            System.arraycopy(array, 0, smaller, 0, removeAt);
+            System.arraycopy(array, removeAt + 1, smaller, removeAt, array.length - removeAt - 1);
+            shrunk = smaller.length > 0 ? smaller : null;
+        } else {
+            long[] words = ((long[]) container).clone();
+            words[low >>> 6] &= ~(1L << low);
+            shrunk = cardinality(words) <= ARRAY_MAX ? toArray(words) : words;
+        }
+
+        if (shrunk == null) {
+            char[] smallerKeys = new char[keys.length - 1];
+            Object[] smallerContainers = new Object[containers.length - 1];
+            System.arraycopy(keys, 0, smallerKeys, 0, index);
+            System.arraycopy(containers, 0, smallerContainers, 0, index);
+            System.arraycopy(keys, index + 1, smallerKeys, index, keys.length - index - 1);
+            System.arraycopy(containers, index + 1, smallerContainers, index, containers.length - index - 1);
+            return shrinkIfSmall(new IntBitmap(smallerKeys, smallerContainers));
+        }
+        Object[] updated = containers.clone();
+        updated[index] = shrunk;
+        return shrinkIfSmall(new IntBitmap(keys, updated));
+    }
+
+    /**
+     * 오름차순으로 원소 순회
+     */
+    public void forEach(IntConsumer action) {
+        if (sparse != null) {
+            for (int value : sparse) {
+                action.accept(value);
+            }
+            return;
+        }
+        for (int c = 0; c < keys.length; c++) {
+            int base = keys[c] << 16;
+            if (containers[c] instanceof char[] array) {
+                for (char low : array) {
+                    action.accept(base | low);
+                }
+            } else {
+                long[] words = (long[]) containers[c];
+                for (int w = 0; w < words.length; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        action.accept(base | (w * 64 + Long.numberOfTrailingZeros(word)));
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+    }
+
+    public int cardinality() {
+        if (sparse != null) {
+            return sparse.length;
+        }
+        int total = 0;
+        for (Object container : containers) {
+            total += container instanceof char[] array ? array.length : cardinality((long[]) container);
+        }
+        return total;
+    }
+
+    /**
+     * 대략적인 힙 사용량 (객체 헤더 16바이트, 참조 4바이트 기준 추정)
+     */
+    public long sizeInBytes() {
+        if (sparse != null) {
+            return 16 + 16 + 4L * sparse.length;
+        }
+        long bytes = 16 + (16 + 2L * keys.length) + (16 + 4L * containers.length);
+        for (Object container : containers) {
+            bytes += container instanceof char[] array ? 16 + 2L * array.length : 16 + 8L * BITMAP_WORDS;
+        }
+        return bytes;
+    }
+
+    private static IntBitmap toChunks(int[] values) {
+        IntBitmap chunked = new IntBitmap(new char[0], new Object[0]);
+        for (int value : values) {
+            chunked = chunked.with(value);
+        }
+        return chunked;
+    }
+
+    // 삭제로 원소가 충분히 줄면 정렬 배열 형태로 되돌림 (경계에서 형태가 반복 전환되지 않도록 절반 기준)
+    private static IntBitmap shrinkIfSmall(IntBitmap chunked) {
+        int cardinality = chunked.cardinality();
+        if (cardinality == 0) {
+            return EMPTY;
+        }
+        if (cardinality > SPARSE_MAX / 2) {
+            return chunked;
+        }
+        int[] values = new int[cardinality];
+        int[] n = {0};
+        chunked.forEach(value -> values[n[0]++] = value);
+        return new IntBitmap(values);
+    }
+
+    private static int cardinality(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static char[] toArray(long[] words) {
+        char[] array = new char[cardinality(words)];
+        int n = 0;
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                array[n++] = (char) (w * 64 + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return array;
+    }
+}
@@ -0,0 +1,24 @@
+package com.musiccheck.domain.music.recommend;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 후보 점수 계산 병렬화 설정
+ * - 후보 수가 threshold 이상일 때만 pool에서 chunkSize 단위로 나눠 계산 (그 미만은 호출 스레드에서 순차 계산)
+ * - pool은 요청 스레드(Tomcat)와 공용 풀을 잠식하지 않도록 별도로 크기를 제한한 ForkJoinPool
+ */
+public record ParallelScoring(ForkJoinPool pool, int threshold, int chunkSize) {
+
+    // 항상 순차 계산
+    public static final ParallelScoring SEQUENTIAL = new ParallelScoring(null, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    public ParallelScoring {
+        if (threshold <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("threshold와 chunkSize는 1 이상이어야 합니다.");
+        }
+    }
+
+    public boolean isParallel(int size) {
+        return pool != null && size >= threshold;
+    }
+}
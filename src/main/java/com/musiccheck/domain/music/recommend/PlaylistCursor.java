@@ -0,0 +1,32 @@
+package com.musiccheck.domain.music.recommend;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 플레이리스트 페이지 커서 (클라이언트에는 불투명한 문자열로 전달)
+ * sessionId: 순위 목록을 보관한 세션, offset: 다음 페이지 시작 위치
+ */
+public record PlaylistCursor(String sessionId, int offset) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        return ENCODER.encodeToString((sessionId + ":" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PlaylistCursor decode(String cursor) {
+        try {
+            String decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(':');
+            int offset = Integer.parseInt(decoded.substring(separator + 1));
+            if (separator <= 0 || offset < 0) {
+                throw new IllegalArgumentException("잘못된 cursor입니다.");
+            }
+            return new PlaylistCursor(decoded.substring(0, separator), offset);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘못된 cursor입니다.");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.musiccheck.domain.music.recommend;
+
+/**
+ * 책별 추천 후보 곡 (사용자와 무관한 부분, CandidateColumns로 묶어 캐시)
+ * similarityScore: negative inner product, 작을수록 유사
+ */
+public record RecommendationCandidate(
+        String trackId,
+        String trackName,
+        String artistName,
+        String imageUrl,
+        String externalUrl,
+        long likeCount,
+        double similarityScore
+) {}
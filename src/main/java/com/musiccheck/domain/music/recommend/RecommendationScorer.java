@@ -0,0 +1,34 @@
+package com.musiccheck.domain.music.recommend;
+
+/**
+ * 추천 최종 점수 계산 (유사도 0.7, 좋아요 0.3 가중 합)
+ * - 유사도: 음의 내적이므로 작을수록 유사 → min/max 정규화 후 역변환
+ * - 좋아요: 최대 좋아요 개수로 정규화
+ */
+public final class RecommendationScorer {
+
+    // 가중치 설정: 유사도 0.7, 좋아요 0.3
+    public static final double SIMILARITY_WEIGHT = 0.7;
+    public static final double LIKE_WEIGHT = 0.3;
+
+    // 플레이리스트 곡 수
+    public static final int PLAYLIST_SIZE = 30;
+
+    private RecommendationScorer() {}
+
+    public static double score(double similarityScore, long likeCount,
+                               double minSimilarity, double maxSimilarity, long maxLikeCount) {
+        // 유사도 점수 정규화 (0-1 범위, 작을수록 유사하므로 역변환)
+        // 범위가 추정값(취향 보정한 카탈로그 범위)이면 벗어날 수 있으므로 0-1로 제한
+        double normalizedSimilarity = maxSimilarity > minSimilarity
+                ? Math.min(1.0, Math.max(0.0, 1.0 - ((similarityScore - minSimilarity) / (maxSimilarity - minSimilarity))))
+                : 1.0;
+
+        // 좋아요 개수 정규화 (0-1 범위)
+        double normalizedLike = maxLikeCount > 0
+                ? (double) likeCount / maxLikeCount
+                : 0.0;
+
+        return (normalizedSimilarity * SIMILARITY_WEIGHT) + (normalizedLike * LIKE_WEIGHT);
+    }
+}
@@ -0,0 +1,65 @@
+package com.musiccheck.domain.music.recommend;
+
+/**
+ * 사용자 취향 벡터를 추천 질의 벡터에 섞는 계산
+ *
+ * 질의 벡터 q' = book + weight * |book| * unit(taste)
+ * 곡 벡터 t에 대해 -q'·t = (-book·t) - weight * |book| * unit(taste)·t 이므로
+ * - SQL 경로: 섞은 질의 벡터로 직접 스캔 (blend)
+ * - 후보 캐시 경로: 책 기준 유사도에 곡별 보정값만 더함 (offsets, 후보 집합은 책 기준 그대로)
+ */
+public final class TasteBlend {
+
+    private static final double MIN_NORM = 1e-6;
+
+    private TasteBlend() {}
+
+    /**
+     * 단위 길이로 정규화한 사본 (영벡터에 가까우면 null)
+     */
+    public static float[] unit(float[] vector) {
+        double norm = norm(vector);
+        if (norm < MIN_NORM) {
+            return null;
+        }
+        float[] unit = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            unit[i] = (float) (vector[i] / norm);
+        }
+        return unit;
+    }
+
+    public static double norm(float[] vector) {
+        double sum = 0;
+        for (float v : vector) {
+            sum += (double) v * v;
+        }
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * 취향을 섞은 질의 벡터
+     * @param tasteUnit 단위 길이 취향 벡터
+     */
+    public static float[] blend(float[] book, float[] tasteUnit, double weight) {
+        double scale = weight * norm(book);
+        float[] query = new float[book.length];
+        for (int i = 0; i < book.length; i++) {
+            query[i] = (float) (book[i] + scale * tasteUnit[i]);
+        }
+        return query;
+    }
+
+    /**
+     * 책 기준 유사도(음의 내적)에 더할 곡별 보정값
+     * @param tasteDots 단위 취향 벡터와 각 곡 벡터의 내적 (NaN이면 보정하지 않음)
+     */
+    public static double[] offsets(float[] book, float[] tasteDots, double weight) {
+        double scale = weight * norm(book);
+        double[] offsets = new double[tasteDots.length];
+        for (int i = 0; i < tasteDots.length; i++) {
+            offsets[i] = Float.isNaN(tasteDots[i]) ? 0.0 : -scale * tasteDots[i];
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,138 @@
+package com.musiccheck.domain.music.recommend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 점수 상위 K개만 유지하는 bounded min-heap
+ * - 메모리/정렬 비용이 전체 후보 수가 아닌 K에 비례
+ * - 점수가 같으면 먼저 들어온 항목이 우선 (기존 stable sort와 동일한 순서)
+ */
+public class TopK<T> {
+
+    private final int capacity;
+    private final Object[] items;
+    private final double[] scores;
+    private final long[] sequences;
+    private int size = 0;
+    private long nextSequence = 0;
+
+    public TopK(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity는 1 이상이어야 합니다.");
+        }
+        this.capacity = capacity;
+        this.items = new Object[capacity];
+        this.scores = new double[capacity];
+        this.sequences = new long[capacity];
+    }
+
+    /**
+     * 이 점수가 힙에 들어갈 수 있는지 (항목 생성 전에 확인해 불필요한 할당 방지)
+     * 점수가 같으면 나중 항목이 밀리므로 가득 찬 경우 최저 점수보다 커야 함
+     */
+    public boolean accepts(double score) {
+        return size < capacity || score > scores[0];
+    }
+
+    /**
+     * 항목 추가 (순서 번호는 자동 증가)
+     */
+    public void offer(T item, double score) {
+        offer(item, score, nextSequence++);
+    }
+
+    /**
+     * 순서 번호를 직접 지정해 추가 (병렬 처리 결과 병합 시 원래 순서 유지용)
+     */
+    public void offer(T item, double score, long sequence) {
+        if (size < capacity) {
+            items[size] = item;
+            scores[size] = score;
+            sequences[size] = sequence;
+            siftUp(size++);
+            return;
+        }
+        if (!isBetter(score, sequence, scores[0], sequences[0])) {
+            return;
+        }
+        items[0] = item;
+        scores[0] = score;
+        sequences[0] = sequence;
+        siftDown(0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 점수 내림차순(동점이면 먼저 들어온 순) 목록
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> toSortedList() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> isBetter(scores[a], sequences[a], scores[b], sequences[b]) ? -1 : 1);
+
+        List<T> sorted = new ArrayList<>(size);
+        for (Integer i : order) {
+            sorted.add((T) items[i]);
+        }
+        return sorted;
+    }
+
+    // a가 b보다 우선순위가 높은지 (점수 높은 순, 같으면 순서 번호 작은 순)
+    private static boolean isBetter(double scoreA, long sequenceA, double scoreB, long sequenceB) {
+        if (scoreA != scoreB) {
+            return scoreA > scoreB;
+        }
+        return sequenceA < sequenceB;
+    }
+
+    // 힙 루트에는 가장 우선순위가 낮은 항목이 위치
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!isBetter(scores[parent], sequences[parent], scores[index], sequences[index])) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = index * 2 + 1;
+            if (left >= size) {
+                break;
+            }
+            int right = left + 1;
+            int worst = left;
+            if (right < size && isBetter(scores[left], sequences[left], scores[right], sequences[right])) {
+                worst = right;
+            }
+            if (!isBetter(scores[index], sequences[index], scores[worst], sequences[worst])) {
+                break;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        Object item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+        long sequence = sequences[a];
+        sequences[a] = sequences[b];
+        sequences[b] = sequence;
+    }
+}
@@ -0,0 +1,77 @@
+package com.musiccheck.domain.music.recommend;
+
+import java.util.Arrays;
+
+/**
+ * 사용자 한 명의 책별 싫어요 곡 (불변)
+ * - 책 번호(isbn 사전 ID) 오름차순 배열과 책마다 곡 번호(track_id 사전 ID) IntBitmap을 나란히 보관
+ * - 추천 점수 계산에서는 forBook으로 얻은 비트맵에 contains(비트 검사)만 수행
+ */
+public final class UserDislikes {
+
+    public static final UserDislikes EMPTY = new UserDislikes(new int[0], new IntBitmap[0]);
+
+    private final int[] bookIds;
+    private final IntBitmap[] tracks;
+
+    private UserDislikes(int[] bookIds, IntBitmap[] tracks) {
+        this.bookIds = bookIds;
+        this.tracks = tracks;
+    }
+
+    public IntBitmap forBook(int bookId) {
+        int index = Arrays.binarySearch(bookIds, bookId);
+        return index >= 0 ? tracks[index] : IntBitmap.EMPTY;
+    }
+
+    public UserDislikes with(int bookId, int trackId) {
+        return replace(bookId, forBook(bookId).with(trackId));
+    }
+
+    public UserDislikes without(int bookId, int trackId) {
+        return replace(bookId, forBook(bookId).without(trackId));
+    }
+
+    // 대략적인 힙 사용량 (캐시 가중치/메모리 지표용)
+    public long sizeInBytes() {
+        long bytes = 16 + (16 + 4L * bookIds.length) + (16 + 4L * tracks.length);
+        for (IntBitmap bitmap : tracks) {
+            bytes += bitmap.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    private UserDislikes replace(int bookId, IntBitmap bitmap) {
+        int index = Arrays.binarySearch(bookIds, bookId);
+        if (index >= 0) {
+            if (bitmap == tracks[index]) {
+                return this;
+            }
+            if (bitmap.isEmpty()) {
+                int[] smallerIds = new int[bookIds.length - 1];
+                IntBitmap[] smallerTracks = new IntBitmap[tracks.length - 1];
+                System.arraycopy(bookIds, 0, smallerIds, 0, index);
+                System.arraycopy(tracks, 0, smallerTracks, 0, index);
+                System.arraycopy(bookIds, index + 1, smallerIds, index, bookIds.length - index - 1);
+                System.arraycopy(tracks, index + 1, smallerTracks, index, tracks.length - index - 1);
+                return smallerIds.length > 0 ? new UserDislikes(smallerIds, smallerTracks) : EMPTY;
+            }
+            IntBitmap[] updated = tracks.clone();
+            updated[index] = bitmap;
+            return new UserDislikes(bookIds, updated);
+        }
+        if (bitmap.isEmpty()) {
+            return this;
+        }
+        int insertAt = -index - 1;
+        int[] grownIds = new int[bookIds.length + 1];
+        IntBitmap[] grownTracks = new IntBitmap[tracks.length + 1];
+        System.arraycopy(bookIds, 0, grownIds, 0, insertAt);
+        System.arraycopy(tracks, 0, grownTracks, 0, insertAt);
+        grownIds[insertAt] = bookId;
+        grownTracks[insertAt] = bitmap;
+        System.arraycopy(bookIds, insertAt, grownIds, insertAt + 1, bookIds.length - insertAt);
+        System.arraycopy(tracks, insertAt, grownTracks, insertAt + 1, tracks.length - insertAt);
+        return new UserDislikes(grownIds, grownTracks);
+    }
+}
@@ -0,0 +1,278 @@
+package com.musiccheck.domain.music.repository;
+
+import com.musiccheck.domain.music.entity.BookMusicRecommendation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookMusicRecommendationRepository extends JpaRepository<BookMusicRecommendation, Long> {
+
+    /**
+     * 사전 계산된 상위 N곡 + 좋아요 개수 조회 (사용자 무관, 유사도 오름차순)
+     * 각 행에 카탈로그 최대 유사도 포함 (곡 추가/삭제 시 갱신되는 값)
+     */
+    @Query(value = """
+        SELECT
+            m.track_id,
+            m.track_name,
+            m.artist_name,
+            m.image_url,
+            m.external_url,
+            COALESCE(lc.like_count, 0) as like_count,
+            r.similarity_score,
+            st.max_similarity as catalog_max_similarity
+        FROM book_music_recommendation r
+        JOIN music m ON m.track_id = r.track_id
+        LEFT JOIN music_like_count lc ON lc.book_id = :isbn AND lc.music_id = m.track_id
+        LEFT JOIN book_recommendation_state st ON st.isbn = r.isbn
+        WHERE r.isbn = :isbn
+        ORDER BY r.similarity_score
+        """,
+            nativeQuery = true)
+    List<Object[]> findCandidatesByIsbn(@Param("isbn") String isbn);
+
+    /**
+     * 계산이 필요한 ISBN (아직 계산되지 않았거나 책 임베딩이 바뀐 경우)
+     */
+    @Query(value = """
+        SELECT b.isbn
+        FROM book b
+        LEFT JOIN book_recommendation_state st ON st.isbn = b.isbn
+        WHERE b.embedding_id IS NOT NULL
+          AND (st.isbn IS NULL OR st.book_embedding_id IS DISTINCT FROM b.embedding_id)
+        ORDER BY b.isbn
+        LIMIT :limit
+        """,
+            nativeQuery = true)
+    List<String> findStaleIsbns(@Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM book_recommendation_state", nativeQuery = true)
+    long countMaterializedIsbns();
+
+    @Modifying
+    @Query(value = "DELETE FROM book_music_recommendation WHERE isbn IN (:isbns)", nativeQuery = true)
+    void deleteByIsbns(@Param("isbns") Collection<String> isbns);
+
+    /**
+     * ISBN별 유사도 상위 N곡 계산 후 저장
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO book_music_recommendation (isbn, track_id, similarity_score)
+        SELECT b.isbn, top.track_id, top.similarity_score
+        FROM book b
+        JOIN embedding be ON be.embedding_id = b.embedding_id
+        CROSS JOIN LATERAL (
+            SELECT m.track_id, em.vector <#> be.vector as similarity_score
+            FROM music m
+            JOIN embedding em ON em.embedding_id = m.embedding_id
+            ORDER BY similarity_score
+            LIMIT :topN
+        ) top
+        WHERE b.isbn IN (:isbns)
+        """,
+            nativeQuery = true)
+    int insertTopTracks(@Param("isbns") Collection<String> isbns, @Param("topN") int topN);
+
+    /**
+     * 계산 상태 저장 (책 임베딩 + 카탈로그 최대 유사도와 그 곡, 최대 유사도는 정규화 범위를 SQL 경로와 맞추는 데 사용)
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO book_recommendation_state (isbn, book_embedding_id, max_similarity, max_similarity_track_id, refreshed_at)
+        SELECT b.isbn, b.embedding_id, f.similarity_score, f.track_id, now()
+        FROM book b
+        LEFT JOIN embedding be ON be.embedding_id = b.embedding_id
+        LEFT JOIN LATERAL (
+            SELECT m.track_id, em.vector <#> be.vector as similarity_score
+            FROM music m
+            JOIN embedding em ON em.embedding_id = m.embedding_id
+            ORDER BY similarity_score DESC
+            LIMIT 1
+        ) f ON true
+        WHERE b.isbn IN (:isbns)
+        ON CONFLICT (isbn) DO UPDATE
+            SET book_embedding_id = EXCLUDED.book_embedding_id,
+                max_similarity = EXCLUDED.max_similarity,
+                max_similarity_track_id = EXCLUDED.max_similarity_track_id,
+                refreshed_at = EXCLUDED.refreshed_at
+        """,
+            nativeQuery = true)
+    void upsertStates(@Param("isbns") Collection<String> isbns);
+
+    /**
+     * 최대 유사도를 정한 곡이 삭제/변경된 ISBN (최대 유사도가 낮아졌을 수 있어 다시 계산)
+     */
+    @Query(value = "SELECT st.isbn FROM book_recommendation_state st WHERE st.max_similarity_track_id IN (:trackIds)",
+            nativeQuery = true)
+    List<String> findIsbnsByMaxSimilarityTracks(@Param("trackIds") Collection<String> trackIds);
+
+    /**
+     * ISBN별 카탈로그 최대 유사도 다시 계산 (상위 N곡은 그대로, ISBN마다 음악 전체 스캔)
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE book_recommendation_state st
+        SET max_similarity = f.similarity_score,
+            max_similarity_track_id = f.track_id
+        FROM book b
+        JOIN embedding be ON be.embedding_id = b.embedding_id
+        CROSS JOIN LATERAL (
+            SELECT m.track_id, em.vector <#> be.vector as similarity_score
+            FROM music m
+            JOIN embedding em ON em.embedding_id = m.embedding_id
+            ORDER BY similarity_score DESC
+            LIMIT 1
+        ) f
+        WHERE b.isbn = st.isbn
+          AND st.isbn IN (:isbns)
+        """,
+            nativeQuery = true)
+    int recomputeMaxSimilarity(@Param("isbns") Collection<String> isbns);
+
+    /**
+     * 추가/변경된 곡이 기존 카탈로그 최대 유사도보다 멀면 갱신
+     * (낮아지는 경우는 recomputeMaxSimilarity로 다시 계산)
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE book_recommendation_state st
+        SET max_similarity = c.similarity_score,
+            max_similarity_track_id = c.track_id
+        FROM (
+            SELECT DISTINCT ON (s.isbn) s.isbn, m.track_id, em.vector <#> be.vector as similarity_score
+            FROM book_recommendation_state s
+            JOIN book b ON b.isbn = s.isbn
+            JOIN embedding be ON be.embedding_id = b.embedding_id
+            JOIN music m ON m.track_id IN (:trackIds)
+            JOIN embedding em ON em.embedding_id = m.embedding_id
+            ORDER BY s.isbn, similarity_score DESC
+        ) c
+        WHERE c.isbn = st.isbn
+          AND (st.max_similarity IS NULL OR c.similarity_score > st.max_similarity)
+        """,
+            nativeQuery = true)
+    int raiseMaxSimilarity(@Param("trackIds") Collection<String> trackIds);
+
+    /**
+     * 임베딩이 없어진 책의 계산 결과 정리
+     */
+    @Modifying
+    @Query(value = """
+        DELETE FROM book_music_recommendation r
+        WHERE NOT EXISTS (
+            SELECT 1 FROM book b WHERE b.isbn = r.isbn AND b.embedding_id IS NOT NULL
+        )
+        """,
+            nativeQuery = true)
+    int deleteOrphanedRecommendations();
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM book_recommendation_state st
+        WHERE NOT EXISTS (
+            SELECT 1 FROM book b WHERE b.isbn = st.isbn AND b.embedding_id IS NOT NULL
+        )
+        """,
+            nativeQuery = true)
+    int deleteOrphanedStates();
+
+    /**
+     * 마지막 반영 이후 추가되었거나 임베딩이 바뀐 곡
+     */
+    @Query(value = """
+        SELECT m.track_id
+        FROM music m
+        LEFT JOIN recommendation_music_state s ON s.track_id = m.track_id
+        WHERE m.embedding_id IS NOT NULL
+          AND (s.track_id IS NULL OR s.embedding_id <> m.embedding_id)
+        """,
+            nativeQuery = true)
+    List<String> findChangedTrackIds();
+
+    /**
+     * 마지막 반영 이후 삭제되었거나 임베딩이 빠진 곡
+     */
+    @Query(value = """
+        SELECT s.track_id
+        FROM recommendation_music_state s
+        LEFT JOIN music m ON m.track_id = s.track_id
+        WHERE m.track_id IS NULL OR m.embedding_id IS NULL
+        """,
+            nativeQuery = true)
+    List<String> findRemovedTrackIds();
+
+    @Query(value = "SELECT DISTINCT r.isbn FROM book_music_recommendation r WHERE r.track_id IN (:trackIds)",
+            nativeQuery = true)
+    List<String> findIsbnsContainingTracks(@Param("trackIds") Collection<String> trackIds);
+
+    /**
+     * 새 곡이 기존 상위 N곡보다 유사한 ISBN에만 추가 (이후 trimToTopN으로 N개 유지)
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO book_music_recommendation (isbn, track_id, similarity_score)
+        SELECT c.isbn, c.track_id, c.similarity_score
+        FROM (
+            SELECT st.isbn, m.track_id, em.vector <#> be.vector as similarity_score
+            FROM book_recommendation_state st
+            JOIN book b ON b.isbn = st.isbn
+            JOIN embedding be ON be.embedding_id = b.embedding_id
+            JOIN music m ON m.track_id IN (:trackIds)
+            JOIN embedding em ON em.embedding_id = m.embedding_id
+        ) c
+        WHERE NOT EXISTS (
+            SELECT 1 FROM book_music_recommendation r WHERE r.isbn = c.isbn AND r.track_id = c.track_id
+        )
+          AND (
+            (SELECT COUNT(*) FROM book_music_recommendation r WHERE r.isbn = c.isbn) < :topN
+            OR c.similarity_score < (SELECT MAX(r.similarity_score) FROM book_music_recommendation r WHERE r.isbn = c.isbn)
+          )
+        """,
+            nativeQuery = true)
+    int mergeTracks(@Param("trackIds") Collection<String> trackIds, @Param("topN") int topN);
+
+    /**
+     * mergeTracks로 곡이 추가된 ISBN(trackIds를 포함한 ISBN)만 유사도 순으로 N개까지 자르기
+     * 대상 ISBN은 track_id 인덱스로 찾으므로 테이블 전체를 GROUP BY하지 않음
+     */
+    @Modifying
+    @Query(value = """
+        DELETE FROM book_music_recommendation
+        WHERE recommendation_id IN (
+            SELECT ranked.recommendation_id
+            FROM (
+                SELECT r.recommendation_id,
+                       ROW_NUMBER() OVER (PARTITION BY r.isbn ORDER BY r.similarity_score, r.track_id) as rn
+                FROM book_music_recommendation r
+                WHERE r.isbn IN (
+                    SELECT t.isbn FROM book_music_recommendation t WHERE t.track_id IN (:trackIds)
+                )
+            ) ranked
+            WHERE ranked.rn > :topN
+        )
+        """,
+            nativeQuery = true)
+    int trimToTopN(@Param("trackIds") Collection<String> trackIds, @Param("topN") int topN);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO recommendation_music_state (track_id, embedding_id)
+        SELECT m.track_id, m.embedding_id
+        FROM music m
+        WHERE m.track_id IN (:trackIds) AND m.embedding_id IS NOT NULL
+        ON CONFLICT (track_id) DO UPDATE SET embedding_id = EXCLUDED.embedding_id
+        """,
+            nativeQuery = true)
+    void upsertMusicStates(@Param("trackIds") Collection<String> trackIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM recommendation_music_state WHERE track_id IN (:trackIds)", nativeQuery = true)
+    void deleteMusicStates(@Param("trackIds") Collection<String> trackIds);
+}
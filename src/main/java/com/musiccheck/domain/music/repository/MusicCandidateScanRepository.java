@@ -0,0 +1,67 @@
+package com.musiccheck.domain.music.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+
+/**
+ * 책 기준 전체 음악 추천 후보 스캔 (SQL 추천 경로)
+ * - JPA Stream<Object[]> 대신 ResultSet을 handler에 그대로 넘겨 행마다 Object[]/boxing이 생기지 않게 함
+ * - 호출 측은 행을 후보 열(CandidateColumns)에 모아 정규화 범위와 점수를 계산 (점수 계산 풀에서 병렬 처리)
+ * - 호출 측 트랜잭션 안에서 fetch size 단위로 읽음 (PostgreSQL은 autocommit off일 때만 커서 사용)
+ *
+ * 컬럼: 1 track_id, 2 track_name, 3 artist_name, 4 image_url, 5 external_url,
+ *       6 like_count, 7 similarity_score (유사도 오름차순 = 후보 순서)
+ */
+@Repository
+@RequiredArgsConstructor
+public class MusicCandidateScanRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    // 싫어요 곡은 DB에서 제외, 정규화용 min/max는 호출 측이 후보 열에서 계산
+    private static final String SCAN_SQL = """
+            SELECT
+                m.track_id,
+                m.track_name,
+                m.artist_name,
+                m.image_url,
+                m.external_url,
+                COALESCE(lc.like_count, 0) as like_count,
+                em.vector <#> CAST(? AS vector) as similarity_score
+            FROM music m
+            JOIN embedding em ON em.embedding_id = m.embedding_id
+            LEFT JOIN music_like_count lc ON lc.book_id = ? AND lc.music_id = m.track_id
+            WHERE NOT EXISTS (
+                SELECT 1
+                FROM user_feedback d
+                WHERE d.user_id = ?
+                  AND d.book_id = ?
+                  AND d.music_id = m.track_id
+                  AND d.feedback = 'dislike'
+            )
+            ORDER BY similarity_score
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param bookVector 책 벡터 (pgvector 텍스트 표현)
+     * @param handler 행마다 호출 (현재 행의 ResultSet만 읽을 것)
+     */
+    public void scanByIsbn(String isbn, String bookVector, Long userId, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SCAN_SQL);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setString(1, bookVector);
+            statement.setString(2, isbn);
+            statement.setObject(3, userId, Types.BIGINT);
+            statement.setString(4, isbn);
+            return statement;
+        }, handler);
+    }
+}
@@ -5,33 +5,83 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface MusicRepository extends JpaRepository<MusicEntity, String> {
 
+    /**
+     * 임베딩이 연결된 음악의 track_id, embedding_id 목록 (벡터 제외, 인덱스 변경 감지용)
+     */
+    @Query(value = "SELECT m.track_id, m.embedding_id FROM music m WHERE m.embedding_id IS NOT NULL",
+            nativeQuery = true)
+    List<Object[]> findAllEmbeddingRefs();
+
+    /**
+     * embedding_id 목록의 벡터 조회 (스냅샷에 없는 임베딩만 배치로 읽음)
+     */
+    @Query(value = """
+        SELECT em.embedding_id, CAST(em.vector AS text)
+        FROM embedding em
+        WHERE em.embedding_id IN (:embeddingIds)
+        """,
+            nativeQuery = true)
+    List<Object[]> findEmbeddingVectorsByIds(@Param("embeddingIds") Collection<Integer> embeddingIds);
+
+    /**
+     * 곡 하나의 임베딩 벡터 (인덱스를 쓸 수 없을 때 취향 벡터 갱신용)
+     */
     @Query(value = """
-        SELECT 
+        SELECT CAST(em.vector AS text)
+        FROM music m
+        JOIN embedding em ON em.embedding_id = m.embedding_id
+        WHERE m.track_id = :trackId
+        """,
+            nativeQuery = true)
+    Optional<String> findEmbeddingVectorByTrackId(@Param("trackId") String trackId);
+
+    /**
+     * 후보 곡 정보 + 해당 책 기준 좋아요 개수 조회 (인덱스 검색 결과 보강용)
+     */
+    @Query(value = """
+        SELECT
             m.track_id,
             m.track_name,
             m.artist_name,
             m.image_url,
             m.external_url,
-            COALESCE(COUNT(CASE WHEN uf.feedback = 'like' THEN 1 END), 0) as like_count,
-            em.vector <#> (
-                SELECT vector
-                FROM embedding
-                WHERE embedding_id = (
-                    SELECT embedding_id
-                    FROM book
-                    WHERE isbn = :isbn
-                )
-            ) as similarity_score
+            COALESCE(lc.like_count, 0) as like_count
         FROM music m
+        LEFT JOIN music_like_count lc ON lc.book_id = :isbn AND lc.music_id = m.track_id
+        WHERE m.track_id IN (:trackIds)
+        """,
+            nativeQuery = true)
+    List<Object[]> findCandidatesWithLikeCount(@Param("isbn") String isbn, @Param("trackIds") Collection<String> trackIds);
+
+    /**
+     * 해당 책 기준 좋아요 상위 곡 (곡 정보 + 좋아요 개수 + 책 기준 유사도, 좋아요 내림차순)
+     * 유사도 상위 후보 밖에서도 좋아요로 상위에 들 수 있는 곡을 후보에 더하는 데 사용
+     */
+    @Query(value = """
+        SELECT
+            m.track_id,
+            m.track_name,
+            m.artist_name,
+            m.image_url,
+            m.external_url,
+            lc.like_count,
+            em.vector <#> be.vector as similarity_score
+        FROM music_like_count lc
+        JOIN music m ON m.track_id = lc.music_id
         JOIN embedding em ON em.embedding_id = m.embedding_id
-        LEFT JOIN user_feedback uf ON uf.music_id = m.track_id AND uf.book_id = :isbn
-        GROUP BY m.track_id, m.track_name, m.artist_name, m.image_url, m.external_url, em.vector
-        ORDER BY similarity_score
+        JOIN book b ON b.isbn = lc.book_id
+        JOIN embedding be ON be.embedding_id = b.embedding_id
+        WHERE lc.book_id = :isbn
+          AND lc.like_count > 0
+        ORDER BY lc.like_count DESC, m.track_id
+        LIMIT :limit
         """,
             nativeQuery = true)
-    List<Object[]> recommendByIsbn(@Param("isbn") String isbn, @Param("userId") Long userId);
-}
\ No newline at end of file
+    List<Object[]> findTopLikedCandidates(@Param("isbn") String isbn, @Param("limit") int limit);
+}
@@ -1,7 +1,11 @@
 package com.musiccheck.domain.music.repository;
 
+import com.musiccheck.domain.music.dto.DislikedSongDto;
 import com.musiccheck.domain.music.entity.UserFeedback;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,8 +14,25 @@ import java.util.Optional;
 @Repository
 public interface UserFeedbackRepository extends JpaRepository<UserFeedback, Long> {
     Optional<UserFeedback> findByUserIdAndBookIdAndMusicId(Long userId, String bookId, String musicId);
+    List<UserFeedback> findByUserId(Long userId);
     List<UserFeedback> findByUserIdAndFeedback(Long userId, String feedback);
     List<UserFeedback> findByUserIdAndBookIdAndFeedback(Long userId, String bookId, String feedback);
     void deleteByUserId(Long userId);
+
+    /**
+     * 싫어요 목록 한 페이지 (feedback_id 오름차순, afterFeedbackId 다음부터, Pageable.unpaged()면 전체)
+     * - 책/음악 정보를 조인해 한 번의 쿼리로 DTO 생성 (음악 정보가 없는 피드백은 제외, 책 정보는 없어도 포함)
+     * - feedback_id 기준 keyset 페이지네이션이라 뒤 페이지도 앞 행을 건너뛰지 않음
+     */
+    @Query("SELECT new com.musiccheck.domain.music.dto.DislikedSongDto(" +
+           "f.feedbackId, f.bookId, b.title, b.image, m.trackId, m.trackName, m.artistName, m.imageUrl) " +
+           "FROM UserFeedback f " +
+           "JOIN MusicEntity m ON m.trackId = f.musicId " +
+           "LEFT JOIN BookEntity b ON b.isbn = f.bookId " +
+           "WHERE f.userId = :userId AND f.feedback = 'dislike' AND f.feedbackId > :afterFeedbackId " +
+           "ORDER BY f.feedbackId")
+    List<DislikedSongDto> findDislikedSongs(@Param("userId") Long userId,
+                                            @Param("afterFeedbackId") long afterFeedbackId,
+                                            Pageable pageable);
 }
 
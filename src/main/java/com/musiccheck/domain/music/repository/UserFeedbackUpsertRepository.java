@@ -0,0 +1,98 @@
+package com.musiccheck.domain.music.repository;
+
+import com.musiccheck.domain.music.dto.FeedbackSaveResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * user_feedback 단일 문장 upsert
+ * - SELECT 후 save 대신 INSERT ... ON CONFLICT 한 번으로 처리 (왕복 1회, 동시 요청도 unique 제약 위반 없음)
+ * - 값이 같으면 갱신하지 않아 행이 반환되지 않음 → UNCHANGED
+ * - 반환된 행의 xmax = 0이면 새로 삽입된 행 → INSERTED, 아니면 UPDATED
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserFeedbackUpsertRepository {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO user_feedback (user_id, book_id, music_id, feedback, created_at, updated_at)
+            VALUES (?, ?, ?, ?, now(), now())
+            ON CONFLICT (user_id, book_id, music_id) DO UPDATE
+                SET feedback = EXCLUDED.feedback,
+                    updated_at = EXCLUDED.updated_at
+                WHERE user_feedback.feedback IS DISTINCT FROM EXCLUDED.feedback
+            RETURNING (xmax = 0) AS inserted
+            """;
+
+    // 배열 파라미터를 unnest해 여러 행을 한 문장으로 upsert (변경된 행만 반환)
+    private static final String UPSERT_ALL_SQL = """
+            INSERT INTO user_feedback (user_id, book_id, music_id, feedback, created_at, updated_at)
+            SELECT t.user_id, t.book_id, t.music_id, t.feedback, now(), now()
+            FROM unnest(?::bigint[], ?::text[], ?::text[], ?::text[]) AS t(user_id, book_id, music_id, feedback)
+            ON CONFLICT (user_id, book_id, music_id) DO UPDATE
+                SET feedback = EXCLUDED.feedback,
+                    updated_at = EXCLUDED.updated_at
+                WHERE user_feedback.feedback IS DISTINCT FROM EXCLUDED.feedback
+            RETURNING user_id, book_id, music_id, (xmax = 0) AS inserted
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FeedbackSaveResult upsert(Long userId, String bookId, String musicId, String feedback) {
+        List<Boolean> rows = jdbcTemplate.queryForList(UPSERT_SQL, Boolean.class, userId, bookId, musicId, feedback);
+        if (rows.isEmpty()) {
+            return FeedbackSaveResult.UNCHANGED;
+        }
+        return rows.get(0) ? FeedbackSaveResult.INSERTED : FeedbackSaveResult.UPDATED;
+    }
+
+    /**
+     * 여러 피드백을 한 번의 왕복으로 upsert
+     * 한 문장 안에서 같은 행을 두 번 갱신할 수 없으므로 (user, book, music)은 중복되지 않아야 함
+     * @return 요청한 피드백별 결과 (반환되지 않은 행은 UNCHANGED)
+     */
+    public Map<FeedbackWrite, FeedbackSaveResult> upsertAll(List<FeedbackWrite> writes) {
+        Map<FeedbackWrite, FeedbackSaveResult> results = new HashMap<>();
+        if (writes.isEmpty()) {
+            return results;
+        }
+        Map<FeedbackKey, FeedbackWrite> writesByKey = new HashMap<>();
+        Long[] userIds = new Long[writes.size()];
+        String[] bookIds = new String[writes.size()];
+        String[] musicIds = new String[writes.size()];
+        String[] feedbacks = new String[writes.size()];
+        for (int i = 0; i < writes.size(); i++) {
+            FeedbackWrite write = writes.get(i);
+            userIds[i] = write.userId();
+            bookIds[i] = write.bookId();
+            musicIds[i] = write.musicId();
+            feedbacks[i] = write.feedback();
+            writesByKey.put(new FeedbackKey(write.userId(), write.bookId(), write.musicId()), write);
+            results.put(write, FeedbackSaveResult.UNCHANGED);
+        }
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(UPSERT_ALL_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", userIds));
+            statement.setArray(2, connection.createArrayOf("text", bookIds));
+            statement.setArray(3, connection.createArrayOf("text", musicIds));
+            statement.setArray(4, connection.createArrayOf("text", feedbacks));
+            return statement;
+        }, rs -> {
+            FeedbackWrite write = writesByKey.get(new FeedbackKey(rs.getLong(1), rs.getString(2), rs.getString(3)));
+            results.put(write, rs.getBoolean(4) ? FeedbackSaveResult.INSERTED : FeedbackSaveResult.UPDATED);
+        });
+        return results;
+    }
+
+    // 저장할 피드백 한 건
+    public record FeedbackWrite(Long userId, String bookId, String musicId, String feedback) {}
+
+    private record FeedbackKey(Long userId, String bookId, String musicId) {}
+}
@@ -0,0 +1,123 @@
+package com.musiccheck.domain.music.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 사용자 취향 벡터 저장소 (user_taste_vector, 사용자당 한 행)
+ * - 증분은 한 문장의 upsert로 더하므로 같은 사용자의 동시 갱신은 행 잠금으로 직렬화되어 누락되지 않음
+ * - 저장된 차원과 증분 차원이 다르면(임베딩 모델 변경) 증분으로 초기화
+ * - 행이 없는 사용자는 피드백 이력의 좋아요/싫어요별 곡 임베딩 합으로 생성 (insertIfAbsent)
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserTasteVectorRepository {
+
+    private static final String ADD_SQL = """
+            INSERT INTO user_taste_vector (user_id, taste, updated_at)
+            VALUES (?, CAST(? AS vector), now())
+            ON CONFLICT (user_id) DO UPDATE
+                SET taste = CASE
+                        WHEN vector_dims(user_taste_vector.taste) = vector_dims(EXCLUDED.taste)
+                            THEN user_taste_vector.taste + EXCLUDED.taste
+                        ELSE EXCLUDED.taste
+                    END,
+                    updated_at = now()
+            """;
+
+    // 행이 있을 때만 증분을 더함 (갱신 건수로 행 존재 여부도 함께 확인)
+    private static final String ADD_IF_PRESENT_SQL = """
+            UPDATE user_taste_vector t
+            SET taste = CASE
+                    WHEN vector_dims(t.taste) = vector_dims(d.delta) THEN t.taste + d.delta
+                    ELSE d.delta
+                END,
+                updated_at = now()
+            FROM (SELECT CAST(? AS vector) AS delta) d
+            WHERE t.user_id = ?
+            """;
+
+    private static final String INSERT_IF_ABSENT_SQL = """
+            INSERT INTO user_taste_vector (user_id, taste, updated_at)
+            VALUES (?, CAST(? AS vector), now())
+            ON CONFLICT (user_id) DO NOTHING
+            """;
+
+    // 피드백 값별 곡 임베딩 합 (임베딩이 없는 곡은 제외)
+    private static final String FEEDBACK_SUMS_SQL = """
+            SELECT uf.feedback, CAST(SUM(em.vector) AS text)
+            FROM user_feedback uf
+            JOIN music m ON m.track_id = uf.music_id
+            JOIN embedding em ON em.embedding_id = m.embedding_id
+            WHERE uf.user_id = ?
+            GROUP BY uf.feedback
+            """;
+
+    private static final String USERS_WITHOUT_TASTE_SQL = """
+            SELECT DISTINCT uf.user_id
+            FROM user_feedback uf
+            WHERE uf.user_id > ?
+              AND NOT EXISTS (SELECT 1 FROM user_taste_vector t WHERE t.user_id = uf.user_id)
+            ORDER BY uf.user_id
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 취향 벡터에 증분을 더함 (행이 없으면 증분으로 생성)
+     * @param delta 증분 벡터 (pgvector 텍스트 표현)
+     */
+    public void add(Long userId, String delta) {
+        jdbcTemplate.update(ADD_SQL, userId, delta);
+    }
+
+    // 취향 벡터 (pgvector 텍스트 표현)
+    public Optional<String> find(Long userId) {
+        List<String> rows = jdbcTemplate.queryForList(
+                "SELECT CAST(taste AS text) FROM user_taste_vector WHERE user_id = ?", String.class, userId);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * 행이 있으면 증분을 더함
+     * @return 행이 있어 더했으면 true (없으면 아무것도 하지 않음)
+     */
+    public boolean addIfPresent(Long userId, String delta) {
+        return jdbcTemplate.update(ADD_IF_PRESENT_SQL, delta, userId) > 0;
+    }
+
+    /**
+     * 행이 없을 때만 생성 (동시에 생성하면 먼저 커밋한 쪽이 남음)
+     * @return 생성했으면 true
+     */
+    public boolean insertIfAbsent(Long userId, String taste) {
+        return jdbcTemplate.update(INSERT_IF_ABSENT_SQL, userId, taste) > 0;
+    }
+
+    /**
+     * 사용자의 피드백 값(like/dislike)별 곡 임베딩 합 (pgvector 텍스트 표현)
+     */
+    public Map<String, String> sumFeedbackVectors(Long userId) {
+        Map<String, String> sums = new HashMap<>();
+        jdbcTemplate.query(FEEDBACK_SUMS_SQL, rs -> {
+            sums.put(rs.getString(1), rs.getString(2));
+        }, userId);
+        return sums;
+    }
+
+    // 피드백은 있지만 취향 벡터 행이 없는 사용자 (이력 backfill 대상, afterUserId 다음부터 user_id 순)
+    public List<Long> findUsersWithoutTaste(long afterUserId, int limit) {
+        return jdbcTemplate.queryForList(USERS_WITHOUT_TASTE_SQL, Long.class, afterUserId, limit);
+    }
+
+    public void deleteByUserId(Long userId) {
+        jdbcTemplate.update("DELETE FROM user_taste_vector WHERE user_id = ?", userId);
+    }
+}
@@ -0,0 +1,292 @@
+package com.musiccheck.domain.music.service;
+
+import com.musiccheck.domain.music.dto.FeedbackSaveResult;
+import com.musiccheck.domain.music.repository.UserFeedbackUpsertRepository.FeedbackWrite;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 피드백 write-behind 저장 (선택 기능, 기본 비활성화)
+ * - 요청은 큐에 넣고 바로 응답, flush-interval-ms마다 또는 batch-size건이 쌓이면 한 문장 upsert로 일괄 반영
+ * - 같은 (user, book, music)에 대한 연속 변경은 마지막 값만 남김
+ * - 해당 사용자의 조회/삭제 전에는 그 사용자의 대기분을 먼저 반영 (자기 쓰기 읽기 보장)
+ *   호출 측은 자기 트랜잭션을 시작하기 전에 호출 (반영은 별도 트랜잭션이므로 안에서 부르면 요청당 연결을 두 개 씀)
+ * - 잠금은 사용자별: 조회 전 반영은 그 사용자만 기다리고, 주기 반영은 반영 중인 사용자를 건너뜀 (그쪽에서 반영)
+ * - 대기 건수가 max-pending을 넘거나 종료 중이면 큐에 넣지 않음 (호출 측이 즉시 저장)
+ * - 일괄 반영이 실패하면 한 건씩 다시 반영, 데이터 오류로 실패한 건은 대기열에서 빼 dead letter 로그로 남김
+ *   (잘못된 한 건 때문에 같은 묶음 전체가 계속 재시도되거나 그 사용자의 조회가 계속 실패하지 않도록)
+ * - 종료 시 남은 대기분을 모두 반영한 뒤 종료
+ * - 지표: feedback.write-behind(result=queued|collapsed|flushed|failed|dead_letter), feedback.write-behind.pending
+ */
+@Slf4j
+@Service
+public class FeedbackWriteBehindService {
+
+    private static final String METRIC_NAME = "feedback.write-behind";
+
+    private final FeedbackWriter feedbackWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxPending;
+
+    // userId → 대기분 (비면 제거)
+    private final Map<Long, UserPending> pendingByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean closed = false;
+
+    private final Counter queued;
+    private final Counter collapsed;
+    private final Counter flushed;
+    private final Counter failed;
+    private final Counter deadLettered;
+
+    public FeedbackWriteBehindService(
+            FeedbackWriter feedbackWriter,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${musiccheck.feedback.write-behind.enabled:false}") boolean enabled,
+            @Value("${musiccheck.feedback.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${musiccheck.feedback.write-behind.batch-size:500}") int batchSize,
+            @Value("${musiccheck.feedback.write-behind.max-pending:10000}") int maxPending
+    ) {
+        this.feedbackWriter = feedbackWriter;
+        // 읽기 전용 트랜잭션 안에서 호출되어도 반영은 별도 트랜잭션으로 커밋
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+
+        this.queued = meterRegistry.counter(METRIC_NAME, "result", "queued");
+        this.collapsed = meterRegistry.counter(METRIC_NAME, "result", "collapsed");
+        this.flushed = meterRegistry.counter(METRIC_NAME, "result", "flushed");
+        this.failed = meterRegistry.counter(METRIC_NAME, "result", "failed");
+        this.deadLettered = meterRegistry.counter(METRIC_NAME, "result", "dead_letter");
+        meterRegistry.gauge(METRIC_NAME + ".pending", pendingCount);
+
+        if (enabled) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "feedback-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 피드백을 대기열에 넣음
+     * @return 대기열에 넣었으면 QUEUED, 비활성화/가득 참/종료 중이면 null (호출 측이 즉시 저장)
+     */
+    public FeedbackSaveResult enqueue(Long userId, String bookId, String musicId, String feedback) {
+        if (!enabled || closed || pendingCount.get() >= maxPending) {
+            return null;
+        }
+        pendingByUser.compute(userId, (id, pending) -> {
+            UserPending user = pending != null ? pending : new UserPending();
+            if (user.tracks.put(new TrackKey(bookId, musicId), feedback) == null) {
+                pendingCount.incrementAndGet();
+            } else {
+                collapsed.increment();
+            }
+            return user;
+        });
+        queued.increment();
+
+        if (pendingCount.get() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushSafely);
+        }
+        return FeedbackSaveResult.QUEUED;
+    }
+
+    /**
+     * 해당 사용자의 대기분을 즉시 반영 (조회 전에 호출, 대기분이 없으면 바로 반환)
+     * 호출 측 트랜잭션 밖에서 호출해야 함 (반영은 별도 트랜잭션)
+     * 주기 반영이 이 사용자를 반영 중이면 그 묶음이 커밋될 때까지만 기다림
+     */
+    public void flushUser(Long userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        while (true) {
+            UserPending pending = pendingByUser.get(userId);
+            if (pending == null) {
+                return;
+            }
+            pending.lock.lock();
+            try {
+                // 기다리는 동안 다른 쪽이 모두 반영해 제거했으면 새 대기분이 있는지 다시 확인
+                if (pendingByUser.get(userId) == pending) {
+                    write(pending.writes(userId));
+                    return;
+                }
+            } finally {
+                pending.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 전체 대기분을 사용자 단위로 묶어 batch-size건 이상씩 반영
+     * 조회 전 반영(flushUser)이 진행 중인 사용자는 건너뜀
+     */
+    public void flush() {
+        flushRequested.set(false);
+        List<UserPending> locked = new ArrayList<>();
+        List<FeedbackWrite> writes = new ArrayList<>(Math.min(pendingCount.get(), batchSize));
+        try {
+            for (Map.Entry<Long, UserPending> user : pendingByUser.entrySet()) {
+                UserPending pending = user.getValue();
+                if (!pending.lock.tryLock()) {
+                    continue;
+                }
+                locked.add(pending);
+                writes.addAll(pending.writes(user.getKey()));
+                if (writes.size() >= batchSize) {
+                    write(writes);
+                    writes = new ArrayList<>(batchSize);
+                    unlockAll(locked);
+                }
+            }
+            write(writes);
+        } finally {
+            unlockAll(locked);
+        }
+    }
+
+    private static void unlockAll(List<UserPending> locked) {
+        locked.forEach(pending -> pending.lock.unlock());
+        locked.clear();
+    }
+
+    // 한 트랜잭션으로 upsert 후, 커밋된 값과 같은 대기분만 제거 (반영 중 들어온 새 값은 남김)
+    // 실패하면 한 건씩 다시 반영
+    private void write(List<FeedbackWrite> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> feedbackWriter.writeAll(writes));
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("피드백 일괄 반영 실패 ({}건) - 한 건씩 다시 반영", writes.size(), e);
+            writeEach(writes);
+            return;
+        }
+        removePending(writes);
+        flushed.increment(writes.size());
+    }
+
+    /**
+     * 한 건씩 별도 트랜잭션으로 반영
+     * - 데이터 오류(제약 위반, 길이 초과, 벡터 차원 불일치 등)나 DB 외 예외로 실패한 건은 재시도해도 같으므로 dead letter
+     * - DB 연결/트랜잭션 오류는 나머지를 대기열에 남긴 채 예외를 다시 던짐 (다음 주기에 재시도)
+     */
+    private void writeEach(List<FeedbackWrite> writes) {
+        for (FeedbackWrite write : writes) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> feedbackWriter.write(write));
+            } catch (DataIntegrityViolationException e) {
+                deadLetter(write, e);
+                continue;
+            } catch (DataAccessException | TransactionException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                deadLetter(write, e);
+                continue;
+            }
+            removePending(List.of(write));
+            flushed.increment();
+        }
+    }
+
+    private void deadLetter(FeedbackWrite write, RuntimeException e) {
+        removePending(List.of(write));
+        deadLettered.increment();
+        log.error("피드백 반영 불가 - dead letter: userId={}, bookId={}, musicId={}, feedback={}",
+                write.userId(), write.bookId(), write.musicId(), write.feedback(), e);
+    }
+
+    private void removePending(List<FeedbackWrite> writes) {
+        for (FeedbackWrite write : writes) {
+            pendingByUser.computeIfPresent(write.userId(), (id, pending) -> {
+                if (pending.tracks.remove(new TrackKey(write.bookId(), write.musicId()), write.feedback())) {
+                    pendingCount.decrementAndGet();
+                }
+                return pending.tracks.isEmpty() ? null : pending;
+            });
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("피드백 일괄 반영 실패 ({}건 대기) - 다음 주기에 재시도", pendingCount.get(), e);
+        }
+    }
+
+    /**
+     * 새 요청은 즉시 저장으로 돌리고 남은 대기분을 모두 반영한 뒤 종료
+     */
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        closed = true;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        log.info("피드백 write-behind 종료: 남은 대기 {}건", pendingCount.get());
+    }
+
+    private record TrackKey(String bookId, String musicId) {}
+
+    // 한 사용자의 대기분: (bookId, musicId) → 마지막 피드백 값, 잠금은 이 사용자의 반영끼리만 직렬화
+    private static final class UserPending {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<TrackKey, String> tracks = new ConcurrentHashMap<>();
+
+        List<FeedbackWrite> writes(Long userId) {
+            List<FeedbackWrite> writes = new ArrayList<>(tracks.size());
+            tracks.forEach((track, feedback) -> writes.add(new FeedbackWrite(userId, track.bookId(), track.musicId(), feedback)));
+            return writes;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.musiccheck.domain.music.service;
+
+import com.musiccheck.domain.music.dto.FeedbackSaveResult;
+import com.musiccheck.domain.music.event.FeedbackChangedEvent;
+import com.musiccheck.domain.music.repository.UserFeedbackUpsertRepository;
+import com.musiccheck.domain.music.repository.UserFeedbackUpsertRepository.FeedbackWrite;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 피드백 upsert와 후속 반영 (호출 측 트랜잭션 안에서 실행)
+ * - 값이 바뀐 행만 취향 벡터에 사용자별로 합친 변경분을 누적(벡터가 없는 사용자는 이력 전체로 생성)하고 FeedbackChangedEvent 발행 (커밋 후 좋아요 집계/캐시 반영)
+ * - 즉시 저장(MusicService.saveFeedback)과 write-behind 배치 저장이 같은 경로를 사용
+ */
+@Service
+@RequiredArgsConstructor
+public class FeedbackWriter {
+
+    private final UserFeedbackUpsertRepository feedbackUpsertRepository;
+    private final UserTasteService userTasteService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public FeedbackSaveResult write(FeedbackWrite write) {
+        FeedbackSaveResult result = feedbackUpsertRepository.upsert(
+                write.userId(), write.bookId(), write.musicId(), write.feedback());
+        applyChanges(Map.of(write, result));
+        return result;
+    }
+
+    /**
+     * 여러 피드백을 한 문장으로 upsert (같은 (user, book, music)이 중복되면 안 됨)
+     */
+    public Map<FeedbackWrite, FeedbackSaveResult> writeAll(List<FeedbackWrite> writes) {
+        Map<FeedbackWrite, FeedbackSaveResult> results = feedbackUpsertRepository.upsertAll(writes);
+        applyChanges(results);
+        return results;
+    }
+
+    // 취향 벡터는 사용자별로 변경분을 합쳐 한 번씩 반영하고, 바뀐 행마다 커밋 후 이벤트 발행
+    private void applyChanges(Map<FeedbackWrite, FeedbackSaveResult> results) {
+        Map<Long, List<UserTasteService.FeedbackChange>> changesByUser = new LinkedHashMap<>();
+        List<FeedbackChangedEvent> events = new ArrayList<>();
+        results.forEach((write, result) -> {
+            if (result == FeedbackSaveResult.UNCHANGED) {
+                return;
+            }
+            String previousFeedback = result.previousFeedback(write.feedback());
+            changesByUser.computeIfAbsent(write.userId(), userId -> new ArrayList<>())
+                    .add(new UserTasteService.FeedbackChange(write.musicId(), previousFeedback, write.feedback()));
+            events.add(new FeedbackChangedEvent(
+                    write.userId(), write.bookId(), write.musicId(), previousFeedback, write.feedback()));
+        });
+
+        // 취향 벡터에 변경분만 누적 (같은 트랜잭션, 벡터가 없으면 이력 전체로 생성)
+        changesByUser.forEach(userTasteService::applyFeedback);
+
+        // 커밋 후 좋아요 집계 등에 반영
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,192 @@
+package com.musiccheck.domain.music.service;
+
+import com.musiccheck.domain.music.event.FeedbackChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 책-곡 단위 좋아요 개수 집계
+ * - 피드백 커밋 후 증감분을 키별로 누적 (ConcurrentHashMap.merge, 키 단위 원자적 갱신)
+ * - 주기적으로 music_like_count 테이블에 증감분을 배치 upsert, 반영한 키는 맵에서 제거
+ * - 추천 쿼리는 user_feedback 집계 대신 music_like_count를 PK로 조회
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LikeCountService {
+
+    private static final String UPSERT_DELTA_SQL = """
+            INSERT INTO music_like_count (book_id, music_id, like_count)
+            VALUES (?, ?, GREATEST(?, 0))
+            ON CONFLICT (book_id, music_id) DO UPDATE
+                SET like_count = GREATEST(music_like_count.like_count + ?, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${musiccheck.like-count.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    private final StartupTask startupBootstrap = new StartupTask();
+
+    // 아직 테이블에 반영되지 않은 (book_id, music_id)별 증감분 (0이 된 키는 제거)
+    private final Map<LikeKey, Long> pendingDeltas = new ConcurrentHashMap<>();
+
+    // 읽기: 피드백 트랜잭션의 커밋부터 커밋 후 증감분 누적까지, 쓰기: 재집계의 스냅샷 고정 + 대기 증감분 비우기
+    private final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+    /**
+     * 좋아요 개수가 바뀌는 피드백 트랜잭션은 커밋 전에 읽기 잠금을 잡고 완료 후 해제 (트랜잭션당 한 번)
+     * 재집계 스냅샷보다 먼저 커밋되었는데 증감분은 아직 쌓이지 않은 트랜잭션이 없게 함 (이중 집계 방지)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeFeedbackCommit(FeedbackChangedEvent event) {
+        if (event.likeDelta() == 0 || TransactionSynchronizationManager.hasResource(commitLock)) {
+            return;
+        }
+        commitLock.readLock().lock();
+        TransactionSynchronizationManager.bindResource(commitLock, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(commitLock);
+                commitLock.readLock().unlock();
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        addPending(new LikeKey(event.bookId(), event.musicId()), event.likeDelta());
+    }
+
+    /**
+     * 누적된 증감분을 music_like_count에 한 트랜잭션으로 반영
+     * 실패하면 전부 롤백되므로 증감분을 모두 되돌려 다음 주기에 다시 시도 (일부만 반영된 채 다시 더하지 않음)
+     */
+    @Scheduled(fixedDelayString = "${musiccheck.like-count.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<LikeKey, Long> deltas = drainPending();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> batchArgs.add(new Object[]{key.bookId(), key.musicId(), delta, delta}));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_DELTA_SQL, batchArgs));
+        } catch (RuntimeException e) {
+            restorePending(deltas);
+            log.warn("좋아요 개수 반영 실패 ({}건) - 다음 주기에 재시도", deltas.size(), e);
+        }
+    }
+
+    /**
+     * 테이블이 비어 있거나 재구성 옵션이 켜져 있으면 user_feedback에서 전체 재집계
+     * 백그라운드 스레드에서 실행 (readiness를 막지 않음, 실패해도 기동은 계속하고 로그만 남김)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        startupBootstrap.start("like-count-bootstrap", () -> {
+            try {
+                Integer existing = jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM (SELECT 1 FROM music_like_count LIMIT 1) t", Integer.class);
+                if (existing != null && existing > 0 && !rebuildOnStartup) {
+                    return;
+                }
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("좋아요 개수 초기 집계 실패 - 기존 music_like_count 사용", e);
+            }
+        });
+    }
+
+    /**
+     * user_feedback에서 전체 재집계
+     * REPEATABLE READ 트랜잭션의 첫 조회로 스냅샷을 고정한 직후 대기 증감분을 비움
+     * (증감분은 커밋된 피드백만 쌓이므로, 스냅샷 전에 커밋된 피드백은 재집계에 포함되고 이후 피드백은 증감분으로 남음)
+     * 다른 인스턴스에 쌓인 증감분은 비울 수 없으므로 재집계는 한 인스턴스에서만 실행할 것
+     */
+    public synchronized void rebuild() {
+        TransactionTemplate snapshotTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        Map<LikeKey, Long> discarded = new HashMap<>();
+        Integer rows;
+        try {
+            rows = snapshotTransaction.execute(status -> {
+                commitLock.writeLock().lock();
+                try {
+                    jdbcTemplate.queryForObject("SELECT 1", Integer.class);  // 스냅샷 고정
+                    discarded.putAll(drainPending());
+                } finally {
+                    commitLock.writeLock().unlock();
+                }
+                jdbcTemplate.update("DELETE FROM music_like_count");
+                return jdbcTemplate.update("""
+                        INSERT INTO music_like_count (book_id, music_id, like_count)
+                        SELECT book_id, music_id, COUNT(*)
+                        FROM user_feedback
+                        WHERE feedback = 'like'
+                        GROUP BY book_id, music_id
+                        """);
+            });
+        } catch (RuntimeException e) {
+            restorePending(discarded);  // 롤백되었으므로 비운 증감분은 아직 반영되지 않은 상태
+            throw e;
+        }
+        log.info("좋아요 개수 재집계 완료: {}건", rows);
+    }
+
+    private void addPending(LikeKey key, long delta) {
+        if (delta != 0) {
+            // 합이 0이 되면 키 제거 (merge가 null을 반환하면 항목 삭제)
+            pendingDeltas.merge(key, delta, (current, added) -> current + added == 0 ? null : current + added);
+        }
+    }
+
+    // 대기 증감분을 꺼내고 비움 (키마다 원자적으로 제거, 그 뒤 들어온 증감분은 새 항목으로 남음)
+    private Map<LikeKey, Long> drainPending() {
+        Map<LikeKey, Long> deltas = new HashMap<>();
+        for (LikeKey key : pendingDeltas.keySet()) {
+            Long delta = pendingDeltas.remove(key);
+            if (delta != null && delta != 0) {
+                deltas.put(key, delta);
+            }
+        }
+        return deltas;
+    }
+
+    private void restorePending(Map<LikeKey, Long> deltas) {
+        deltas.forEach(this::addPending);
+    }
+
+    // 종료 시 남은 증감분 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private record LikeKey(String bookId, String musicId) {}
+}
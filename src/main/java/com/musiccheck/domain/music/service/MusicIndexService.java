@@ -0,0 +1,374 @@
+package com.musiccheck.domain.music.service;
+
+import com.musiccheck.domain.music.index.DotProduct;
+import com.musiccheck.domain.music.index.EmbeddingStore;
+import com.musiccheck.domain.music.index.HeapEmbeddingStore;
+import com.musiccheck.domain.music.index.HnswIndex;
+import com.musiccheck.domain.music.index.Int8EmbeddingStore;
+import com.musiccheck.domain.music.index.MappedEmbeddingStore;
+import com.musiccheck.domain.music.index.VectorMath;
+import com.musiccheck.domain.music.repository.MusicRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * 음악 임베딩 HNSW 인덱스 관리
+ * - 벡터는 off-heap 스냅샷 파일(MappedEmbeddingStore)에 두고 인덱스는 slot만 참조
+ * - 시작 시 기존 스냅샷을 재사용하고, 스냅샷에 없는 임베딩만 DB에서 읽어 추가
+ * - 주기적으로 music.embedding_id 변경분만 반영 (추가/변경/삭제)
+ * - quantization=int8 이면 그래프 탐색은 int8 코드로, 상위 후보는 원본 벡터로 재정렬
+ * - 인덱스가 준비되지 않았거나 비활성화된 경우 추천은 SQL 경로로 동작
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MusicIndexService {
+
+    private static final int LOAD_BATCH_SIZE = 2000;
+    private static final double REBUILD_DELETED_RATIO = 0.3;
+    private static final double COMPACT_GARBAGE_RATIO = 0.3;
+
+    private final MusicRepository musicRepository;
+    private final RecommendationCandidateCache candidateCache;
+
+    @Value("${musiccheck.recommend.ann.enabled:true}")
+    private boolean enabled;
+
+    @Value("${musiccheck.recommend.ann.ef-search:400}")
+    private int efSearch;
+
+    // none: 원본 float 벡터로 탐색 / int8: int8 양자화 벡터로 탐색 후 재정렬
+    @Value("${musiccheck.recommend.ann.quantization:none}")
+    private String quantization;
+
+    // int8 탐색 시 원본 벡터로 재정렬할 후보 수
+    @Value("${musiccheck.recommend.ann.rerank:400}")
+    private int rerankCount;
+
+    @Value("${musiccheck.recommend.embedding-store.enabled:true}")
+    private boolean snapshotEnabled;
+
+    @Value("${musiccheck.recommend.embedding-store.path:${java.io.tmpdir}/musiccheck/music-embeddings.bin}")
+    private String snapshotPath;
+
+    private final StartupTask startupBuild = new StartupTask();
+
+    private volatile HnswIndex index;
+    private EmbeddingStore store;
+    private EmbeddingStore scoringStore; // 인덱스가 거리 계산에 쓰는 저장소 (int8이면 store를 감싼 양자화 저장소)
+
+    // 인덱스에 반영된 track_id → embedding_id (변경 감지용)
+    private Map<String, Integer> indexedEmbeddingIds = new HashMap<>();
+
+    public boolean isReady() {
+        return enabled && index != null;
+    }
+
+    /**
+     * 질의 벡터와 가장 유사한 곡 k개 검색 (음의 내적 오름차순)
+     * 인덱스가 없거나 차원이 다르면 빈 목록 반환
+     */
+    public List<HnswIndex.SearchResult> search(float[] query, int k) {
+        HnswIndex current = index;
+        if (!enabled || current == null || query == null || query.length != current.dimension()) {
+            return List.of();
+        }
+        if (scoringStore instanceof Int8EmbeddingStore) {
+            return current.search(query, k, Math.max(efSearch, k), Math.max(rerankCount, k));
+        }
+        return current.search(query, k, Math.max(efSearch, k));
+    }
+
+    /**
+     * 질의 벡터 기준 카탈로그 최대 유사도 (음의 내적, 가장 먼 곡의 값)
+     * 정규화 범위가 SQL 경로와 같아야 하므로 근사 탐색 대신 인덱스 전체를 스캔한 정확한 값
+     * 인덱스가 없거나 차원이 다르면 NEGATIVE_INFINITY
+     */
+    public double maxSimilarity(float[] query) {
+        HnswIndex current = index;
+        if (!enabled || current == null || query == null || query.length != current.dimension()) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        HnswIndex.SearchResult farthest = current.farthest(query);
+        return farthest != null ? farthest.distance() : Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * 곡 벡터 (인덱스에 없으면 null)
+     */
+    public float[] vectorOf(String trackId) {
+        HnswIndex current = index;
+        return enabled && current != null ? current.vectorOf(trackId) : null;
+    }
+
+    /**
+     * 질의 벡터와 각 곡 벡터의 내적 (인덱스에 없는 곡은 NaN)
+     * 인덱스가 없거나 차원이 다르면 null
+     */
+    public float[] dots(float[] query, List<String> trackIds) {
+        HnswIndex current = index;
+        if (!enabled || current == null || query == null || query.length != current.dimension()) {
+            return null;
+        }
+        return current.exactDots(query, trackIds);
+    }
+
+    /**
+     * 시작 시 인덱스 빌드를 백그라운드에서 시작 (readiness를 막지 않음, 빌드 전 요청은 사전 계산/SQL 경로)
+     * 시작 warm-up(StartupWarmupService)보다 먼저 시작해 warm-up이 제한 시간 안에서 기다릴 수 있게 함
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            log.info("HNSW 인덱스 비활성화 상태 - SQL 추천 경로 사용");
+            startupBuild.skip();
+            return;
+        }
+        startupBuild.start("hnsw-index-startup", () -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("HNSW 인덱스 빌드 실패 - SQL 추천 경로 사용", e);
+            }
+        });
+    }
+
+    /**
+     * 시작 시 인덱스 빌드가 끝날 때까지 최대 deadline(System.nanoTime 기준)까지 대기
+     * @return 끝났으면 true
+     */
+    public boolean awaitStartupBuild(long deadlineNanos) {
+        return startupBuild.await(deadlineNanos);
+    }
+
+    /**
+     * 벡터 저장소를 최신 상태로 맞춘 뒤 새 인덱스를 만들어 교체
+     */
+    public synchronized void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        Map<String, Integer> refs = loadEmbeddingRefs();
+        if (refs.isEmpty()) {
+            log.info("임베딩이 연결된 음악이 없어 HNSW 인덱스를 만들지 않음");
+            return;
+        }
+
+        EmbeddingStore target = prepareStore(new HashSet<>(refs.values()));
+        EmbeddingStore scoring = isInt8() ? new Int8EmbeddingStore(target) : target;
+        HnswIndex built = new HnswIndex(scoring);
+        Map<String, Integer> embeddingIds = new HashMap<>();
+        refs.forEach((trackId, embeddingId) -> {
+            int slot = target.slotOf(embeddingId);
+            if (slot >= 0) {
+                built.add(trackId, slot);
+                embeddingIds.put(trackId, embeddingId);
+            }
+        });
+
+        EmbeddingStore previous = store;
+        store = target;
+        scoringStore = scoring;
+        index = built;
+        indexedEmbeddingIds = embeddingIds;
+        if (previous != null && previous != target) {
+            previous.close();
+        }
+        log.info("HNSW 인덱스 빌드 완료: {}곡, {}ms (내적 커널: {}, 양자화: {})",
+                embeddingIds.size(), System.currentTimeMillis() - startedAt, DotProduct.get().name(),
+                scoring instanceof Int8EmbeddingStore int8 ? "int8 " + int8.bytesPerVector() + "B/벡터" : "none");
+    }
+
+    /**
+     * music.embedding_id 변경분만 인덱스에 반영
+     * 삭제 표시된 노드 비율이 커지면 전체 재빌드 (스냅샷 정리 포함)
+     */
+    @Scheduled(fixedDelayString = "${musiccheck.recommend.ann.refresh-interval-ms:300000}",
+            initialDelayString = "${musiccheck.recommend.ann.refresh-interval-ms:300000}")
+    public synchronized void refresh() {
+        HnswIndex current = index;
+        if (!enabled || current == null) {
+            return;
+        }
+
+        Map<String, Integer> latest = loadEmbeddingRefs();
+        List<String> changed = new ArrayList<>();
+        latest.forEach((trackId, embeddingId) -> {
+            if (!Objects.equals(indexedEmbeddingIds.get(trackId), embeddingId)) {
+                changed.add(trackId);
+            }
+        });
+        Set<String> removed = new HashSet<>(indexedEmbeddingIds.keySet());
+        removed.removeAll(latest.keySet());
+
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+
+        for (String trackId : removed) {
+            current.remove(trackId);
+            indexedEmbeddingIds.remove(trackId);
+        }
+
+        // 스냅샷에 없는 임베딩만 DB에서 읽어 추가
+        Set<Integer> missing = new HashSet<>();
+        for (String trackId : changed) {
+            int embeddingId = latest.get(trackId);
+            if (store.slotOf(embeddingId) < 0) {
+                missing.add(embeddingId);
+            }
+        }
+        appendVectors(scoringStore, missing);
+        store.flush();
+
+        for (String trackId : changed) {
+            int embeddingId = latest.get(trackId);
+            int slot = scoringStore.slotOf(embeddingId);
+            if (slot >= 0) {
+                current.add(trackId, slot);
+                indexedEmbeddingIds.put(trackId, embeddingId);
+            }
+        }
+        log.info("HNSW 인덱스 증분 갱신: 변경 {}곡, 삭제 {}곡, 신규 임베딩 {}건", changed.size(), removed.size(), missing.size());
+        candidateCache.invalidateAll();
+
+        int total = current.size() + current.deletedCount();
+        if (total > 0 && (double) current.deletedCount() / total > REBUILD_DELETED_RATIO) {
+            rebuild();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private boolean isInt8() {
+        return "int8".equalsIgnoreCase(quantization);
+    }
+
+    // track_id → embedding_id (벡터 제외)
+    private Map<String, Integer> loadEmbeddingRefs() {
+        Map<String, Integer> refs = new HashMap<>();
+        for (Object[] row : musicRepository.findAllEmbeddingRefs()) {
+            refs.put((String) row[0], ((Number) row[1]).intValue());
+        }
+        return refs;
+    }
+
+    /**
+     * 참조 중인 임베딩을 모두 담은 저장소 준비
+     * - 스냅샷 사용 시: 기존 파일 재사용 → 참조되지 않는 벡터가 많으면 정리 → 없는 임베딩만 추가
+     * - 스냅샷 미사용 시: 힙 저장소에 전체 로드
+     */
+    private EmbeddingStore prepareStore(Set<Integer> referenced) {
+        int dimension = sampleDimension(referenced);
+
+        if (!snapshotEnabled) {
+            HeapEmbeddingStore heap = new HeapEmbeddingStore(dimension);
+            appendVectors(heap, referenced);
+            return heap;
+        }
+
+        Path path = Path.of(snapshotPath);
+        MappedEmbeddingStore snapshot = store instanceof MappedEmbeddingStore current ? current : openSnapshot(path);
+        if (snapshot != null && snapshot.dimension() != dimension) {
+            log.info("임베딩 차원 변경({} → {})으로 스냅샷 재생성", snapshot.dimension(), dimension);
+            snapshot.close();
+            snapshot = null;
+        }
+        if (snapshot == null) {
+            snapshot = MappedEmbeddingStore.create(path, dimension);
+        }
+
+        Set<Integer> missing = new HashSet<>();
+        for (Integer embeddingId : referenced) {
+            if (snapshot.slotOf(embeddingId) < 0) {
+                missing.add(embeddingId);
+            }
+        }
+
+        // 참조되지 않는 벡터 비율이 크면 새 파일로 정리 (slot이 바뀌므로 인덱스는 항상 새로 빌드됨)
+        int reused = referenced.size() - missing.size();
+        if (snapshot.size() > 0 && (double) (snapshot.size() - reused) / snapshot.size() > COMPACT_GARBAGE_RATIO) {
+            Path compactPath = path.resolveSibling(path.getFileName() + ".compact");
+            snapshot.flush();
+            snapshot.compactTo(compactPath, referenced::contains).close();
+            if (snapshot != store) {
+                snapshot.close();
+            }
+            MappedEmbeddingStore.replace(compactPath, path);
+            snapshot = MappedEmbeddingStore.open(path);
+        }
+
+        appendVectors(snapshot, missing);
+        snapshot.flush();
+        log.info("임베딩 스냅샷 준비: 재사용 {}건, 신규 {}건 ({})", reused, missing.size(), path);
+        return snapshot;
+    }
+
+    private MappedEmbeddingStore openSnapshot(Path path) {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try {
+            return MappedEmbeddingStore.open(path);
+        } catch (RuntimeException e) {
+            log.warn("임베딩 스냅샷을 열 수 없어 새로 생성: {}", path, e);
+            return null;
+        }
+    }
+
+    // 임의의 임베딩 하나로 현재 차원 확인
+    private int sampleDimension(Set<Integer> referenced) {
+        Integer sampleId = referenced.iterator().next();
+        int[] dimension = {0};
+        loadVectors(List.of(sampleId), (embeddingId, vector) -> dimension[0] = vector.length);
+        if (dimension[0] == 0) {
+            throw new IllegalStateException("임베딩 벡터를 읽을 수 없습니다: " + sampleId);
+        }
+        return dimension[0];
+    }
+
+    private void appendVectors(EmbeddingStore target, Collection<Integer> embeddingIds) {
+        loadVectors(embeddingIds, (embeddingId, vector) -> {
+            if (vector.length != target.dimension()) {
+                log.warn("임베딩 차원 불일치로 제외: {}", embeddingId);
+                return;
+            }
+            target.append(embeddingId, vector);
+        });
+    }
+
+    // embedding_id 목록을 배치로 나눠 벡터 조회
+    private void loadVectors(Collection<Integer> embeddingIds, BiConsumer<Integer, float[]> consumer) {
+        List<Integer> ids = new ArrayList<>(embeddingIds);
+        for (int from = 0; from < ids.size(); from += LOAD_BATCH_SIZE) {
+            List<Integer> batch = ids.subList(from, Math.min(from + LOAD_BATCH_SIZE, ids.size()));
+            for (Object[] row : musicRepository.findEmbeddingVectorsByIds(batch)) {
+                consumer.accept(((Number) row[0]).intValue(), VectorMath.parse((String) row[1]));
+            }
+        }
+    }
+}
@@ -1,23 +1,43 @@
 package com.musiccheck.domain.music.service;
 
-import com.musiccheck.domain.book.entity.BookEntity;
-import com.musiccheck.domain.book.repository.BookRepository;
+import com.musiccheck.domain.book.service.BookVectorCache;
 import com.musiccheck.domain.music.dto.DislikedSongDto;
+import com.musiccheck.domain.music.dto.DislikedSongPage;
+import com.musiccheck.domain.music.dto.FeedbackSaveResult;
 import com.musiccheck.domain.music.dto.MusicDto;
-import com.musiccheck.domain.music.entity.MusicEntity;
+import com.musiccheck.domain.music.dto.PlaylistPage;
 import com.musiccheck.domain.music.entity.UserFeedback;
+import com.musiccheck.domain.music.event.FeedbackChangedEvent;
+import com.musiccheck.domain.music.index.HnswIndex;
+import com.musiccheck.domain.music.index.VectorMath;
+import com.musiccheck.domain.music.recommend.CandidateColumns;
+import com.musiccheck.domain.music.recommend.CatalogBounds;
+import com.musiccheck.domain.music.recommend.IntBitmap;
+import com.musiccheck.domain.music.recommend.PlaylistCursor;
+import com.musiccheck.domain.music.recommend.RecommendationCandidate;
+import com.musiccheck.domain.music.recommend.RecommendationScorer;
+import com.musiccheck.domain.music.repository.MusicCandidateScanRepository;
 import com.musiccheck.domain.music.repository.MusicRepository;
 import com.musiccheck.domain.music.repository.UserFeedbackRepository;
+import com.musiccheck.domain.music.repository.UserFeedbackUpsertRepository.FeedbackWrite;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,150 +45,433 @@ import java.util.stream.Collectors;
 public class MusicService {
 
     private final MusicRepository musicRepository;
+    private final MusicCandidateScanRepository candidateScanRepository;
     private final UserFeedbackRepository userFeedbackRepository;
-    private final BookRepository bookRepository;
+    private final FeedbackWriter feedbackWriter;
+    private final FeedbackWriteBehindService feedbackWriteBehind;
+    private final MusicIndexService musicIndexService;
+    private final RecommendationMaterializeService materializeService;
+    private final RecommendationCandidateCache candidateCache;
+    private final BookVectorCache bookVectorCache;
+    private final PlaylistSessionCache playlistSessions;
+    private final UserDislikeCache dislikeCache;
+    private final RecommendationScoringPool scoringPool;
+    private final UserTasteService userTasteService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    // 인덱스 경로에서 가져올 후보 곡 수
+    @Value("${musiccheck.recommend.ann.candidates:300}")
+    private int annCandidateCount;
+
+    // 유사도 상위 후보에 더할 좋아요 상위 곡 수 (후보 밖 곡의 좋아요 개수 상한을 정함)
+    @Value("${musiccheck.recommend.liked-candidates:50}")
+    private int likedCandidateCount;
+
+    // 페이지네이션 시 세션에 보관할 최대 곡 수 (다음 페이지를 처음 요청할 때 계산)
+    @Value("${musiccheck.recommend.playlist.max-tracks:300}")
+    private int maxPlaylistTracks;
+
+    // 싫어요 목록 페이지 조회 시 기본/최대 페이지 크기
+    @Value("${musiccheck.feedback.disliked.page-size:100}")
+    private int dislikedPageSize;
+
+    @Value("${musiccheck.feedback.disliked.max-page-size:1000}")
+    private int dislikedMaxPageSize;
 
     public List<MusicDto> recommend(String isbn, Long userId) {
-        // 가중치 설정: 유사도 0.7, 좋아요 0.3
-        final double SIMILARITY_WEIGHT = 0.7;
-        final double LIKE_WEIGHT = 0.3;
-
-        // 1) 사용자의 싫어요 곡 목록 먼저 조회 (필터링용)
-        final Set<String> dislikedTrackIds;
-        if (userId != null) {
-            List<UserFeedback> dislikedFeedbacks = userFeedbackRepository.findByUserIdAndBookIdAndFeedback(userId, isbn, "dislike");
-            dislikedTrackIds = dislikedFeedbacks.stream()
-                    .map(UserFeedback::getMusicId)
-                    .collect(Collectors.toSet());
-        } else {
-            dislikedTrackIds = new HashSet<>();
-        }
-
-        // 2) NativeQuery로 전체 음악 조회 (좋아요 개수, 유사도 점수 포함)
-        List<Object[]> rows = musicRepository.recommendByIsbn(isbn, userId);
-
-        // 3) Object[] → 임시 데이터 구조로 변환 및 싫어요 필터링
-        List<MusicWithScore> musicWithScores = rows.stream()
-                .map(r -> new MusicWithScore(
+        List<MusicDto> musicList = readAfterFlush(userId,
+                status -> rankPlaylist(isbn, userId, RecommendationScorer.PLAYLIST_SIZE));
+
+        // 3) playlist_generation_log 저장 (다음 단계에서 구현)
+        // playlistLogService.save(userId, isbn, musicList);
+
+        return musicList;
+    }
+
+    /**
+     * 커서 기반 플레이리스트 페이지 조회 (페이지당 30곡)
+     * - cursor가 없으면 첫 페이지 + 1곡만 계산해 다음 페이지 유무를 판단, 다음 페이지가 있으면 첫 페이지 track_id만 세션에 저장
+     * - 그 커서로 처음 다음 페이지를 요청하면 순위 목록 전체(최대 max-tracks)를 계산해 첫 페이지 곡을 뺀 나머지를 세션에 이어 붙임
+     * - 이후에는 세션의 순서에서 다음 페이지만 잘라 곡 정보를 조회
+     * - 세션이 만료되었으면 순위를 다시 계산한 새 세션으로 이어감 (앞 페이지와 겹치거나 빠질 수 있음)
+     */
+    public PlaylistPage recommendPage(String isbn, Long userId, String cursor) {
+        return readAfterFlush(userId, status -> rankPage(isbn, userId, cursor));
+    }
+
+    private PlaylistPage rankPage(String isbn, Long userId, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            int pageSize = Math.min(RecommendationScorer.PLAYLIST_SIZE, maxPlaylistTracks);
+            List<MusicDto> tracks = rankPlaylist(isbn, userId, Math.min(pageSize + 1, maxPlaylistTracks));
+            if (tracks.size() <= pageSize) {
+                return new PlaylistPage(tracks, null);
+            }
+            List<MusicDto> firstPage = tracks.subList(0, pageSize);
+            PlaylistSessionCache.Session session = playlistSessions.create(userId, isbn, trackIdsOf(firstPage), false);
+            return new PlaylistPage(firstPage, new PlaylistCursor(session.id(), pageSize).encode());
+        }
+
+        PlaylistCursor position = PlaylistCursor.decode(cursor);
+        PlaylistSessionCache.Session session = playlistSessions.find(position.sessionId(), userId, isbn);
+        if (session != null && !session.complete()) {
+            session = playlistSessions.complete(
+                    session, trackIdsOf(rankPlaylist(isbn, userId, maxPlaylistTracks)), maxPlaylistTracks);
+        }
+        if (session == null) {
+            session = playlistSessions.create(
+                    userId, isbn, trackIdsOf(rankPlaylist(isbn, userId, maxPlaylistTracks)), true);
+        }
+        return page(isbn, session, position.offset());
+    }
+
+    private PlaylistPage page(String isbn, PlaylistSessionCache.Session session, int offset) {
+        List<String> trackIds = session.trackIds();
+        int from = Math.min(offset, trackIds.size());
+        int to = Math.min(from + RecommendationScorer.PLAYLIST_SIZE, trackIds.size());
+        String nextCursor = to < trackIds.size() ? new PlaylistCursor(session.id(), to).encode() : null;
+        return new PlaylistPage(findTracks(isbn, trackIds.subList(from, to)), nextCursor);
+    }
+
+    // track_id 순서대로 곡 정보 + 현재 좋아요 개수 조회 (세션 저장 후 삭제된 곡은 빠짐)
+    private List<MusicDto> findTracks(String isbn, List<String> trackIds) {
+        if (trackIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, Object[]> rowsByTrackId = new HashMap<>();
+        for (Object[] row : musicRepository.findCandidatesWithLikeCount(isbn, trackIds)) {
+            rowsByTrackId.put((String) row[0], row);
+        }
+        List<MusicDto> tracks = new ArrayList<>(trackIds.size());
+        for (String trackId : trackIds) {
+            Object[] r = rowsByTrackId.get(trackId);
+            if (r != null) {
+                tracks.add(new MusicDto(
                         (String) r[0],  // track_id
                         (String) r[1],  // track_name
                         (String) r[2],  // artist_name
                         (String) r[3],  // image_url
-                        (String) r[4], // external_url
+                        (String) r[4],  // external_url
+                        ((Number) r[5]).longValue()  // like_count
+                ));
+            }
+        }
+        return tracks;
+    }
+
+    private static List<String> trackIdsOf(List<MusicDto> tracks) {
+        return tracks.stream().map(MusicDto::trackId).collect(Collectors.toList());
+    }
+
+    // 점수 상위 limit곡 계산 (대기 중인 피드백은 호출 측이 트랜잭션 전에 반영)
+    private List<MusicDto> rankPlaylist(String isbn, Long userId, int limit) {
+        // 1) 책별 추천 후보 (캐시 → 사전 계산 → HNSW 인덱스 순으로 조회, 사용자 무관)
+        CandidateColumns candidates = candidateCache.get(isbn, this::loadCandidates);
+
+        if (candidates == null) {
+            return recommendFromDatabase(isbn, userId, limit);  // 후보를 만들 수 없으면 SQL 스캔으로 전체 계산
+        }
+
+        // 2) 사용자 취향 벡터를 후보 유사도에 반영하고, 싫어요 필터링은 사용자별 비트맵으로 적용
+        //    (primitive 열 단위로 점수 계산, DTO는 상위 limit곡만 생성, 후보가 많으면 전용 풀에서 병렬 계산)
+        List<MusicDto> ranked = personalize(candidates, isbn, userId)
+                .rank(dislikeCache.find(userId, isbn), limit, scoringPool.scoring());
+
+        // 3) 후보 밖 곡이 상위 limit곡에 들 수 있으면 SQL 스캔으로 전체 계산
+        return ranked != null ? ranked : recommendFromDatabase(isbn, userId, limit);
+    }
+
+    // 취향 벡터가 있는 사용자만 책 벡터를 읽어 후보 유사도 보정
+    private CandidateColumns personalize(CandidateColumns candidates, String isbn, Long userId) {
+        if (userTasteService.find(userId) == null) {
+            return candidates;
+        }
+        return userTasteService.personalize(candidates, bookVectorCache.get(isbn).orElse(null), userId);
+    }
+
+    /**
+     * 책별 추천 후보를 미리 캐시에 적재 (책 선택 시 선계산용)
+     * 사용자 무관한 후보만 적재하고, 싫어요 필터링/점수 계산은 실제 조회 시 수행
+     * @return 후보가 캐시에 있으면 true (사전 계산/인덱스 모두 쓸 수 없으면 false)
+     */
+    @Transactional(readOnly = true)
+    public boolean warmUp(String isbn) {
+        CandidateColumns candidates = candidateCache.get(isbn, this::loadCandidates);
+        if (candidates == null) {
+            return false;
+        }
+        // 점수 계산 경로도 한 번 실행 (시작 직후 JIT 워밍업 겸용, 사용자 필터 없음)
+        candidates.rank(IntBitmap.EMPTY, RecommendationScorer.PLAYLIST_SIZE, scoringPool.scoring());
+        return true;
+    }
+
+    /**
+     * 캐시 미스 시 책별 후보 로드
+     * 사전 계산 결과가 없으면 HNSW 인덱스, 둘 다 쓸 수 없으면 null
+     */
+    private CandidateColumns loadCandidates(String isbn) {
+        CandidateColumns candidates = findMaterializedCandidates(isbn);
+        if (candidates == null && musicIndexService.isReady()) {
+            candidates = findIndexedCandidates(isbn);
+        }
+        return candidates;
+    }
+
+    /**
+     * 사전 계산 경로: book_music_recommendation의 상위 N곡 + 좋아요 상위 곡 (카탈로그 최대 유사도는 각 행에 포함)
+     * 아직 계산되지 않은 ISBN이면 null
+     */
+    private CandidateColumns findMaterializedCandidates(String isbn) {
+        List<Object[]> rows = materializeService.findCandidateRows(isbn);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] first = rows.get(0);
+        double maxSimilarity = first[7] != null ? ((Number) first[7]).doubleValue() : Double.NEGATIVE_INFINITY;  // catalog_max_similarity
+        List<RecommendationCandidate> candidates = rows.stream()
+                .map(r -> new RecommendationCandidate(
+                        (String) r[0],  // track_id
+                        (String) r[1],  // track_name
+                        (String) r[2],  // artist_name
+                        (String) r[3],  // image_url
+                        (String) r[4],  // external_url
                         ((Number) r[5]).longValue(),  // like_count
-                        ((Number) r[6]).doubleValue()  // similarity_score (negative inner product, 작을수록 유사)
+                        ((Number) r[6]).doubleValue()  // similarity_score
                 ))
-                .filter(m -> !dislikedTrackIds.contains(m.trackId))  // 싫어요 곡 제외
                 .collect(Collectors.toList());
+        return withLikedCandidates(isbn, candidates, rows.size() < materializeService.topN(), maxSimilarity);
+    }
 
-        // 4) 유사도 점수와 좋아요 개수의 최소/최대값 찾기 (정규화용)
-        double minSimilarity = musicWithScores.stream()
-                .mapToDouble(m -> m.similarityScore)
-                .min()
-                .orElse(0.0);
-        double maxSimilarity = musicWithScores.stream()
-                .mapToDouble(m -> m.similarityScore)
-                .max()
-                .orElse(1.0);
-        long maxLikeCount = musicWithScores.stream()
-                .mapToLong(m -> m.likeCount)
-                .max()
-                .orElse(1L);
-
-        // 5) 가중치 기반 점수 계산 및 정렬 후 30개만 반환
-        List<MusicDto> musicList = musicWithScores.stream()
-                .map(m -> {
-                    // 유사도 점수 정규화 (0-1 범위, 작을수록 유사하므로 역변환)
-                    double normalizedSimilarity = maxSimilarity > minSimilarity
-                            ? 1.0 - ((m.similarityScore - minSimilarity) / (maxSimilarity - minSimilarity))
-                            : 1.0;
-                    
-                    // 좋아요 개수 정규화 (0-1 범위)
-                    double normalizedLike = maxLikeCount > 0
-                            ? (double) m.likeCount / maxLikeCount
-                            : 0.0;
-                    
-                    // 가중치 기반 최종 점수 계산
-                    double finalScore = (normalizedSimilarity * SIMILARITY_WEIGHT) + (normalizedLike * LIKE_WEIGHT);
-                    
-                    return new MusicWithFinalScore(
-                            new MusicDto(
-                                    m.trackId,
-                                    m.trackName,
-                                    m.artistName,
-                                    m.imageUrl,
-                                    m.externalUrl,
-                                    m.likeCount
-                            ),
-                            finalScore
-                    );
-                })
-                .sorted(Comparator.comparing((MusicWithFinalScore m) -> m.finalScore).reversed())
-                .limit(30)  // 최종 30개만 반환
-                .map(m -> m.dto)
+    /**
+     * 인덱스 경로: HNSW에서 상위 후보만 가져온 뒤 곡 정보/좋아요 개수 보강
+     * 책 임베딩이 없거나 검색 결과가 비어 있으면 null
+     */
+    private CandidateColumns findIndexedCandidates(String isbn) {
+        float[] bookVector = bookVectorCache.get(isbn).orElse(null);
+        if (bookVector == null) {
+            return null;
+        }
+
+        return toIndexedCandidates(isbn, musicIndexService.search(bookVector, annCandidateCount),
+                musicIndexService.maxSimilarity(bookVector));
+    }
+
+    /**
+     * 인덱스 검색 결과에 곡 정보/좋아요 개수 보강 (결과가 비어 있으면 null)
+     * 근사 검색이므로 검색에서 빠진 유사도 상위 곡은 후보 밖 범위에 반영되지 않음
+     * @param maxSimilarity 카탈로그 최대 유사도
+     */
+    private CandidateColumns toIndexedCandidates(String isbn, List<HnswIndex.SearchResult> results, double maxSimilarity) {
+        if (results.isEmpty()) {
+            return null;
+        }
+
+        List<String> trackIds = results.stream()
+                .map(HnswIndex.SearchResult::key)
                 .collect(Collectors.toList());
+        Map<String, Object[]> rowsByTrackId = new HashMap<>();
+        for (Object[] row : musicRepository.findCandidatesWithLikeCount(isbn, trackIds)) {
+            rowsByTrackId.put((String) row[0], row);
+        }
 
-        // 6) playlist_generation_log 저장 (다음 단계에서 구현)
-        // playlistLogService.save(userId, isbn, musicList);
+        // 인덱스 검색 순서(유사도 오름차순) 유지
+        List<RecommendationCandidate> candidates = new ArrayList<>(results.size());
+        for (HnswIndex.SearchResult result : results) {
+            Object[] r = rowsByTrackId.get(result.key());
+            if (r == null) {
+                continue;
+            }
+            candidates.add(new RecommendationCandidate(
+                    (String) r[0],
+                    (String) r[1],
+                    (String) r[2],
+                    (String) r[3],
+                    (String) r[4],
+                    ((Number) r[5]).longValue(),
+                    result.distance()
+            ));
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return withLikedCandidates(isbn, candidates, results.size() < annCandidateCount, maxSimilarity);
+    }
 
-        return musicList;
+    /**
+     * 유사도 상위 후보(유사도 오름차순)에 좋아요 상위 곡을 더한 열
+     * - 후보 밖 곡의 유사도는 유사도 상위 후보의 마지막 값 이상, 좋아요 개수는 더한 좋아요 상위 곡의 마지막 값 이하
+     * - 이 상한으로 후보 밖 곡이 상위에 들 수 있는지 판단 (CandidateColumns.rank)
+     * @param complete 유사도 상위 후보가 카탈로그 전체인지
+     */
+    private CandidateColumns withLikedCandidates(String isbn, List<RecommendationCandidate> bySimilarity,
+                                                 boolean complete, double maxSimilarity) {
+        List<Object[]> liked = musicRepository.findTopLikedCandidates(isbn, likedCandidateCount);
+        Set<String> trackIds = bySimilarity.stream()
+                .map(RecommendationCandidate::trackId)
+                .collect(Collectors.toCollection(HashSet::new));
+        List<RecommendationCandidate> candidates = new ArrayList<>(bySimilarity);
+        for (Object[] r : liked) {
+            if (trackIds.add((String) r[0])) {
+                candidates.add(new RecommendationCandidate(
+                        (String) r[0],  // track_id
+                        (String) r[1],  // track_name
+                        (String) r[2],  // artist_name
+                        (String) r[3],  // image_url
+                        (String) r[4],  // external_url
+                        ((Number) r[5]).longValue(),  // like_count
+                        ((Number) r[6]).doubleValue()  // similarity_score
+                ));
+            }
+        }
+
+        long outsideMaxLikeCount = liked.size() < likedCandidateCount
+                ? 0L  // 좋아요가 있는 곡은 모두 후보
+                : ((Number) liked.get(liked.size() - 1)[5]).longValue();
+        double outsideMinSimilarity = complete
+                ? Double.POSITIVE_INFINITY
+                : bySimilarity.get(bySimilarity.size() - 1).similarityScore();
+        return CandidateColumns.of(candidates, dislikeCache.trackDictionary(),
+                new CatalogBounds(maxSimilarity, outsideMaxLikeCount, outsideMinSimilarity));
     }
 
-    // 임시 데이터 구조 (유사도 점수 포함)
-    private static class MusicWithScore {
-        String trackId;
-        String trackName;
-        String artistName;
-        String imageUrl;
-        String externalUrl;
-        long likeCount;
-        double similarityScore;
-
-        MusicWithScore(String trackId, String trackName, String artistName, String imageUrl, 
-                      String externalUrl, long likeCount, double similarityScore) {
-            this.trackId = trackId;
-            this.trackName = trackName;
-            this.artistName = artistName;
-            this.imageUrl = imageUrl;
-            this.externalUrl = externalUrl;
-            this.likeCount = likeCount;
-            this.similarityScore = similarityScore;
-        }
-    }
-
-    // 최종 점수 포함 데이터 구조
-    private static class MusicWithFinalScore {
-        MusicDto dto;
-        double finalScore;
-
-        MusicWithFinalScore(MusicDto dto, double finalScore) {
-            this.dto = dto;
-            this.finalScore = finalScore;
-        }
-    }
-
-    // 좋아요/싫어요 저장 또는 업데이트
-    @Transactional
-    public void saveFeedback(Long userId, String bookId, String musicId, String feedback) {
-        // 기존 피드백이 있는지 확인
-        userFeedbackRepository.findByUserIdAndBookIdAndMusicId(userId, bookId, musicId)
-                .ifPresentOrElse(
-                        existingFeedback -> {
-                            // 기존 피드백이 있으면 feedback만 업데이트
-                            existingFeedback.updateFeedback(feedback);
-                            userFeedbackRepository.save(existingFeedback);
-                        },
-                        () -> {
-                            // 기존 피드백이 없으면 새로 생성
-                            UserFeedback newFeedback = new UserFeedback(userId, bookId, musicId, feedback);
-                            userFeedbackRepository.save(newFeedback);
-                        }
-                );
+    /**
+     * SQL 경로: 전체 음악을 fetch size 단위로 스캔해 후보 열로 모은 뒤 점수 계산 풀에서 순위 계산
+     * 질의 벡터는 책 벡터에 사용자 취향 벡터를 섞은 값
+     * 싫어요 곡은 쿼리에서 제외되고, 정규화용 min/max는 남은 전체 곡(후보 열)에서 계산
+     * 카탈로그 전체가 후보이므로 후보 밖 곡이 없어 순위가 항상 확정됨
+     */
+    private List<MusicDto> recommendFromDatabase(String isbn, Long userId, int limit) {
+        float[] bookVector = bookVectorCache.get(isbn).orElse(null);
+        if (bookVector == null) {
+            return new ArrayList<>();  // 책 임베딩이 없으면 유사도를 계산할 수 없음
+        }
+        List<RecommendationCandidate> candidates = new ArrayList<>();
+
+        float[] query = userTasteService.blendQuery(bookVector, userId);
+        candidateScanRepository.scanByIsbn(isbn, VectorMath.toText(query), userId, rs -> candidates.add(
+                new RecommendationCandidate(
+                        rs.getString(1),  // track_id
+                        rs.getString(2),  // track_name
+                        rs.getString(3),  // artist_name
+                        rs.getString(4),  // image_url
+                        rs.getString(5),  // external_url
+                        rs.getLong(6),    // like_count
+                        rs.getDouble(7)   // similarity_score, negative inner product, 작을수록 유사
+                )));
+
+        return CandidateColumns.of(candidates, dislikeCache.trackDictionary())
+                .rank(IntBitmap.EMPTY, limit, scoringPool.scoring());
+    }
+
+    /**
+     * 여러 책의 플레이리스트 한 번에 조회 (ISBN → 상위 30곡, 요청 순서 유지)
+     * - 사용자 싫어요는 비트맵 캐시에서 ISBN별로 조회 (미스면 한 번의 쿼리로 로드)
+     * - 캐시/사전 계산에 없는 책은 벡터를 한 번에 읽어 인덱스 검색
+     * - 인덱스 검색과 점수 계산은 ISBN별로 병렬 처리 (DB 조회는 호출 스레드에서 수행, 점수 계산은 전용 풀 사용)
+     */
+    public Map<String, List<MusicDto>> recommendBatch(List<String> isbns, Long userId) {
+        return readAfterFlush(userId, status -> rankBatch(isbns, userId));
+    }
+
+    private Map<String, List<MusicDto>> rankBatch(List<String> isbns, Long userId) {
+        List<String> distinctIsbns = isbns.stream().distinct().collect(Collectors.toList());
+        Map<String, CandidateColumns> candidatesByIsbn = loadCandidates(distinctIsbns);
+
+        // 싫어요 비트맵과 취향 반영에 필요한 책 벡터는 병렬 처리 전에 호출 스레드에서 로드
+        Map<String, IntBitmap> dislikedByIsbn = new HashMap<>();
+        candidatesByIsbn.keySet().forEach(isbn -> dislikedByIsbn.put(isbn, dislikeCache.find(userId, isbn)));
+        if (userTasteService.find(userId) != null) {
+            bookVectorCache.getAll(candidatesByIsbn.keySet());
+        }
+
+        // ISBN별 점수 계산은 공용 풀 대신 전용 점수 계산 풀에서 실행
+        // 후보 밖 곡이 상위에 들 수 있어 순위를 확정할 수 없는 ISBN은 결과에 넣지 않음 (아래 SQL 경로)
+        Map<String, List<MusicDto>> ranked = new ConcurrentHashMap<>();
+        scoringPool.pool().submit(() -> candidatesByIsbn.entrySet().parallelStream().forEach(entry -> {
+            List<MusicDto> musicList = personalize(entry.getValue(), entry.getKey(), userId).rank(
+                    dislikedByIsbn.get(entry.getKey()),
+                    RecommendationScorer.PLAYLIST_SIZE,
+                    scoringPool.scoring());
+            if (musicList != null) {
+                ranked.put(entry.getKey(), musicList);
+            }
+        })).join();
+
+        Map<String, List<MusicDto>> playlists = new LinkedHashMap<>();
+        for (String isbn : distinctIsbns) {
+            List<MusicDto> musicList = ranked.get(isbn);
+            // 후보를 만들 수 없거나 순위를 확정할 수 없는 책은 SQL 경로 (스트리밍 쿼리는 트랜잭션 스레드에서만 실행)
+            playlists.put(isbn, musicList != null
+                    ? musicList
+                    : recommendFromDatabase(isbn, userId, RecommendationScorer.PLAYLIST_SIZE));
+        }
+        return playlists;
+    }
+
+    /**
+     * 여러 책의 후보 로드 (캐시 → 사전 계산 → HNSW 인덱스)
+     * 후보를 만들 수 없는 ISBN은 결과에 포함되지 않음
+     */
+    private Map<String, CandidateColumns> loadCandidates(List<String> isbns) {
+        Map<String, CandidateColumns> candidatesByIsbn = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String isbn : isbns) {
+            CandidateColumns candidates = candidateCache.getIfPresent(isbn);
+            if (candidates == null) {
+                candidates = findMaterializedCandidates(isbn);
+                if (candidates != null) {
+                    candidateCache.put(isbn, candidates);
+                }
+            }
+            if (candidates != null) {
+                candidatesByIsbn.put(isbn, candidates);
+            } else {
+                missing.add(isbn);
+            }
+        }
+        if (missing.isEmpty() || !musicIndexService.isReady()) {
+            return candidatesByIsbn;
+        }
+
+        // 책 벡터는 캐시 미스만 한 번의 쿼리로 읽고, 인덱스 검색만 전용 점수 계산 풀에서 병렬 실행
+        Map<String, float[]> bookVectors = bookVectorCache.getAll(missing);
+        Map<String, List<HnswIndex.SearchResult>> resultsByIsbn = new ConcurrentHashMap<>();
+        Map<String, Double> maxSimilarityByIsbn = new ConcurrentHashMap<>();
+        scoringPool.pool().submit(() -> bookVectors.entrySet().parallelStream().forEach(entry -> {
+            resultsByIsbn.put(entry.getKey(), musicIndexService.search(entry.getValue(), annCandidateCount));
+            maxSimilarityByIsbn.put(entry.getKey(), musicIndexService.maxSimilarity(entry.getValue()));
+        })).join();
+
+        resultsByIsbn.forEach((isbn, results) -> {
+            CandidateColumns candidates = toIndexedCandidates(isbn, results, maxSimilarityByIsbn.get(isbn));
+            if (candidates != null) {
+                candidateCache.put(isbn, candidates);
+                candidatesByIsbn.put(isbn, candidates);
+            }
+        });
+        return candidatesByIsbn;
+    }
+
+    /**
+     * 좋아요/싫어요 저장 또는 업데이트 (단일 upsert 문장)
+     * write-behind 모드면 대기열에 넣고 바로 반환 (대기열을 쓸 수 없으면 즉시 저장)
+     * 값이 바뀐 경우에만 취향 벡터와 좋아요 집계(커밋 후 이벤트)에 반영
+     */
+    public FeedbackSaveResult saveFeedback(Long userId, String bookId, String musicId, String feedback) {
+        FeedbackSaveResult queued = feedbackWriteBehind.enqueue(userId, bookId, musicId, feedback);
+        if (queued != null) {
+            return queued;
+        }
+        // 대기 중인 이전 값이 나중에 덮어쓰지 않도록 먼저 반영
+        feedbackWriteBehind.flushUser(userId);
+        return transactionTemplate.execute(
+                status -> feedbackWriter.write(new FeedbackWrite(userId, bookId, musicId, feedback)));
     }
 
     // 좋아요 목록 조회 (특정 책)
     public List<Map<String, Object>> getLikedSongs(Long userId, String bookId) {
-        // 1) 유저의 특정 책에 대한 좋아요 피드백 목록 조회
+        // 1) 유저의 특정 책에 대한 좋아요 피드백 목록 조회 (대기 중인 피드백 먼저 반영)
+        feedbackWriteBehind.flushUser(userId);
         List<UserFeedback> likedFeedbacks = userFeedbackRepository.findByUserIdAndBookIdAndFeedback(userId, bookId, "like");
 
         // 2) 각 피드백을 Map으로 변환 (프론트엔드 요구사항에 맞춤)
@@ -185,44 +488,44 @@ public class MusicService {
                 .collect(Collectors.toList());
     }
 
-    // 싫어요 목록 조회
+    /**
+     * 싫어요 목록 전체 조회 (feedback_id 순, 책/음악 정보를 조인한 한 번의 쿼리)
+     */
     public List<DislikedSongDto> getDislikedSongs(Long userId) {
-        // 1) 유저의 싫어요 피드백 목록 조회
-        List<UserFeedback> dislikedFeedbacks = userFeedbackRepository.findByUserIdAndFeedback(userId, "dislike");
+        // 대기 중인 피드백 먼저 반영
+        return readAfterFlush(userId,
+                status -> userFeedbackRepository.findDislikedSongs(userId, 0L, Pageable.unpaged()));
+    }
 
-        // 2) 각 피드백에 대해 책과 음악 정보 조회하여 DTO로 변환
-        return dislikedFeedbacks.stream()
-                .map(feedback -> {
-                    String isbn = feedback.getBookId(); // user_feedback.book_id는 실제로 isbn 값을 저장
-                    BookEntity book = bookRepository.findById(isbn)
-                            .orElse(null);
-                    MusicEntity music = musicRepository.findById(feedback.getMusicId())
-                            .orElse(null);
-
-                    // 음악 정보가 없으면 제외 (책 정보는 없어도 isbn은 포함)
-                    if (music == null) {
-                        return null;
-                    }
-
-                    // 책 정보가 없어도 isbn은 포함하여 반환
-                    return new DislikedSongDto(
-                            feedback.getFeedbackId(),
-                            isbn, // isbn은 항상 포함 (user_feedback.book_id 값)
-                            book != null ? book.getTitle() : null,
-                            book != null ? book.getImage() : null,
-                            music.getTrackId(),
-                            music.getTrackName(),
-                            music.getArtistName(),
-                            music.getImageUrl()
-                    );
-                })
-                .filter(dto -> dto != null) // null 제외
-                .collect(Collectors.toList());
+    /**
+     * 싫어요 목록 한 페이지 조회 (feedback_id 순)
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기 (null이면 기본 page-size)
+     */
+    public DislikedSongPage getDislikedSongs(Long userId, Long cursor, Integer size) {
+        int pageSize = size != null ? size : dislikedPageSize;
+        if (pageSize < 1 || pageSize > dislikedMaxPageSize) {
+            throw new IllegalArgumentException("size는 1 이상 " + dislikedMaxPageSize + " 이하여야 합니다.");
+        }
+
+        // 대기 중인 피드백 먼저 반영 후, 책/음악 정보를 조인한 한 번의 쿼리로 조회 (다음 페이지 여부를 알기 위해 1건 더 읽음)
+        List<DislikedSongDto> songs = readAfterFlush(userId, status -> userFeedbackRepository.findDislikedSongs(
+                userId, cursor != null ? cursor : 0L, PageRequest.of(0, pageSize + 1)));
+        if (songs.size() <= pageSize) {
+            return new DislikedSongPage(songs, null);
+        }
+        List<DislikedSongDto> page = songs.subList(0, pageSize);
+        return new DislikedSongPage(page, page.get(page.size() - 1).feedbackId());
     }
 
     // 싫어요 취소 (피드백 삭제)
-    @Transactional
     public void deleteFeedback(Long userId, Long feedbackId) {
+        // 대기 중인 피드백이 삭제 후 다시 저장되지 않도록 먼저 반영
+        feedbackWriteBehind.flushUser(userId);
+        transactionTemplate.executeWithoutResult(status -> deleteOwnFeedback(userId, feedbackId));
+    }
+
+    private void deleteOwnFeedback(Long userId, Long feedbackId) {
         UserFeedback feedback = userFeedbackRepository.findById(feedbackId)
                 .orElseThrow(() -> new IllegalArgumentException("피드백을 찾을 수 없습니다."));
 
@@ -232,5 +535,21 @@ public class MusicService {
         }
 
         userFeedbackRepository.delete(feedback);
+        userTasteService.applyFeedback(userId, feedback.getMusicId(), feedback.getFeedback(), null);
+
+        // 커밋 후 좋아요 집계 등에 반영
+        eventPublisher.publishEvent(new FeedbackChangedEvent(
+                userId, feedback.getBookId(), feedback.getMusicId(), feedback.getFeedback(), null));
+    }
+
+    /**
+     * 대기 중인 이 사용자의 피드백을 먼저 반영한 뒤 읽기 전용 트랜잭션에서 조회
+     * (반영은 별도 트랜잭션이므로 조회 트랜잭션이 연결을 잡기 전에 끝내야 요청당 연결 하나만 사용)
+     */
+    private <T> T readAfterFlush(Long userId, TransactionCallback<T> query) {
+        feedbackWriteBehind.flushUser(userId);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        return readOnly.execute(query);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,91 @@
+package com.musiccheck.domain.music.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 플레이리스트 페이지네이션용 순위 목록 보관소 (곡 정보 대신 track_id 순서만 보관)
+ * - 첫 페이지를 반환할 때 다음 페이지가 있으면 첫 페이지 track_id만 담은 세션을 만들고 세션 ID는 서버에서 발급
+ * - 그 커서로 처음 다음 페이지를 요청할 때 나머지 순위를 한 번 계산해 첫 페이지 곡을 뺀 뒤 이어 붙임
+ *   (첫 페이지 이후 싫어요가 바뀌어도 앞 페이지 곡이 다시 나오거나 빠지지 않음)
+ * - 이후 페이지는 세션의 순서에서 잘라서 반환 (벡터 검색/정렬을 다시 하지 않음)
+ * - 짧은 TTL(마지막 접근 기준)로 만료, 지표는 cache=playlist.sessions
+ */
+@Service
+public class PlaylistSessionCache {
+
+    private static final String CACHE_NAME = "playlist.sessions";
+
+    private final Cache<String, Session> cache;
+
+    public PlaylistSessionCache(
+            MeterRegistry meterRegistry,
+            @Value("${musiccheck.recommend.playlist.session-max-size:10000}") long maxSize,
+            @Value("${musiccheck.recommend.playlist.session-ttl:5m}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 새 세션 저장 (세션 ID는 여기서 발급)
+     * @param trackIds 이미 순위가 정해진 곡 (첫 페이지만이면 complete=false)
+     * @param complete 순위 목록 전체가 담겼는지
+     */
+    public Session create(Long userId, String isbn, List<String> trackIds, boolean complete) {
+        Session session = new Session(UUID.randomUUID().toString(), userId, isbn, List.copyOf(trackIds), complete);
+        cache.put(session.id(), session);
+        return session;
+    }
+
+    /**
+     * 첫 페이지만 담긴 세션에 나머지 순위를 이어 붙임 (이미 담긴 곡은 제외, 전체 maxTracks곡까지)
+     * 같은 커서로 동시에 요청해 먼저 완성된 세션이 있으면 그 세션 반환, 그 사이 만료되었으면 null
+     */
+    public Session complete(Session session, List<String> ranked, int maxTracks) {
+        return cache.asMap().computeIfPresent(session.id(),
+                (id, current) -> current.complete() ? current : current.append(ranked, maxTracks));
+    }
+
+    /**
+     * 세션 조회 (만료되었거나 다른 사용자/ISBN의 세션이면 null)
+     */
+    public Session find(String sessionId, Long userId, String isbn) {
+        Session session = cache.getIfPresent(sessionId);
+        return session != null && Objects.equals(session.userId(), userId) && session.isbn().equals(isbn)
+                ? session : null;
+    }
+
+    public record Session(String id, Long userId, String isbn, List<String> trackIds, boolean complete) {
+
+        Session append(List<String> ranked, int maxTracks) {
+            Set<String> seen = new HashSet<>(trackIds);
+            List<String> merged = new ArrayList<>(trackIds);
+            for (String trackId : ranked) {
+                if (merged.size() >= maxTracks) {
+                    break;
+                }
+                if (seen.add(trackId)) {
+                    merged.add(trackId);
+                }
+            }
+            return new Session(id, userId, isbn, List.copyOf(merged), true);
+        }
+    }
+}
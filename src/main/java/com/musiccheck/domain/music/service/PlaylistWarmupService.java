@@ -0,0 +1,120 @@
+package com.musiccheck.domain.music.service;
+
+import com.musiccheck.domain.book.event.BookSelectedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 책 선택 시 추천 후보 선계산
+ * - 선택 이벤트 커밋 후 해당 ISBN의 후보를 비동기로 캐시에 적재 (이어지는 플레이리스트 조회가 캐시 히트)
+ * - 후보는 사용자 무관이므로 ISBN 단위로 중복 제거 (이미 캐시에 있거나 적재 중이면 건너뜀)
+ * - 대기 큐 크기를 제한해 선택이 몰려도 작업이 쌓이지 않음 (가득 차면 버리고 조회 시 계산)
+ * - 처리 결과는 playlist.warmup 메트릭(result 태그)으로 노출
+ */
+@Slf4j
+@Service
+public class PlaylistWarmupService {
+
+    private static final String METRIC_NAME = "playlist.warmup";
+
+    private final MusicService musicService;
+    private final RecommendationCandidateCache candidateCache;
+    private final boolean enabled;
+    private final ThreadPoolExecutor executor;
+
+    // 큐에 있거나 실행 중인 ISBN
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final Counter submitted;
+    private final Counter skipped;
+    private final Counter rejected;
+    private final Counter failed;
+
+    public PlaylistWarmupService(
+            MusicService musicService,
+            RecommendationCandidateCache candidateCache,
+            MeterRegistry meterRegistry,
+            @Value("${musiccheck.recommend.warmup.enabled:true}") boolean enabled,
+            @Value("${musiccheck.recommend.warmup.threads:2}") int threads,
+            @Value("${musiccheck.recommend.warmup.queue-size:100}") int queueSize
+    ) {
+        this.musicService = musicService;
+        this.candidateCache = candidateCache;
+        this.enabled = enabled;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "playlist-warmup-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.submitted = meterRegistry.counter(METRIC_NAME, "result", "submitted");
+        this.skipped = meterRegistry.counter(METRIC_NAME, "result", "skipped");
+        this.rejected = meterRegistry.counter(METRIC_NAME, "result", "rejected");
+        this.failed = meterRegistry.counter(METRIC_NAME, "result", "failed");
+        meterRegistry.gauge(METRIC_NAME + ".queue", executor, e -> e.getQueue().size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookSelected(BookSelectedEvent event) {
+        if (enabled) {
+            submit(event.isbn());
+        }
+    }
+
+    /**
+     * ISBN 후보 선계산 요청
+     * @return 새로 큐에 넣었으면 true (이미 캐시/적재 중이거나 큐가 가득 차면 false)
+     */
+    public boolean submit(String isbn) {
+        if (candidateCache.getIfPresent(isbn) != null || !inFlight.add(isbn)) {
+            skipped.increment();
+            return false;
+        }
+        try {
+            executor.execute(() -> warmUp(isbn));
+            submitted.increment();
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(isbn);
+            rejected.increment();
+            return false;
+        }
+    }
+
+    private void warmUp(String isbn) {
+        try {
+            if (!musicService.warmUp(isbn)) {
+                log.debug("추천 후보 선계산 불가 (사전 계산/인덱스 없음): {}", isbn);
+            }
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("추천 후보 선계산 실패: {}", isbn, e);
+        } finally {
+            inFlight.remove(isbn);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,85 @@
+package com.musiccheck.domain.music.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.musiccheck.domain.music.event.FeedbackChangedEvent;
+import com.musiccheck.domain.music.recommend.CandidateColumns;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * ISBN별 추천 후보 캐시 (싫어요 필터 적용 전, 사용자 무관)
+ * - 크기/TTL 기반 제거
+ * - 좋아요 변경 시 해당 ISBN 항목의 좋아요 개수만 패치 (후보 밖 곡이면 항목 제거)
+ * - hit/miss/eviction 지표는 cache.* 메트릭(cache=recommendation.candidates)으로 노출
+ */
+@Service
+public class RecommendationCandidateCache {
+
+    private static final String CACHE_NAME = "recommendation.candidates";
+
+    private final Cache<String, CandidateColumns> cache;
+
+    public RecommendationCandidateCache(
+            MeterRegistry meterRegistry,
+            @Value("${musiccheck.recommend.cache.max-size:2000}") long maxSize,
+            @Value("${musiccheck.recommend.cache.ttl:10m}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader로 로드 (loader가 null을 반환하면 캐시하지 않음)
+     */
+    public CandidateColumns get(String isbn, Function<String, CandidateColumns> loader) {
+        return cache.get(isbn, loader);
+    }
+
+    // 캐시된 후보만 조회 (없으면 null, 배치 조회에서 미스만 모아 로드할 때 사용)
+    public CandidateColumns getIfPresent(String isbn) {
+        return cache.getIfPresent(isbn);
+    }
+
+    public void put(String isbn, CandidateColumns candidates) {
+        cache.put(isbn, candidates);
+    }
+
+    public void invalidate(String isbn) {
+        cache.invalidate(isbn);
+    }
+
+    public void invalidateAll(Collection<String> isbns) {
+        cache.invalidateAll(isbns);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 좋아요 변경 시 해당 ISBN 항목에서 그 곡의 좋아요 개수만 증감
+     * 후보 밖 곡이면 카탈로그 최대 좋아요 개수를 다시 읽도록 항목 제거 (withLikeDelta가 null)
+     * (싫어요는 사용자별 필터라 캐시에 영향 없음)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        long delta = event.likeDelta();
+        if (delta == 0) {
+            return;
+        }
+        cache.asMap().computeIfPresent(event.bookId(),
+                (isbn, candidates) -> candidates.withLikeDelta(event.musicId(), delta));
+    }
+}
@@ -0,0 +1,199 @@
+package com.musiccheck.domain.music.service;
+
+import com.musiccheck.domain.book.service.BookVectorCache;
+import com.musiccheck.domain.music.repository.BookMusicRecommendationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 책(ISBN)별 유사도 상위 N곡 사전 계산 배치
+ * - 시작 시 + 주기적으로 실행
+ * - 책 임베딩이 바뀐 ISBN만 전체 재계산
+ * - 음악 임베딩이 바뀌면: 그 곡을 포함한 ISBN은 재계산, 나머지는 새 곡이 상위 N에 드는 ISBN에만 추가
+ * - 카탈로그 최대 유사도는 더 먼 곡이 들어오면 올리고, 그 값을 정한 곡이 바뀌거나 빠지면 다시 계산
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecommendationMaterializeService {
+
+    private static final int ISBN_BATCH_SIZE = 50;
+    private static final int TRACK_BATCH_SIZE = 500;
+
+    private final BookMusicRecommendationRepository recommendationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RecommendationCandidateCache candidateCache;
+    private final BookVectorCache bookVectorCache;
+
+    @Value("${musiccheck.recommend.materialized.enabled:true}")
+    private boolean enabled;
+
+    @Value("${musiccheck.recommend.materialized.top-n:300}")
+    private int topN;
+
+    private final StartupTask startupRefresh = new StartupTask();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ISBN별로 계산하는 유사도 상위 곡 수 (이보다 적게 저장된 ISBN은 카탈로그 전체가 후보)
+    public int topN() {
+        return topN;
+    }
+
+    /**
+     * 사전 계산된 추천 후보 조회 (사용자 무관, 유사도 오름차순)
+     * 비활성화되었거나 아직 계산되지 않은 ISBN이면 빈 목록
+     */
+    public List<Object[]> findCandidateRows(String isbn) {
+        if (!enabled) {
+            return List.of();
+        }
+        return recommendationRepository.findCandidatesByIsbn(isbn);
+    }
+
+    /**
+     * 시작 시 사전 계산 갱신을 백그라운드에서 시작 (readiness를 막지 않음, 계산 전 ISBN은 인덱스/SQL 경로)
+     * 시작 warm-up(StartupWarmupService)보다 먼저 시작해 warm-up이 제한 시간 안에서 기다릴 수 있게 함
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshOnStartup() {
+        if (!enabled) {
+            startupRefresh.skip();
+            return;
+        }
+        startupRefresh.start("recommendation-materialize-startup", () -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn("추천 사전 계산 실패 - 실시간 계산 경로 사용", e);
+            }
+        });
+    }
+
+    /**
+     * 시작 시 사전 계산 갱신이 끝날 때까지 최대 deadline(System.nanoTime 기준)까지 대기
+     * @return 끝났으면 true
+     */
+    public boolean awaitStartupRefresh(long deadlineNanos) {
+        return startupRefresh.await(deadlineNanos);
+    }
+
+    @Scheduled(fixedDelayString = "${musiccheck.recommend.materialized.refresh-interval-ms:600000}",
+            initialDelayString = "${musiccheck.recommend.materialized.refresh-interval-ms:600000}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+
+        // 1) 임베딩이 없어진 책 정리
+        transactionTemplate.executeWithoutResult(status -> {
+            recommendationRepository.deleteOrphanedRecommendations();
+            recommendationRepository.deleteOrphanedStates();
+        });
+
+        // 2) 음악 임베딩 변경분 반영
+        int musicAffected = applyMusicChanges();
+
+        // 3) 신규 ISBN / 책 임베딩이 바뀐 ISBN 재계산
+        int bookRefreshed = 0;
+        List<String> staleIsbns;
+        while (!(staleIsbns = recommendationRepository.findStaleIsbns(ISBN_BATCH_SIZE)).isEmpty()) {
+            bookVectorCache.invalidateAll(staleIsbns);
+            recompute(staleIsbns);
+            bookRefreshed += staleIsbns.size();
+        }
+
+        if (musicAffected > 0 || bookRefreshed > 0) {
+            log.info("추천 사전 계산 갱신: 책 {}건, 음악 변경으로 재계산 {}건, {}ms",
+                    bookRefreshed, musicAffected, System.currentTimeMillis() - startedAt);
+        }
+    }
+
+    /**
+     * 지정한 ISBN만 즉시 재계산
+     */
+    public void refreshIsbns(Collection<String> isbns) {
+        if (!enabled || isbns.isEmpty()) {
+            return;
+        }
+        inBatches(new ArrayList<>(isbns), ISBN_BATCH_SIZE, this::recompute);
+    }
+
+    // 음악 임베딩 변경 반영, 재계산한 ISBN 수 반환
+    private int applyMusicChanges() {
+        List<String> changed = recommendationRepository.findChangedTrackIds();
+        List<String> removed = recommendationRepository.findRemovedTrackIds();
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return 0;
+        }
+
+        // 첫 실행(계산된 ISBN 없음)이면 3단계에서 전체 계산되므로 스냅샷만 기록
+        Set<String> affectedIsbns = new LinkedHashSet<>();
+        if (recommendationRepository.countMaterializedIsbns() > 0) {
+            // 변경/삭제된 곡을 이미 포함한 ISBN은 전체 재계산
+            List<String> touched = new ArrayList<>(changed);
+            touched.addAll(removed);
+            inBatches(touched, TRACK_BATCH_SIZE,
+                    batch -> affectedIsbns.addAll(recommendationRepository.findIsbnsContainingTracks(batch)));
+            inBatches(new ArrayList<>(affectedIsbns), ISBN_BATCH_SIZE, this::recompute);
+
+            // 카탈로그 최대 유사도를 정한 곡이 변경/삭제된 ISBN은 최대 유사도만 다시 계산 (곡이 빠지면 낮아질 수 있음)
+            Set<String> boundIsbns = new LinkedHashSet<>();
+            inBatches(touched, TRACK_BATCH_SIZE,
+                    batch -> boundIsbns.addAll(recommendationRepository.findIsbnsByMaxSimilarityTracks(batch)));
+            boundIsbns.removeAll(affectedIsbns);
+            inBatches(new ArrayList<>(boundIsbns), ISBN_BATCH_SIZE, batch -> transactionTemplate.executeWithoutResult(
+                    status -> recommendationRepository.recomputeMaxSimilarity(batch)));
+
+            // 나머지 ISBN은 새 곡이 상위 N에 드는 경우에만 추가 후 N개로 자르기
+            inBatches(changed, TRACK_BATCH_SIZE, batch -> transactionTemplate.executeWithoutResult(status -> {
+                recommendationRepository.mergeTracks(batch, topN);
+                recommendationRepository.trimToTopN(batch, topN);
+                recommendationRepository.raiseMaxSimilarity(batch);
+            }));
+            candidateCache.invalidateAll();
+        }
+
+        inBatches(changed, TRACK_BATCH_SIZE, batch -> transactionTemplate.executeWithoutResult(
+                status -> recommendationRepository.upsertMusicStates(batch)));
+        inBatches(removed, TRACK_BATCH_SIZE, batch -> transactionTemplate.executeWithoutResult(
+                status -> recommendationRepository.deleteMusicStates(batch)));
+
+        return affectedIsbns.size();
+    }
+
+    // ISBN 묶음의 상위 N곡 전체 재계산
+    private void recompute(List<String> isbns) {
+        transactionTemplate.executeWithoutResult(status -> {
+            recommendationRepository.deleteByIsbns(isbns);
+            recommendationRepository.insertTopTracks(isbns, topN);
+            recommendationRepository.upsertStates(isbns);
+        });
+        candidateCache.invalidateAll(isbns);
+    }
+
+    private static void inBatches(List<String> values, int batchSize, Consumer<List<String>> action) {
+        for (int from = 0; from < values.size(); from += batchSize) {
+            action.accept(values.subList(from, Math.min(from + batchSize, values.size())));
+        }
+    }
+}
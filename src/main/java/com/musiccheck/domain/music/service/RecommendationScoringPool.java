@@ -0,0 +1,68 @@
+package com.musiccheck.domain.music.service;
+
+import com.musiccheck.domain.music.recommend.ParallelScoring;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 추천 점수 계산 전용 ForkJoinPool
+ * - 공용 풀(commonPool)과 분리해 크기를 제한하므로 요청 처리 스레드가 CPU를 잃지 않음
+ * - parallelism이 0 이하이면 코어 수의 절반 사용 (결과가 1이면 병렬 계산을 쓰지 않음)
+ * - 병렬 계산은 후보 수가 parallel-threshold 이상일 때만 사용: 캐시/인덱스 후보(약 300곡)는 호출 스레드에서 순차 계산,
+ *   카탈로그 전체를 읽는 SQL 경로(캐시 미스, 순위 미확정)는 행을 후보 열로 모은 뒤 이 풀에서 청크 단위로 계산
+ * - 풀 상태는 executor.* 메트릭(name=recommend.scoring)으로 노출
+ */
+@Slf4j
+@Service
+public class RecommendationScoringPool {
+
+    private static final String POOL_NAME = "recommend.scoring";
+
+    private final ForkJoinPool pool;
+    private final ParallelScoring scoring;
+
+    public RecommendationScoringPool(
+            MeterRegistry meterRegistry,
+            @Value("${musiccheck.recommend.scoring.parallelism:0}") int parallelism,
+            @Value("${musiccheck.recommend.scoring.parallel-threshold:4096}") int threshold,
+            @Value("${musiccheck.recommend.scoring.chunk-size:1024}") int chunkSize
+    ) {
+        int size = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.pool = new ForkJoinPool(size, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("recommend-scoring-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        // 워커가 1개면 나눠도 이득이 없으므로 순차 계산
+        this.scoring = size > 1 ? new ParallelScoring(pool, threshold, chunkSize) : ParallelScoring.SEQUENTIAL;
+        new ExecutorServiceMetrics(pool, POOL_NAME, Tags.empty()).bindTo(meterRegistry);
+        log.info("추천 점수 계산 풀: parallelism={}, threshold={}, chunkSize={}", size, threshold, chunkSize);
+    }
+
+    public ParallelScoring scoring() {
+        return scoring;
+    }
+
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdown();
+        try {
+            pool.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
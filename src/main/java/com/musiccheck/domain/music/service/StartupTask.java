@@ -0,0 +1,49 @@
+package com.musiccheck.domain.music.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 시작 시 무거운 작업(인덱스 빌드, 추천 사전 계산)을 백그라운드 스레드에서 실행
+ * - ApplicationReadyEvent 리스너에서 동기로 실행하면 readiness 전환이 작업 시간만큼 늦어지므로 스레드만 시작하고 반환
+ * - 결과가 필요한 곳(StartupWarmupService)만 마감 시각까지 기다림
+ */
+final class StartupTask {
+
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    void start(String threadName, Runnable task) {
+        Thread thread = new Thread(() -> {
+            try {
+                task.run();
+            } finally {
+                done.complete(null);
+            }
+        }, threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // 실행할 작업이 없음 (비활성화)
+    void skip() {
+        done.complete(null);
+    }
+
+    /**
+     * 작업이 끝날 때까지 최대 deadline(System.nanoTime 기준)까지 대기
+     * @return 끝났으면 true
+     */
+    boolean await(long deadlineNanos) {
+        try {
+            done.get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException e) {
+            return done.isDone();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.musiccheck.domain.music.service;
+
+import com.musiccheck.domain.book.repository.UserHistoryRepository;
+import com.musiccheck.domain.book.service.BookVectorCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 배포 직후 자주 선택되는 책의 추천 경로 warm-up
+ * - 최근 user_history에서 많이 선택된 ISBN을 골라 책 벡터/추천 후보를 캐시에 적재하고 점수 계산 경로를 실행
+ *   (DB 버퍼 캐시, 앱 캐시, JIT가 함께 데워짐)
+ * - ApplicationReadyEvent 리스너 중 마지막에 동기 실행
+ *   → 끝나야 readiness가 ACCEPTING_TRAFFIC으로 바뀌므로 warm-up 중에는 트래픽을 받지 않음
+ * - 인덱스 빌드/사전 계산은 백그라운드에서 실행되고, warm-up은 같은 timeout 안에서만 그 완료를 기다림
+ *   (readiness 지연은 최대 timeout, 늦게 끝난 빌드/계산은 ready 이후 반영되고 그 전 요청은 SQL 경로 등으로 처리)
+ * - timeout을 넘기면 남은 ISBN은 건너뛰고 ready 처리 (warm-up 실패가 배포를 막지 않음)
+ * - 지표: startup.warmup.duration, startup.warmup.isbns(result=warmed|missed|skipped),
+ *   startup.warmup.coverage(최근 선택 중 warm-up된 책이 차지하는 비율)
+ */
+@Slf4j
+@Service
+public class StartupWarmupService {
+
+    private static final String METRIC_PREFIX = "startup.warmup";
+
+    private final UserHistoryRepository userHistoryRepository;
+    private final BookVectorCache bookVectorCache;
+    private final MusicService musicService;
+    private final MusicIndexService musicIndexService;
+    private final RecommendationMaterializeService materializeService;
+    private final boolean enabled;
+    private final int isbnCount;
+    private final Duration historyWindow;
+    private final Duration timeout;
+
+    private final Timer duration;
+    private final Map<String, AtomicLong> isbnCounts = new HashMap<>();
+    private final AtomicReference<Double> coverage = new AtomicReference<>(0.0);
+
+    public StartupWarmupService(
+            UserHistoryRepository userHistoryRepository,
+            BookVectorCache bookVectorCache,
+            MusicService musicService,
+            MusicIndexService musicIndexService,
+            RecommendationMaterializeService materializeService,
+            MeterRegistry meterRegistry,
+            @Value("${musiccheck.recommend.startup-warmup.enabled:true}") boolean enabled,
+            @Value("${musiccheck.recommend.startup-warmup.isbn-count:200}") int isbnCount,
+            @Value("${musiccheck.recommend.startup-warmup.history-window:7d}") Duration historyWindow,
+            @Value("${musiccheck.recommend.startup-warmup.timeout:60s}") Duration timeout
+    ) {
+        this.userHistoryRepository = userHistoryRepository;
+        this.bookVectorCache = bookVectorCache;
+        this.musicService = musicService;
+        this.musicIndexService = musicIndexService;
+        this.materializeService = materializeService;
+        this.enabled = enabled;
+        this.isbnCount = isbnCount;
+        this.historyWindow = historyWindow;
+        this.timeout = timeout;
+
+        this.duration = Timer.builder(METRIC_PREFIX + ".duration").register(meterRegistry);
+        for (String result : List.of("warmed", "missed", "skipped")) {
+            isbnCounts.put(result, meterRegistry.gauge(METRIC_PREFIX + ".isbns",
+                    Tags.of("result", result), new AtomicLong()));
+        }
+        meterRegistry.gauge(METRIC_PREFIX + ".coverage", coverage, AtomicReference::get);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            warmUp();
+        } catch (RuntimeException e) {
+            log.warn("시작 warm-up 실패 - 캐시 없이 서비스 시작", e);
+        }
+    }
+
+    /**
+     * 최근 많이 선택된 책부터 순서대로 warm-up
+     */
+    public void warmUp() {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + timeout.toNanos();
+        LocalDateTime since = LocalDateTime.now().minus(historyWindow);
+
+        // 백그라운드 인덱스 빌드/사전 계산을 기다림 (같은 timeout 안에서, 못 끝나면 쓸 수 있는 경로로 warm-up)
+        boolean indexBuilt = musicIndexService.awaitStartupBuild(deadline);
+        boolean materialized = materializeService.awaitStartupRefresh(deadline);
+        if (!indexBuilt || !materialized) {
+            log.info("시작 warm-up 제한 시간 안에 끝나지 않음: 인덱스 빌드 {}, 추천 사전 계산 {}",
+                    indexBuilt ? "완료" : "진행 중", materialized ? "완료" : "진행 중");
+        }
+
+        List<String> isbns = new ArrayList<>();
+        Map<String, Long> selections = new HashMap<>();
+        for (Object[] row : userHistoryRepository.findMostSelectedBookIds(since, isbnCount)) {
+            String isbn = (String) row[0];
+            isbns.add(isbn);
+            selections.put(isbn, ((Number) row[1]).longValue());
+        }
+        if (isbns.isEmpty()) {
+            log.info("시작 warm-up 대상 없음 (최근 {} 선택 기록 없음)", historyWindow);
+            return;
+        }
+
+        // 책 벡터는 한 번의 쿼리로 적재
+        bookVectorCache.getAll(isbns);
+
+        long warmed = 0;
+        long missed = 0;
+        long warmedSelections = 0;
+        for (String isbn : isbns) {
+            if (System.nanoTime() > deadline) {
+                break;
+            }
+            try {
+                if (musicService.warmUp(isbn)) {
+                    warmed++;
+                    warmedSelections += selections.get(isbn);
+                } else {
+                    missed++;
+                }
+            } catch (RuntimeException e) {
+                missed++;
+                log.debug("시작 warm-up 실패: {}", isbn, e);
+            }
+        }
+        long skipped = isbns.size() - warmed - missed;
+        long totalSelections = userHistoryRepository.countSelectionsSince(since);
+
+        long elapsed = System.nanoTime() - startedAt;
+        duration.record(Duration.ofNanos(elapsed));
+        isbnCounts.get("warmed").set(warmed);
+        isbnCounts.get("missed").set(missed);
+        isbnCounts.get("skipped").set(skipped);
+        coverage.set(totalSelections > 0 ? (double) warmedSelections / totalSelections : 0.0);
+
+        log.info("시작 warm-up 완료: {}권 적재, {}권 후보 없음, {}권 시간 초과로 건너뜀, 최근 선택 커버리지 {}%, {}ms",
+                warmed, missed, skipped, String.format("%.1f", coverage.get() * 100), elapsed / 1_000_000);
+    }
+}
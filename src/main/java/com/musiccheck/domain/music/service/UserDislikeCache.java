@@ -0,0 +1,97 @@
+package com.musiccheck.domain.music.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.musiccheck.domain.music.entity.UserFeedback;
+import com.musiccheck.domain.music.event.FeedbackChangedEvent;
+import com.musiccheck.domain.music.recommend.IdDictionary;
+import com.musiccheck.domain.music.recommend.IntBitmap;
+import com.musiccheck.domain.music.recommend.UserDislikes;
+import com.musiccheck.domain.music.repository.UserFeedbackRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 사용자별 싫어요 곡 비트맵 캐시
+ * - track_id/isbn을 사전 ID로 바꿔 사용자마다 책별 IntBitmap으로 보관 (요청마다 HashSet<String>을 만들지 않음)
+ * - 미스 시 사용자의 싫어요 전체를 한 번에 로드, 이후 이 인스턴스의 피드백 커밋마다 해당 비트 하나만 갱신
+ * - 다른 인스턴스에서 저장된 피드백은 이벤트로 오지 않으므로 로드 후 ttl(짧게)이 지나면 다시 로드
+ *   (비트 갱신은 만료 시각을 늦추지 않음, 다른 인스턴스의 변경은 최대 ttl 뒤에 반영)
+ * - 추정 메모리(바이트) 기준으로 제한하고 user.dislikes.bytes 지표로 노출
+ * - hit/miss/eviction 지표는 cache=user.dislikes
+ */
+@Service
+public class UserDislikeCache {
+
+    private static final String CACHE_NAME = "user.dislikes";
+    private static final int ENTRY_OVERHEAD_BYTES = 64; // 캐시 노드 + Long 키
+
+    private final IdDictionary trackDictionary = new IdDictionary();
+    private final IdDictionary bookDictionary = new IdDictionary();
+    private final LoadingCache<Long, UserDislikes> cache;
+
+    public UserDislikeCache(
+            UserFeedbackRepository userFeedbackRepository,
+            MeterRegistry meterRegistry,
+            @Value("${musiccheck.recommend.dislike-cache.max-size:64MB}") DataSize maxSize,
+            @Value("${musiccheck.recommend.dislike-cache.ttl:30s}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long userId, UserDislikes dislikes) ->
+                        (int) Math.min(Integer.MAX_VALUE, dislikes.sizeInBytes() + ENTRY_OVERHEAD_BYTES))
+                .expireAfter(Expiry.creating((Long userId, UserDislikes dislikes) -> ttl))
+                .recordStats()
+                .build(userId -> {
+                    UserDislikes dislikes = UserDislikes.EMPTY;
+                    for (UserFeedback feedback : userFeedbackRepository.findByUserIdAndFeedback(userId, "dislike")) {
+                        dislikes = dislikes.with(bookDictionary.idOf(feedback.getBookId()),
+                                trackDictionary.idOf(feedback.getMusicId()));
+                    }
+                    return dislikes;
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        meterRegistry.gauge("user.dislikes.bytes", cache, c -> c.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L));
+    }
+
+    // 추천 후보 열(CandidateColumns)을 만들 때 쓰는 곡 사전 (비트맵과 같은 ID 체계)
+    public IdDictionary trackDictionary() {
+        return trackDictionary;
+    }
+
+    /**
+     * 사용자가 해당 책에서 싫어요한 곡 비트맵 (비로그인이거나 없으면 EMPTY)
+     */
+    public IntBitmap find(Long userId, String isbn) {
+        if (userId == null) {
+            return IntBitmap.EMPTY;
+        }
+        UserDislikes dislikes = cache.get(userId);
+        int bookId = bookDictionary.find(isbn);
+        return bookId >= 0 ? dislikes.forBook(bookId) : IntBitmap.EMPTY;
+    }
+
+    /**
+     * 싫어요 추가/해제 시 캐시된 사용자 항목의 비트 하나만 갱신 (캐시에 없으면 다음 조회 때 로드)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        if (event.userId() == null || event.isDislike() == event.wasDislike()) {
+            return;
+        }
+        int bookId = bookDictionary.idOf(event.bookId());
+        int trackId = trackDictionary.idOf(event.musicId());
+        cache.asMap().computeIfPresent(event.userId(), (userId, dislikes) -> event.isDislike()
+                ? dislikes.with(bookId, trackId)
+                : dislikes.without(bookId, trackId));
+    }
+}
@@ -0,0 +1,251 @@
+package com.musiccheck.domain.music.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.musiccheck.domain.music.event.FeedbackChangedEvent;
+import com.musiccheck.domain.music.index.VectorMath;
+import com.musiccheck.domain.music.recommend.CandidateColumns;
+import com.musiccheck.domain.music.recommend.TasteBlend;
+import com.musiccheck.domain.music.repository.MusicRepository;
+import com.musiccheck.domain.music.repository.UserTasteVectorRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자 취향 벡터 (좋아요 곡 임베딩 합 - 싫어요 곡 임베딩 합)
+ * - 피드백 저장/삭제 트랜잭션 안에서 변경분(곡 벡터 × 가중치 차이)만 누적, 이력 전체를 다시 계산하지 않음
+ * - 취향 벡터 행이 없는 사용자는 변경분 대신 피드백 이력 전체로 한 번 생성 (기능 도입 전 이력 포함)
+ *   시작 후에는 피드백이 있는데 행이 없는 사용자를 주기적으로 조금씩 생성 (backfill)
+ * - 추천 시에는 정규화한 벡터를 캐시에서 읽어 책 질의 벡터에 섞음 (캐시 히트면 DB 조회 없음)
+ * - 피드백 커밋 후 해당 사용자 캐시만 무효화, 다른 인스턴스의 변경은 로드 후 ttl(짧게)이 지나면 반영
+ * - hit/miss/eviction 지표는 cache=user.taste
+ */
+@Slf4j
+@Service
+public class UserTasteService {
+
+    private static final String CACHE_NAME = "user.taste";
+    private static final float[] NONE = new float[0]; // 취향 벡터가 없는 사용자 (Caffeine은 null을 캐시하지 않음)
+    private static final int BACKFILL_BATCH_SIZE = 200;
+
+    private final UserTasteVectorRepository tasteRepository;
+    private final MusicRepository musicRepository;
+    private final MusicIndexService musicIndexService;
+    private final boolean enabled;
+    private final double blendWeight;
+    private final double dislikeWeight;
+    private final LoadingCache<Long, float[]> cache;
+    private final TransactionTemplate transactionTemplate;
+    private volatile long backfillCursor = 0L; // 다음 backfill 시작 user_id (이 값 초과), 끝나면 -1
+
+    public UserTasteService(
+            UserTasteVectorRepository tasteRepository,
+            MusicRepository musicRepository,
+            MusicIndexService musicIndexService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${musiccheck.recommend.taste.enabled:true}") boolean enabled,
+            @Value("${musiccheck.recommend.taste.blend-weight:0.2}") double blendWeight,
+            @Value("${musiccheck.recommend.taste.dislike-weight:1.0}") double dislikeWeight,
+            @Value("${musiccheck.recommend.taste.cache.max-size:10000}") long maxSize,
+            @Value("${musiccheck.recommend.taste.cache.ttl:2m}") Duration ttl
+    ) {
+        this.tasteRepository = tasteRepository;
+        this.musicRepository = musicRepository;
+        this.musicIndexService = musicIndexService;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.blendWeight = blendWeight;
+        this.dislikeWeight = dislikeWeight;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(userId -> tasteRepository.find(userId)
+                        .map(VectorMath::parse)
+                        .map(TasteBlend::unit)
+                        .orElse(NONE));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 피드백 변경분을 취향 벡터에 누적 (호출 측 트랜잭션 안에서 실행되어 피드백과 함께 커밋/롤백)
+     * @param previousFeedback 변경 전 값 (신규면 null)
+     * @param feedback 변경 후 값 (삭제면 null)
+     */
+    public void applyFeedback(Long userId, String trackId, String previousFeedback, String feedback) {
+        applyFeedback(userId, List.of(new FeedbackChange(trackId, previousFeedback, feedback)));
+    }
+
+    /**
+     * 한 사용자의 여러 피드백 변경분을 합쳐 한 번에 누적 (write-behind 일괄 반영)
+     * - 행이 있으면 합친 변경분을 더하는 문장 하나 (존재 확인을 따로 하지 않음)
+     * - 행이 없으면 피드백 이력 전체로 생성 (호출 측 트랜잭션에서 저장한 이번 변경도 이력에 포함)
+     * - 변경된 곡에 임베딩이 하나도 없으면 아무것도 하지 않음 (행이 없는 사용자는 backfill에서 생성)
+     */
+    public void applyFeedback(Long userId, List<FeedbackChange> changes) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        float[] delta = null;
+        for (FeedbackChange change : changes) {
+            double weight = weight(change.feedback()) - weight(change.previousFeedback());
+            if (weight == 0) {
+                continue;
+            }
+            float[] trackVector = trackVector(change.trackId());
+            if (trackVector == null || (delta != null && delta.length != trackVector.length)) {
+                continue;  // 임베딩이 없는 곡은 취향에 반영할 수 없음
+            }
+            if (delta == null) {
+                delta = new float[trackVector.length];
+            }
+            for (int i = 0; i < trackVector.length; i++) {
+                delta[i] += (float) (weight * trackVector[i]);
+            }
+        }
+        if (delta == null) {
+            return;
+        }
+
+        String deltaText = VectorMath.toText(delta);
+        if (tasteRepository.addIfPresent(userId, deltaText)) {
+            return;
+        }
+        float[] history = historyTaste(userId);
+        if (history != null && !tasteRepository.insertIfAbsent(userId, VectorMath.toText(history))) {
+            // 다른 트랜잭션이 먼저 생성 (그 행에는 이 트랜잭션의 변경이 없으므로 변경분을 더함)
+            tasteRepository.add(userId, deltaText);
+        }
+    }
+
+    private float[] trackVector(String trackId) {
+        float[] trackVector = musicIndexService.vectorOf(trackId);
+        if (trackVector != null) {
+            return trackVector;
+        }
+        return musicRepository.findEmbeddingVectorByTrackId(trackId)
+                .map(VectorMath::parse)
+                .orElse(null);
+    }
+
+    /**
+     * 피드백 이력 전체로 만든 취향 벡터 (좋아요 합 - 싫어요 가중치 × 싫어요 합)
+     * 호출 측 트랜잭션에서 저장한 피드백도 이력에 포함됨
+     * @return 임베딩이 있는 곡의 피드백이 없으면 null
+     */
+    private float[] historyTaste(Long userId) {
+        Map<String, String> sums = tasteRepository.sumFeedbackVectors(userId);
+        float[] likes = sums.containsKey("like") ? VectorMath.parse(sums.get("like")) : null;
+        float[] dislikes = sums.containsKey("dislike") ? VectorMath.parse(sums.get("dislike")) : null;
+        float[] taste = likes != null ? likes : dislikes != null ? new float[dislikes.length] : null;
+        if (taste == null) {
+            return null;
+        }
+        if (dislikes != null && dislikes.length == taste.length) {
+            for (int i = 0; i < taste.length; i++) {
+                taste[i] = (float) (taste[i] - dislikeWeight * dislikes[i]);
+            }
+        }
+        return taste;
+    }
+
+    /**
+     * 피드백은 있지만 취향 벡터가 없는 사용자를 이력으로 생성 (기능 도입 전 피드백 backfill)
+     * 사용자마다 별도 트랜잭션, 한 번 실행에 user_id 순으로 최대 BACKFILL_BATCH_SIZE명, 끝까지 가면 이후 실행은 건너뜀
+     * (이후 생기는 사용자는 첫 피드백 때 applyFeedback에서 생성)
+     */
+    @Scheduled(fixedDelayString = "${musiccheck.recommend.taste.backfill-interval-ms:10000}",
+            initialDelayString = "${musiccheck.recommend.taste.backfill-initial-delay-ms:30000}")
+    public void backfill() {
+        long cursor = backfillCursor;
+        if (!enabled || cursor < 0) {
+            return;
+        }
+        List<Long> userIds = tasteRepository.findUsersWithoutTaste(cursor, BACKFILL_BATCH_SIZE);
+        int created = 0;
+        for (Long userId : userIds) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                float[] history = historyTaste(userId);
+                return history != null && tasteRepository.insertIfAbsent(userId, VectorMath.toText(history));
+            }))) {
+                cache.invalidate(userId);
+                created++;
+            }
+        }
+        if (created > 0) {
+            log.info("취향 벡터 이력 backfill: {}명", created);
+        }
+        backfillCursor = userIds.size() < BACKFILL_BATCH_SIZE ? -1L : userIds.get(userIds.size() - 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        if (event.userId() != null) {
+            cache.invalidate(event.userId());
+        }
+    }
+
+    /**
+     * 단위 길이 취향 벡터 (비로그인/피드백 없음/비활성화면 null)
+     */
+    public float[] find(Long userId) {
+        if (!enabled || userId == null) {
+            return null;
+        }
+        float[] taste = cache.get(userId);
+        return taste.length > 0 ? taste : null;
+    }
+
+    /**
+     * 책 기준 후보 유사도에 취향 반영 (후보 집합은 그대로, 곡 벡터는 인덱스 저장소에서 읽음)
+     * 취향이 없거나 인덱스를 쓸 수 없으면 candidates 그대로 반환
+     */
+    public CandidateColumns personalize(CandidateColumns candidates, float[] bookVector, Long userId) {
+        float[] taste = find(userId);
+        if (taste == null || bookVector == null || taste.length != bookVector.length) {
+            return candidates;
+        }
+        float[] dots = musicIndexService.dots(taste, candidates.trackIds());
+        if (dots == null) {
+            return candidates;
+        }
+        return candidates.withSimilarityOffsets(TasteBlend.offsets(bookVector, dots, blendWeight));
+    }
+
+    /**
+     * SQL 경로 질의 벡터 (취향이 없으면 책 벡터 그대로)
+     */
+    public float[] blendQuery(float[] bookVector, Long userId) {
+        float[] taste = find(userId);
+        if (taste == null || taste.length != bookVector.length) {
+            return bookVector;
+        }
+        return TasteBlend.blend(bookVector, taste, blendWeight);
+    }
+
+    /**
+     * 피드백 한 건의 변경 (trackId의 값이 previousFeedback → feedback, 신규면 previousFeedback null, 삭제면 feedback null)
+     */
+    public record FeedbackChange(String trackId, String previousFeedback, String feedback) {}
+
+    private double weight(String feedback) {
+        if ("like".equals(feedback)) {
+            return 1.0;
+        }
+        if ("dislike".equals(feedback)) {
+            return -dislikeWeight;
+        }
+        return 0.0;
+    }
+}
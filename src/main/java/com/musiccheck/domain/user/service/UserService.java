@@ -1,7 +1,10 @@
 package com.musiccheck.domain.user.service;
 
 import com.musiccheck.domain.book.repository.UserHistoryRepository;
+import com.musiccheck.domain.music.event.FeedbackChangedEvent;
 import com.musiccheck.domain.music.repository.UserFeedbackRepository;
+import com.musiccheck.domain.music.repository.UserTasteVectorRepository;
+import com.musiccheck.domain.music.service.FeedbackWriteBehindService;
 import com.musiccheck.domain.user.entity.Role;
 import com.musiccheck.domain.user.entity.User;
 import com.musiccheck.domain.user.repository.UserRepository;
@@ -9,7 +12,9 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +23,10 @@ public class UserService {
     private final UserRepository userRepository;
     private final UserFeedbackRepository userFeedbackRepository;
     private final UserHistoryRepository userHistoryRepository;
+    private final UserTasteVectorRepository userTasteVectorRepository;
+    private final FeedbackWriteBehindService feedbackWriteBehind;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
     
     @PersistenceContext
     private EntityManager entityManager;
@@ -36,11 +45,19 @@ public class UserService {
                 .orElseThrow(() -> new IllegalArgumentException("사용자 없음"));
     }
 
-    // 회원탈퇴 (관련 데이터 모두 삭제)
-    @Transactional
+    // 회원탈퇴 (관련 데이터 모두 삭제, 대기 중인 피드백은 삭제 트랜잭션을 시작하기 전에 먼저 반영)
     public void deleteAccount(Long userId) {
-        // 1) user_feedback 삭제
+        feedbackWriteBehind.flushUser(userId);
+        transactionTemplate.executeWithoutResult(status -> deleteAccountData(userId));
+    }
+
+    private void deleteAccountData(Long userId) {
+        // 1) user_feedback 삭제 (좋아요 집계 등에 반영되도록 삭제 이벤트 발행)
+        userFeedbackRepository.findByUserId(userId)
+                .forEach(feedback -> eventPublisher.publishEvent(new FeedbackChangedEvent(
+                        userId, feedback.getBookId(), feedback.getMusicId(), feedback.getFeedback(), null)));
         userFeedbackRepository.deleteByUserId(userId);
+        userTasteVectorRepository.deleteByUserId(userId);  // 피드백에서 누적된 취향 벡터 (캐시는 삭제 이벤트로 무효화)
         
         // 2) user_history 삭제
         userHistoryRepository.deleteByUserId(userId);
@@ -0,0 +1,35 @@
+-- 책(ISBN)별 유사도 상위 N곡 사전 계산 테이블 (RecommendationMaterializeService)
+
+CREATE TABLE IF NOT EXISTS book_music_recommendation (
+    recommendation_id BIGSERIAL PRIMARY KEY,
+    isbn              VARCHAR(30)      NOT NULL,
+    track_id          VARCHAR(50)      NOT NULL,
+    similarity_score  DOUBLE PRECISION NOT NULL,
+    CONSTRAINT uk_book_music_recommendation UNIQUE (isbn, track_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_book_music_recommendation_isbn_score
+    ON book_music_recommendation (isbn, similarity_score);
+
+CREATE INDEX IF NOT EXISTS idx_book_music_recommendation_track
+    ON book_music_recommendation (track_id);
+
+-- ISBN별 마지막 계산 시점의 책 임베딩 (book.embedding_id가 바뀌면 재계산 대상)
+-- max_similarity: 책 기준 카탈로그 전체 곡의 최대 유사도 (음의 내적, 후보 캐시 경로의 정규화 범위를 SQL 경로와 맞춤)
+-- max_similarity_track_id: 최대 유사도를 정한 곡 (이 곡이 삭제/변경되면 최대 유사도를 다시 계산)
+CREATE TABLE IF NOT EXISTS book_recommendation_state (
+    isbn                    VARCHAR(30)      PRIMARY KEY,
+    book_embedding_id       INTEGER,
+    max_similarity          DOUBLE PRECISION,
+    max_similarity_track_id VARCHAR(50),
+    refreshed_at            TIMESTAMP        NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_book_recommendation_state_max_track
+    ON book_recommendation_state (max_similarity_track_id);
+
+-- 마지막 반영 시점의 음악 임베딩 (music.embedding_id 변경/추가/삭제 감지용)
+CREATE TABLE IF NOT EXISTS recommendation_music_state (
+    track_id     VARCHAR(50) PRIMARY KEY,
+    embedding_id INTEGER     NOT NULL
+);
@@ -0,0 +1,64 @@
+-- 책 검색 방식 비교 (운영 book 테이블 크기에서 psql로 실행)
+-- psql -v keyword="'사랑'" -v offset=0 -v tier=3 -v score="'Infinity'" -v isbn="''" -f book_search_benchmark.sql
+-- like: 기존 findByTitleContainingIgnoreCase (목록 + Page용 COUNT, 각각 순차 스캔)
+-- trigram: BookSearchRepository (GIN 인덱스 한 번, 건수는 윈도 함수로 함께 계산)
+-- scroll: BookSearchRepository.scroll (같은 정렬 키로 커서 뒤만 읽음, OFFSET/건수 없음)
+--   깊은 페이지 비교: -v offset=1200 -v tier=0 -v score=0.3 -v isbn="'9788900000000'" (1200번째 결과의 값)
+
+\timing on
+
+SELECT COUNT(*) AS book_count, pg_size_pretty(pg_total_relation_size('book')) AS book_size FROM book;
+SELECT pg_size_pretty(pg_relation_size('idx_book_search_trgm')) AS trgm_index_size;
+
+-- like
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT b.* FROM book b
+WHERE upper(b.title) LIKE upper('%' || :keyword || '%') ESCAPE '\'
+OFFSET 0 LIMIT 12;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(b.isbn) FROM book b
+WHERE upper(b.title) LIKE upper('%' || :keyword || '%') ESCAPE '\';
+
+-- trigram
+EXPLAIN (ANALYZE, BUFFERS)
+WITH q AS (SELECT CAST(:keyword AS text) AS keyword,
+                  CAST('%' || :keyword || '%' AS text) AS contains,
+                  CAST(:keyword || '%' AS text) AS prefix),
+ranked AS (
+    SELECT b.isbn, b.title, b.author, b.publisher, b.pubdate, b.image,
+           CASE WHEN lower(b.title) = lower(q.keyword) THEN 2
+                WHEN b.title ILIKE q.prefix THEN 1
+                ELSE 0 END AS tier,
+           CAST(coalesce(GREATEST(word_similarity(q.keyword, b.title),
+                                  0.8 * word_similarity(q.keyword, b.author),
+                                  0.5 * word_similarity(q.keyword, b.search_keyword)), 0) AS double precision) AS score
+    FROM book b, q
+    WHERE (coalesce(b.title, '') || ' ' || coalesce(b.author, '') || ' ' || coalesce(b.search_keyword, '')) ILIKE q.contains
+)
+SELECT r.*, COUNT(*) OVER () AS total
+FROM ranked r
+ORDER BY r.tier DESC, r.score DESC, r.isbn
+LIMIT 12 OFFSET :offset;
+
+-- scroll
+EXPLAIN (ANALYZE, BUFFERS)
+WITH q AS (SELECT CAST(:keyword AS text) AS keyword,
+                  CAST('%' || :keyword || '%' AS text) AS contains,
+                  CAST(:keyword || '%' AS text) AS prefix),
+ranked AS (
+    SELECT b.isbn, b.title, b.author, b.publisher, b.pubdate, b.image,
+           CASE WHEN lower(b.title) = lower(q.keyword) THEN 2
+                WHEN b.title ILIKE q.prefix THEN 1
+                ELSE 0 END AS tier,
+           CAST(coalesce(GREATEST(word_similarity(q.keyword, b.title),
+                                  0.8 * word_similarity(q.keyword, b.author),
+                                  0.5 * word_similarity(q.keyword, b.search_keyword)), 0) AS double precision) AS score
+    FROM book b, q
+    WHERE (coalesce(b.title, '') || ' ' || coalesce(b.author, '') || ' ' || coalesce(b.search_keyword, '')) ILIKE q.contains
+)
+SELECT r.*
+FROM ranked r
+WHERE r.tier < :tier OR (r.tier = :tier AND (r.score < :score OR (r.score = :score AND r.isbn > :isbn)))
+ORDER BY r.tier DESC, r.score DESC, r.isbn
+LIMIT 13;
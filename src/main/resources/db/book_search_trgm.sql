@@ -0,0 +1,8 @@
+-- 책 검색용 trigram 인덱스 (BookSearchRepository)
+-- 제목/저자/검색 키워드를 이은 식에 GIN 인덱스를 걸어 ILIKE '%kw%'를 순차 스캔 없이 처리
+-- 식은 BookSearchRepository.SEARCH_TEXT와 같아야 함
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_book_search_trgm
+    ON book USING gin ((coalesce(title, '') || ' ' || coalesce(author, '') || ' ' || coalesce(search_keyword, '')) gin_trgm_ops);
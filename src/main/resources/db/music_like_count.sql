@@ -0,0 +1,8 @@
+-- 책-곡 단위 좋아요 개수 집계 테이블 (LikeCountService가 주기적으로 증감분 반영)
+
+CREATE TABLE IF NOT EXISTS music_like_count (
+    book_id    VARCHAR(30) NOT NULL,
+    music_id   VARCHAR(50) NOT NULL,
+    like_count BIGINT      NOT NULL DEFAULT 0,
+    PRIMARY KEY (book_id, music_id)
+);
@@ -0,0 +1,4 @@
+-- 싫어요 목록 keyset 페이지네이션용 인덱스 (user_id, feedback 조건 + feedback_id 순서를 인덱스만으로 처리)
+
+CREATE INDEX IF NOT EXISTS idx_user_feedback_user_feedback_id
+    ON user_feedback (user_id, feedback, feedback_id);
@@ -0,0 +1,4 @@
+-- 시작 시 warm-up 대상(최근 많이 선택된 책) 집계용 인덱스
+
+CREATE INDEX IF NOT EXISTS idx_user_history_created_at_book
+    ON user_history (created_at, book_id);
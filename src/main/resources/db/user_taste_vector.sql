@@ -0,0 +1,9 @@
+-- 사용자 취향 벡터 (좋아요 곡 임베딩 합 - 싫어요 곡 임베딩 합, UserTasteService가 피드백마다 증분 반영)
+-- 사용자당 한 행, 차원은 임베딩 모델을 따름 (모델이 바뀌면 다음 피드백에서 새 차원으로 초기화)
+-- 행이 없는 사용자는 첫 피드백 반영 시 또는 주기 backfill에서 user_feedback 이력 전체로 생성
+
+CREATE TABLE IF NOT EXISTS user_taste_vector (
+    user_id    BIGINT    NOT NULL PRIMARY KEY,
+    taste      vector    NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT now()
+);
@@ -0,0 +1,29 @@
+package com.musiccheck.domain.book.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 검색 스크롤 커서 인코딩 검증 (관련도 위치만 있는 커서, isbn 순으로 이어가는 커서)
+ */
+class BookSearchCursorTest {
+
+    @Test
+    void roundTripsPositionAndContinuation() {
+        BookSearchCursor position = new BookSearchCursor(1, 0.42, "9788936434120");
+        BookSearchCursor started = position.continuingAfter("");
+        BookSearchCursor continued = position.continuingAfter("9788954651134");
+
+        assertThat(BookSearchCursor.decode(position.encode())).isEqualTo(position);
+        assertThat(BookSearchCursor.decode(position.encode()).afterIsbn()).isNull();
+        assertThat(BookSearchCursor.decode(started.encode())).isEqualTo(started);
+        assertThat(BookSearchCursor.decode(continued.encode())).isEqualTo(continued);
+    }
+
+    @Test
+    void blankCursorIsFirstPage() {
+        assertThat(BookSearchCursor.decode(null)).isEqualTo(BookSearchCursor.FIRST);
+        assertThat(BookSearchCursor.decode(" ")).isEqualTo(BookSearchCursor.FIRST);
+    }
+}
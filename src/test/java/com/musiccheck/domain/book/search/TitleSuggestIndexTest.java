@@ -0,0 +1,165 @@
+package com.musiccheck.domain.book.search;
+
+import com.musiccheck.domain.book.dto.BookSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * n-gram 인덱스 결과가 전체 순회로 구한 부분 일치 결과와 같은지, 갱신/삭제가 바로 반영되는지 검증
+ */
+class TitleSuggestIndexTest {
+
+    private static final String[] WORDS = {"해리", "포터", "마법사", "돌", "사랑", "의", "기술", "데미안", "Harry", "Potter", "the", "art"};
+
+    @Test
+    void ranksTitlePrefixBeforeContainsBeforeAuthor() {
+        TitleSuggestIndex index = new TitleSuggestIndex();
+        index.put("1", "사랑의 기술", "에리히 프롬");
+        index.put("2", "나의 사랑 이야기", "김작가");
+        index.put("3", "사랑", "박작가");
+        index.put("4", "기술의 역사", "사랑해");
+
+        assertThat(isbns(index.suggest("사랑", 10))).containsExactly("3", "1", "2", "4");
+        assertThat(isbns(index.suggest("사 랑", 10))).containsExactly("3", "1", "2", "4");
+        assertThat(isbns(index.suggest("기", 10))).containsExactly("4", "1");
+        assertThat(isbns(index.suggest("HARRY", 10))).isEmpty();
+    }
+
+    @Test
+    void matchesChosungAndSyllablesBeingTyped() {
+        TitleSuggestIndex index = new TitleSuggestIndex();
+        index.put("1", "해리 포터와 마법사의 돌", "J.K. 롤링");
+        index.put("2", "해리포터 읽기", "김작가");
+        index.put("3", "나의 해로운 포도", "박작가");
+        index.put("4", "한강", "홍길동");
+
+        assertThat(isbns(index.suggest("ㅎㄹㅍㅌ", 10))).containsExactly("2", "1");
+        assertThat(isbns(index.suggest("해리퐅", 10))).containsExactly("2", "1");
+        assertThat(isbns(index.suggest("해리ㅍ", 10))).containsExactly("2", "1");
+        assertThat(isbns(index.suggest("ㅎㄹ", 10))).containsExactly("2", "1", "3");
+        assertThat(isbns(index.suggest("ㅎ", 10))).containsExactly("4", "2", "1", "3");
+        assertThat(isbns(index.suggest("ㄹㄹ", 10))).containsExactly("1");
+
+        TitleSuggestIndex.SearchHits page = index.search("ㅎㄹ", 1, 1);
+        assertThat(page.isbns()).containsExactly("1");
+        assertThat(page.total()).isEqualTo(3);
+    }
+
+    @Test
+    void returnsEmptyPagePastTheEnd() {
+        TitleSuggestIndex index = new TitleSuggestIndex();
+        index.put("1", "해리 포터와 마법사의 돌", "J.K. 롤링");
+        index.put("2", "한강", "홍길동");
+
+        TitleSuggestIndex.SearchHits past = index.search("ㅎ", Integer.MAX_VALUE - 5, 12);
+        assertThat(past.isbns()).isEmpty();
+        assertThat(past.total()).isEqualTo(2);
+        assertThat(index.search("ㅎ", 0, 0).isbns()).isEmpty();
+        assertThat(index.search("ㅎ", 0, 0).total()).isEqualTo(2);
+        assertThat(index.search("ㅎ", 2, 12).isbns()).isEmpty();
+    }
+
+    @Test
+    void scrollsPagesWithoutGapsOrDuplicates() {
+        TitleSuggestIndex index = new TitleSuggestIndex();
+        Random random = new Random(11);
+        for (int i = 0; i < 200; i++) {
+            index.put(String.format("%03d", i), phrase(random, 1 + random.nextInt(3)), phrase(random, 1));
+        }
+
+        List<String> scrolled = new ArrayList<>();
+        BookSearchCursor after = BookSearchCursor.FIRST;
+        while (true) {
+            List<BookSearchCursor> page = index.scroll("ㅅㄹ", after, 7);
+            page.forEach(position -> scrolled.add(position.isbn()));
+            if (page.size() < 7) {
+                break;
+            }
+            // 클라이언트를 거친 커서로 다음 페이지 요청
+            after = BookSearchCursor.decode(page.get(page.size() - 1).encode());
+        }
+
+        TitleSuggestIndex.SearchHits all = index.search("ㅅㄹ", 0, 1000);
+        assertThat(all.total()).isGreaterThan(14);
+        assertThat(scrolled).hasSize(all.total());
+        assertThat(scrolled.stream().sorted().collect(Collectors.toList()))
+                .containsExactlyElementsOf(all.isbns().stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    void matchesBruteForceAcrossUpdatesAndCompaction() {
+        Random random = new Random(7);
+        TitleSuggestIndex index = new TitleSuggestIndex();
+        Map<String, String[]> books = new HashMap<>();
+        for (int round = 0; round < 3000; round++) {
+            String isbn = String.valueOf(random.nextInt(800));
+            if (random.nextInt(5) == 0) {
+                books.remove(isbn);
+                index.retainAll(books.keySet());
+            } else {
+                String[] book = {phrase(random, 1 + random.nextInt(4)), phrase(random, 1)};
+                books.put(isbn, book);
+                index.put(isbn, book[0], book[1]);
+            }
+        }
+        index.trimToSize();
+
+        assertThat(index.size()).isEqualTo(books.size());
+        for (String query : new String[]{"해리포터", "사랑의", "potter", "마법", "돌", "기술", "art"}) {
+            String key = TitleSuggestIndex.normalize(query);
+            List<String> expected = books.entrySet().stream()
+                    .filter(e -> TitleSuggestIndex.normalize(e.getValue()[0]).contains(key)
+                            || TitleSuggestIndex.normalize(e.getValue()[1]).contains(key))
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .collect(Collectors.toList());
+            List<String> actual = isbns(index.suggest(query, books.size()));
+            actual.sort(null);
+            assertThat(actual).containsExactlyElementsOf(expected);
+        }
+        // 자음만 입력한 질의는 초성 키의 부분 일치와 같아야 함
+        for (String query : new String[]{"ㅎㄹㅍㅌ", "ㅁㅂ", "ㅅㄹㅇ", "ㄱ", "ㄷㅁ"}) {
+            List<String> expected = books.entrySet().stream()
+                    .filter(e -> matchesChosung(e.getValue()[0], query) || matchesChosung(e.getValue()[1], query))
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .collect(Collectors.toList());
+            List<String> actual = isbns(index.suggest(query, books.size()));
+            actual.sort(null);
+            assertThat(actual).containsExactlyElementsOf(expected);
+        }
+    }
+
+    // 1글자는 제목 시작/제목 단어 시작/저자 시작만, 2글자 이상은 어디든 포함
+    private static boolean matchesChosung(String text, String query) {
+        if (query.length() > 1) {
+            return HangulKeys.chosung(TitleSuggestIndex.normalize(text)).contains(query);
+        }
+        for (String word : text.split(" ")) {
+            if (!word.isEmpty() && HangulKeys.chosung(TitleSuggestIndex.normalize(word)).startsWith(query)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String phrase(Random random, int words) {
+        List<String> picked = new ArrayList<>();
+        for (int i = 0; i < words; i++) {
+            picked.add(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return String.join(" ", picked);
+    }
+
+    private static List<String> isbns(List<BookSuggestion> suggestions) {
+        return suggestions.stream().map(BookSuggestion::isbn).collect(Collectors.toCollection(ArrayList::new));
+    }
+}
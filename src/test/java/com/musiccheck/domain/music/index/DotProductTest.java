@@ -0,0 +1,68 @@
+package com.musiccheck.domain.music.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DotProductTest {
+
+    private final DotProduct kernel = DotProduct.get();
+    private final DotProduct scalar = DotProduct.scalar();
+
+    @Test
+    void matchesScalarForLengthsWithTail() {
+        Random random = new Random(7);
+        // 레인 폭으로 나누어 떨어지지 않는 길이 포함
+        for (int length : new int[]{1, 3, 8, 17, 384, 1536, 1539}) {
+            float[] a = randomVector(random, length + 5);
+            float[] b = randomVector(random, length + 11);
+
+            float expected = scalar.dot(a, 5, b, 11, length);
+            float actual = kernel.dot(a, 5, b, 11, length);
+            assertThat(Math.abs(expected - actual)).isLessThanOrEqualTo(1e-3f * length);
+        }
+    }
+
+    @Test
+    void bufferVariantsMatchArrayVariant() {
+        Random random = new Random(11);
+        int length = 387;
+        float[] query = randomVector(random, length);
+        float[] stored = randomVector(random, length);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect((length + 4) * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < length; i++) {
+            buffer.putFloat((i + 4) * Float.BYTES, stored[i]);
+        }
+
+        float expected = scalar.dot(query, stored);
+        assertThat(Math.abs(expected - kernel.dot(query, buffer, 4 * Float.BYTES, length))).isLessThanOrEqualTo(1e-2f);
+        assertThat(Math.abs(scalar.dot(stored, stored) - kernel.dot(buffer, 4 * Float.BYTES, buffer, 4 * Float.BYTES, length)))
+                .isLessThanOrEqualTo(1e-2f);
+    }
+
+    @Test
+    void int8CodeVariantMatchesScalar() {
+        Random random = new Random(13);
+        int length = 389;
+        float[] query = randomVector(random, length);
+        byte[] codes = new byte[length + 7];
+        random.nextBytes(codes);
+
+        float expected = scalar.dot(query, codes, 7, length);
+        assertThat(Math.abs(expected - kernel.dot(query, codes, 7, length))).isLessThanOrEqualTo(1e-1f);
+        assertThat(kernel.dot(codes, 0, 7, length)).isEqualTo(scalar.dot(codes, 0, 7, length));
+    }
+
+    private float[] randomVector(Random random, int length) {
+        float[] vector = new float[length];
+        for (int i = 0; i < length; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
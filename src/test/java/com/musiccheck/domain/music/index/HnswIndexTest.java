@@ -0,0 +1,142 @@
+package com.musiccheck.domain.music.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HNSW 인덱스 recall 검증 (전수 내적 정렬 결과와 비교)
+ */
+class HnswIndexTest {
+
+    private static final int DIMENSION = 32;
+    private static final int SIZE = 3000;
+    private static final int K = 30;
+
+    @Test
+    void recallAt30AgainstExactSearch() {
+        Random random = new Random(7);
+        float[][] vectors = clusteredVectors(random);
+        HeapEmbeddingStore store = new HeapEmbeddingStore(DIMENSION);
+        HnswIndex index = new HnswIndex(store);
+        for (int i = 0; i < SIZE; i++) {
+            index.add("track-" + i, store.append(i, vectors[i]));
+        }
+
+        int queries = 50;
+        int hits = 0;
+        for (int q = 0; q < queries; q++) {
+            float[] query = vectors[random.nextInt(SIZE)].clone();
+            for (int d = 0; d < DIMENSION; d++) {
+                query[d] += (float) (random.nextGaussian() * 0.1);
+            }
+
+            Set<String> exact = exactTopK(vectors, query);
+            for (HnswIndex.SearchResult result : index.search(query, K, 200)) {
+                if (exact.contains(result.key())) {
+                    hits++;
+                }
+            }
+        }
+
+        double recall = (double) hits / (queries * K);
+        assertThat(recall).isGreaterThanOrEqualTo(0.95);
+    }
+
+    @Test
+    void removedAndReplacedVectorsAreReflected() {
+        Random random = new Random(11);
+        float[][] vectors = clusteredVectors(random);
+        HeapEmbeddingStore store = new HeapEmbeddingStore(DIMENSION);
+        HnswIndex index = new HnswIndex(store);
+        for (int i = 0; i < SIZE; i++) {
+            index.add("track-" + i, store.append(i, vectors[i]));
+        }
+
+        float[] query = vectors[0];
+        String nearest = index.search(query, 1, 100).get(0).key();
+        index.remove(nearest);
+
+        List<HnswIndex.SearchResult> results = index.search(query, K, 200);
+        assertThat(results).extracting(HnswIndex.SearchResult::key).doesNotContain(nearest);
+        assertThat(index.size()).isEqualTo(SIZE - 1);
+
+        // 같은 key로 다시 추가하면 새 벡터 기준으로 검색됨
+        index.add("track-1", store.append(SIZE, query.clone()));
+        assertThat(index.search(query, 1, 100).get(0).distance())
+                .isEqualTo(VectorMath.negativeInnerProduct(query, query));
+        assertThat(index.size()).isEqualTo(SIZE - 1);
+    }
+
+    @Test
+    void farthestIsExactAndSkipsRemovedVectors() {
+        Random random = new Random(13);
+        float[][] vectors = clusteredVectors(random);
+        HeapEmbeddingStore store = new HeapEmbeddingStore(DIMENSION);
+        HnswIndex index = new HnswIndex(store);
+        for (int i = 0; i < SIZE; i++) {
+            index.add("track-" + i, store.append(i, vectors[i]));
+        }
+
+        float[] query = vectors[0];
+        int farthest = 0;
+        for (int i = 1; i < SIZE; i++) {
+            if (VectorMath.negativeInnerProduct(query, vectors[i]) > VectorMath.negativeInnerProduct(query, vectors[farthest])) {
+                farthest = i;
+            }
+        }
+        HnswIndex.SearchResult result = index.farthest(query);
+        assertThat(result.key()).isEqualTo("track-" + farthest);
+        assertThat(result.distance()).isEqualTo(VectorMath.negativeInnerProduct(query, vectors[farthest]));
+
+        // 가장 먼 곡을 지우면 다음으로 먼 곡
+        index.remove("track-" + farthest);
+        assertThat(index.farthest(query).key()).isNotEqualTo("track-" + farthest);
+        assertThat(index.farthest(query).distance()).isLessThanOrEqualTo(result.distance());
+    }
+
+    private static Set<String> exactTopK(float[][] vectors, float[] query) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < vectors.length; i++) {
+            ids.add(i);
+        }
+        ids.sort(Comparator.comparingDouble(i -> VectorMath.negativeInnerProduct(query, vectors[i])));
+
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < K; i++) {
+            keys.add("track-" + ids.get(i));
+        }
+        return keys;
+    }
+
+    // 실제 임베딩처럼 군집된 정규화 벡터 생성
+    private static float[][] clusteredVectors(Random random) {
+        float[][] centroids = new float[20][DIMENSION];
+        for (float[] centroid : centroids) {
+            for (int d = 0; d < DIMENSION; d++) {
+                centroid[d] = (float) random.nextGaussian();
+            }
+        }
+
+        float[][] vectors = new float[SIZE][DIMENSION];
+        for (int i = 0; i < SIZE; i++) {
+            float[] centroid = centroids[random.nextInt(centroids.length)];
+            double norm = 0;
+            for (int d = 0; d < DIMENSION; d++) {
+                vectors[i][d] = centroid[d] + (float) (random.nextGaussian() * 0.3);
+                norm += vectors[i][d] * vectors[i][d];
+            }
+            for (int d = 0; d < DIMENSION; d++) {
+                vectors[i][d] /= (float) Math.sqrt(norm);
+            }
+        }
+        return vectors;
+    }
+}
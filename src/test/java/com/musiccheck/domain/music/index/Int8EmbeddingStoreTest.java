@@ -0,0 +1,104 @@
+package com.musiccheck.domain.music.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * int8 양자화 저장소 검증 (근사 내적 오차, 재정렬 후 recall@30)
+ */
+class Int8EmbeddingStoreTest {
+
+    private static final int DIMENSION = 64;
+    private static final int SIZE = 3000;
+    private static final int K = 30;
+
+    @Test
+    void approximatesExactDotProduct() {
+        Random random = new Random(3);
+        HeapEmbeddingStore exact = new HeapEmbeddingStore(DIMENSION);
+        for (int i = 0; i < 100; i++) {
+            exact.append(i, normalized(random));
+        }
+        Int8EmbeddingStore quantized = new Int8EmbeddingStore(exact);
+        quantized.append(100, normalized(random)); // 생성 후 추가분도 인코딩
+
+        assertThat(quantized.size()).isEqualTo(101);
+        assertThat(quantized.bytesPerVector()).isEqualTo(DIMENSION + 4);
+        float[] query = normalized(random);
+        for (int slot = 0; slot < quantized.size(); slot++) {
+            assertThat(Math.abs(quantized.dot(query, slot) - exact.dot(query, slot))).isLessThan(0.02f);
+            assertThat(quantized.exactDot(query, slot)).isEqualTo(exact.dot(query, slot));
+        }
+        assertThat(Math.abs(quantized.dot(0, 1) - exact.dot(0, 1))).isLessThan(0.02f);
+    }
+
+    @Test
+    void rerankedRecallAt30AgainstExactSearch() {
+        Random random = new Random(5);
+        float[][] vectors = new float[SIZE][];
+        HeapEmbeddingStore exact = new HeapEmbeddingStore(DIMENSION);
+        for (int i = 0; i < SIZE; i++) {
+            vectors[i] = normalized(random);
+            exact.append(i, vectors[i]);
+        }
+        Int8EmbeddingStore quantized = new Int8EmbeddingStore(exact);
+        HnswIndex index = new HnswIndex(quantized);
+        for (int i = 0; i < SIZE; i++) {
+            index.add("track-" + i, quantized.slotOf(i));
+        }
+
+        int queries = 50;
+        int hits = 0;
+        for (int q = 0; q < queries; q++) {
+            float[] query = normalized(random);
+            Set<String> expected = exactTopK(vectors, query);
+            List<HnswIndex.SearchResult> results = index.search(query, K, 200, 200);
+            for (HnswIndex.SearchResult result : results) {
+                if (expected.contains(result.key())) {
+                    hits++;
+                }
+            }
+            // 재정렬 후 거리는 원본 벡터 기준
+            int slot = Integer.parseInt(results.get(0).key().substring("track-".length()));
+            assertThat(results.get(0).distance()).isEqualTo((double) -exact.dot(query, slot));
+        }
+
+        double recall = (double) hits / (queries * K);
+        assertThat(recall).isGreaterThanOrEqualTo(0.95);
+    }
+
+    private static Set<String> exactTopK(float[][] vectors, float[] query) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < vectors.length; i++) {
+            ids.add(i);
+        }
+        ids.sort(Comparator.comparingDouble(i -> VectorMath.negativeInnerProduct(query, vectors[i])));
+
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < K; i++) {
+            keys.add("track-" + ids.get(i));
+        }
+        return keys;
+    }
+
+    private static float[] normalized(Random random) {
+        float[] vector = new float[DIMENSION];
+        double norm = 0;
+        for (int d = 0; d < DIMENSION; d++) {
+            vector[d] = (float) random.nextGaussian();
+            norm += vector[d] * vector[d];
+        }
+        for (int d = 0; d < DIMENSION; d++) {
+            vector[d] /= (float) Math.sqrt(norm);
+        }
+        return vector;
+    }
+}
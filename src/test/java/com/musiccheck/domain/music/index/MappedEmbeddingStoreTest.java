@@ -0,0 +1,61 @@
+package com.musiccheck.domain.music.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedEmbeddingStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void reopenedSnapshotKeepsSlotsAndVectors() {
+        Path path = tempDir.resolve("music-embeddings.bin");
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.create(path, 3)) {
+            store.append(10, new float[]{1f, 2f, 3f});
+            store.append(20, new float[]{4f, 5f, 6f});
+            assertThat(store.append(10, new float[]{9f, 9f, 9f})).isEqualTo(0); // 이미 있는 id는 기존 slot
+        }
+
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.open(path)) {
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.slotOf(20)).isEqualTo(1);
+            assertThat(store.slotOf(30)).isEqualTo(-1);
+            assertThat(store.dot(new float[]{1f, 1f, 1f}, store.slotOf(20))).isEqualTo(15f);
+            assertThat(store.dot(0, 1)).isEqualTo(32f);
+
+            // 다시 연 스냅샷에도 이어서 추가 가능
+            assertThat(store.append(30, new float[]{0f, 0f, 1f})).isEqualTo(2);
+        }
+
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.open(path)) {
+            assertThat(store.size()).isEqualTo(3);
+            assertThat(store.read(2)[2]).isEqualTo(1f);
+        }
+    }
+
+    @Test
+    void compactionDropsUnreferencedVectors() {
+        Path path = tempDir.resolve("music-embeddings.bin");
+        Path compactedPath = tempDir.resolve("music-embeddings.bin.compact");
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.create(path, 2)) {
+            for (int id = 0; id < 10; id++) {
+                store.append(id, new float[]{id, 1f});
+            }
+            try (MappedEmbeddingStore compacted = store.compactTo(compactedPath, id -> id % 2 == 0)) {
+                assertThat(compacted.size()).isEqualTo(5);
+                assertThat(compacted.slotOf(1)).isEqualTo(-1);
+                assertThat(compacted.read(compacted.slotOf(8))[0]).isEqualTo(8f);
+            }
+        }
+
+        MappedEmbeddingStore.replace(compactedPath, path);
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.open(path)) {
+            assertThat(store.size()).isEqualTo(5);
+        }
+    }
+}
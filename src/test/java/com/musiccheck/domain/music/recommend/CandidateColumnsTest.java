@@ -0,0 +1,229 @@
+package com.musiccheck.domain.music.recommend;
+
+import com.musiccheck.domain.music.dto.MusicDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 열 단위 점수 계산 결과가 후보 객체 + TopK 방식, 순차/병렬 계산 간에 동일한지 검증
+ * 카탈로그 범위를 넘기면 카탈로그 전체를 스캔하는 SQL 경로와 같은 순위이거나, 확정할 수 없으면 null인지 검증
+ */
+class CandidateColumnsTest {
+
+    @Test
+    void ranksSameAsObjectTopK() {
+        Random random = new Random(5);
+        for (int round = 0; round < 20; round++) {
+            List<RecommendationCandidate> candidates = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                // 동점이 자주 생기도록 거칠게 생성
+                candidates.add(candidate("track-" + i, random.nextInt(5), -random.nextInt(40) / 10.0));
+            }
+            Set<String> disliked = new HashSet<>();
+            for (int i = 0; i < round; i++) {
+                disliked.add("track-" + random.nextInt(300));
+            }
+
+            IdDictionary dictionary = new IdDictionary();
+            List<String> expected = rankWithTopK(candidates, disliked);
+            List<String> actual = CandidateColumns.of(candidates, dictionary)
+                    .rank(bitmap(dictionary, disliked), RecommendationScorer.PLAYLIST_SIZE).stream()
+                    .map(MusicDto::trackId)
+                    .collect(Collectors.toList());
+            assertThat(actual).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void parallelRankIsSameAsSequential() {
+        Random random = new Random(9);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelScoring parallel = new ParallelScoring(pool, 1000, 256);
+            for (int round = 0; round < 10; round++) {
+                List<RecommendationCandidate> candidates = new ArrayList<>();
+                for (int i = 0; i < 20_000; i++) {
+                    candidates.add(candidate("track-" + i, random.nextInt(5), -random.nextInt(40) / 10.0));
+                }
+                Set<String> disliked = new HashSet<>();
+                for (int i = 0; i < round * 50; i++) {
+                    disliked.add("track-" + random.nextInt(20_000));
+                }
+
+                IdDictionary dictionary = new IdDictionary();
+                CandidateColumns columns = CandidateColumns.of(candidates, dictionary);
+                IntBitmap excluded = bitmap(dictionary, disliked);
+                List<MusicDto> expected = columns.rank(excluded, 300);
+                for (int repeat = 0; repeat < 3; repeat++) {
+                    assertThat(columns.rank(excluded, 300, parallel)).containsExactlyElementsOf(expected);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void catalogBoundsRankSameAsFullCatalogScanOrDefers() {
+        Random random = new Random(13);
+        int exactRounds = 0;
+        for (int round = 0; round < 20; round++) {
+            // 임베딩 유사도처럼 연속 분포인 카탈로그 20000곡, 좋아요는 소수 곡에 몰림
+            // 유사도 401위 곡에 좋아요가 가장 많아 전체 스캔에서는 1위 (유사도 상위 300곡만 후보면 빠짐)
+            List<RecommendationCandidate> catalog = new ArrayList<>();
+            for (int i = 0; i < 20_000; i++) {
+                long likeCount = random.nextInt(50) == 0 ? (long) Math.exp(random.nextDouble() * 4) : 0L;
+                catalog.add(candidate("track-" + i, likeCount, random.nextGaussian() * 0.05));
+            }
+            catalog.sort(Comparator.comparingDouble(RecommendationCandidate::similarityScore));
+            RecommendationCandidate popular = catalog.get(400);
+            catalog.set(400, candidate(popular.trackId(), 500L, popular.similarityScore()));
+
+            Set<String> disliked = new HashSet<>();
+            for (int i = 0; i < round * 3; i++) {
+                disliked.add("track-" + random.nextInt(20_000));
+            }
+
+            IdDictionary dictionary = new IdDictionary();
+            List<String> expected = rankWithTopK(catalog, disliked); // SQL 경로: 카탈로그 전체에서 정규화
+            List<MusicDto> actual = candidatesOf(catalog, 300, 50, dictionary)
+                    .rank(bitmap(dictionary, disliked), RecommendationScorer.PLAYLIST_SIZE);
+            if (actual == null) {
+                continue;  // 후보 밖 곡이 상위에 들 수 있으면 SQL 경로로 넘김
+            }
+            exactRounds++;
+            assertThat(actual.stream().map(MusicDto::trackId).collect(Collectors.toList()))
+                    .containsExactlyElementsOf(expected);
+            if (!disliked.contains(popular.trackId())) {
+                assertThat(actual.get(0).trackId()).isEqualTo(popular.trackId());
+            }
+        }
+        assertThat(exactRounds).isGreaterThan(15);
+    }
+
+    @Test
+    void rankDefersWhenOutsideTrackMayEnterTopK() {
+        // 후보 밖 곡(유사도 -0.5 이상, 좋아요 최대 9개)이 후보 2번째 곡보다 높은 점수를 받을 수 있음
+        List<RecommendationCandidate> candidates = List.of(
+                candidate("a", 10, -1.0),
+                candidate("b", 0, -0.6),
+                candidate("c", 0, -0.5));
+        CandidateColumns columns = CandidateColumns.of(candidates, new IdDictionary(), new CatalogBounds(1.0, 9L, -0.5));
+
+        assertThat(columns.rank(IntBitmap.EMPTY, 1)).extracting(MusicDto::trackId).containsExactly("a");
+        assertThat(columns.rank(IntBitmap.EMPTY, 2)).isNull();
+        // 후보가 모자라면 후보 밖 곡이 채우므로 확정할 수 없음
+        assertThat(columns.rank(IntBitmap.EMPTY, 4)).isNull();
+        // 카탈로그 전체가 후보면 항상 확정
+        assertThat(CandidateColumns.of(candidates, new IdDictionary(), new CatalogBounds(-0.5, 0L, Double.POSITIVE_INFINITY))
+                .rank(IntBitmap.EMPTY, 4)).hasSize(3);
+    }
+
+    @Test
+    void similarityOffsetsShiftCatalogBounds() {
+        List<RecommendationCandidate> candidates = List.of(candidate("a", 0, -0.9), candidate("b", 0, -0.8));
+        CandidateColumns columns = CandidateColumns.of(candidates, new IdDictionary(), new CatalogBounds(-0.1, 0L, -0.85));
+        assertThat(columns.rank(IntBitmap.EMPTY, 1)).extracting(MusicDto::trackId).containsExactly("a");
+
+        // 취향 보정으로 후보가 최대 0.5만큼 가까워지면 후보 밖 곡도 그만큼 가까워질 수 있으므로 확정할 수 없음
+        assertThat(columns.withSimilarityOffsets(new double[]{-0.2, -0.5}).rank(IntBitmap.EMPTY, 1)).isNull();
+
+        // 후보가 카탈로그 최대 유사도보다 멀어져도 정규화 점수는 0 이상
+        CandidateColumns farther = CandidateColumns.of(candidates, new IdDictionary(), new CatalogBounds(-0.1, 0L,
+                Double.POSITIVE_INFINITY)).withSimilarityOffsets(new double[]{0.0, 1.0});
+        assertThat(farther.rank(IntBitmap.EMPTY, 2)).extracting(MusicDto::trackId).containsExactly("a", "b");
+        assertThat(RecommendationScorer.score(0.5, 0L, -0.9, -0.1, 0L)).isEqualTo(0.0);
+    }
+
+    @Test
+    void likeDeltaOutsideCandidatesRequiresReload() {
+        List<RecommendationCandidate> candidates = List.of(candidate("a", 0, -0.9), candidate("b", 0, -0.8));
+        CandidateColumns columns = CandidateColumns.of(candidates, new IdDictionary(), new CatalogBounds(0.5, 0L, -0.8));
+
+        assertThat(columns.withLikeDelta("a", 1).rank(IntBitmap.EMPTY, 1).get(0).likeCount()).isEqualTo(1L);
+        assertThat(columns.withLikeDelta("outside", 1)).isNull();
+    }
+
+    @Test
+    void likeDeltaIsAppliedToCopyOnly() {
+        List<RecommendationCandidate> candidates = List.of(
+                candidate("a", 0, -0.9),
+                candidate("b", 0, -0.8),
+                candidate("c", 0, -0.1));
+        CandidateColumns original = CandidateColumns.of(candidates, new IdDictionary());
+        CandidateColumns patched = original.withLikeDelta("b", 10);
+
+        assertThat(original.rank(IntBitmap.EMPTY, 2).get(0).trackId()).isEqualTo("a");
+        assertThat(patched.rank(IntBitmap.EMPTY, 2).get(0).trackId()).isEqualTo("b");
+        assertThat(patched.rank(IntBitmap.EMPTY, 2).get(0).likeCount()).isEqualTo(10L);
+        assertThat(patched.withLikeDelta("b", -20).rank(IntBitmap.EMPTY, 2).get(1).likeCount()).isEqualTo(0L); // 0 미만으로 내려가지 않음
+        assertThat(original.withLikeDelta("missing", 1)).isEqualTo(original);
+    }
+
+    private static IntBitmap bitmap(IdDictionary dictionary, Set<String> trackIds) {
+        IntBitmap bitmap = IntBitmap.EMPTY;
+        for (String trackId : trackIds) {
+            bitmap = bitmap.with(dictionary.idOf(trackId));
+        }
+        return bitmap;
+    }
+
+    // 서비스와 같은 방식의 후보: 유사도 상위 bySimilarity곡 + 좋아요 상위 byLikes곡 (catalog는 유사도 오름차순)
+    private static CandidateColumns candidatesOf(List<RecommendationCandidate> catalog, int bySimilarity, int byLikes,
+                                                 IdDictionary dictionary) {
+        List<RecommendationCandidate> candidates = new ArrayList<>(catalog.subList(0, bySimilarity));
+        List<RecommendationCandidate> liked = catalog.stream()
+                .filter(c -> c.likeCount() > 0)
+                .sorted(Comparator.comparingLong(RecommendationCandidate::likeCount).reversed())
+                .limit(byLikes)
+                .collect(Collectors.toList());
+        Set<String> trackIds = candidates.stream().map(RecommendationCandidate::trackId).collect(Collectors.toSet());
+        for (RecommendationCandidate c : liked) {
+            if (trackIds.add(c.trackId())) {
+                candidates.add(c);
+            }
+        }
+
+        double maxSimilarity = catalog.get(catalog.size() - 1).similarityScore();
+        long outsideMaxLike = liked.size() < byLikes ? 0L : liked.get(liked.size() - 1).likeCount();
+        double outsideMinSimilarity = catalog.get(bySimilarity - 1).similarityScore();
+        return CandidateColumns.of(candidates, dictionary,
+                new CatalogBounds(maxSimilarity, outsideMaxLike, outsideMinSimilarity));
+    }
+
+    // 기존 방식: 후보 객체를 TopK에 넣어 정렬
+    private static List<String> rankWithTopK(List<RecommendationCandidate> candidates, Set<String> disliked) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        long maxLike = 0L;
+        for (RecommendationCandidate c : candidates) {
+            if (disliked.contains(c.trackId())) {
+                continue;
+            }
+            min = Math.min(min, c.similarityScore());
+            max = Math.max(max, c.similarityScore());
+            maxLike = Math.max(maxLike, c.likeCount());
+        }
+        TopK<RecommendationCandidate> topK = new TopK<>(RecommendationScorer.PLAYLIST_SIZE);
+        for (RecommendationCandidate c : candidates) {
+            if (!disliked.contains(c.trackId())) {
+                topK.offer(c, RecommendationScorer.score(c.similarityScore(), c.likeCount(), min, max, maxLike));
+            }
+        }
+        return topK.toSortedList().stream().map(RecommendationCandidate::trackId).collect(Collectors.toList());
+    }
+
+    private static RecommendationCandidate candidate(String trackId, long likeCount, double similarity) {
+        return new RecommendationCandidate(trackId, trackId, "artist", null, null, likeCount, similarity);
+    }
+}
@@ -0,0 +1,79 @@
+package com.musiccheck.domain.music.recommend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * IntBitmap 추가/삭제가 TreeSet과 같은 집합을 유지하는지 검증 (배열 ↔ 비트맵 청크 전환 포함)
+ */
+class IntBitmapTest {
+
+    @Test
+    void matchesTreeSetAcrossContainerConversions() {
+        Random random = new Random(17);
+        IntBitmap bitmap = IntBitmap.EMPTY;
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        // 청크 3개에 각각 4096개 넘게 넣어 비트맵 청크로 전환
+        for (int i = 0; i < 30_000; i++) {
+            int value = random.nextInt(6000) + (random.nextInt(3) << 16);
+            bitmap = bitmap.with(value);
+            expected.add(value);
+        }
+        assertSameSet(bitmap, expected);
+        assertThat(bitmap.sizeInBytes()).isGreaterThan(3L * 8192);
+
+        // 절반 이상 지워 다시 배열 청크로 전환
+        for (int i = 0; i < 30_000; i++) {
+            int value = random.nextInt(6000) + (random.nextInt(3) << 16);
+            bitmap = bitmap.without(value);
+            expected.remove(value);
+        }
+        assertSameSet(bitmap, expected);
+        assertThat(bitmap.sizeInBytes()).isLessThan(3L * 8192);
+
+        for (int value : expected) {
+            bitmap = bitmap.without(value);
+        }
+        assertThat(bitmap.isEmpty()).isEqualTo(true);
+        assertThat(bitmap.contains(-1)).isEqualTo(false);
+    }
+
+    @Test
+    void updatesLeaveOriginalUnchanged() {
+        IntBitmap original = IntBitmap.of(1, 70_000);
+        IntBitmap added = original.with(2);
+        IntBitmap removed = original.without(70_000);
+
+        assertThat(original.contains(2)).isEqualTo(false);
+        assertThat(original.contains(70_000)).isEqualTo(true);
+        assertThat(added.contains(2)).isEqualTo(true);
+        assertThat(removed.contains(70_000)).isEqualTo(false);
+        assertThat(original.with(1)).isEqualTo(original);
+        assertThat(original.without(3)).isEqualTo(original);
+    }
+
+    @Test
+    void userDislikesAreKeptPerBook() {
+        UserDislikes dislikes = UserDislikes.EMPTY.with(5, 10).with(5, 11).with(2, 10);
+
+        assertThat(dislikes.forBook(5).cardinality()).isEqualTo(2);
+        assertThat(dislikes.forBook(2).contains(10)).isEqualTo(true);
+        assertThat(dislikes.forBook(3).isEmpty()).isEqualTo(true);
+        assertThat(dislikes.without(2, 10).forBook(2).isEmpty()).isEqualTo(true);
+        assertThat(dislikes.without(2, 10).without(5, 10).without(5, 11)).isEqualTo(UserDislikes.EMPTY);
+    }
+
+    private static void assertSameSet(IntBitmap bitmap, TreeSet<Integer> expected) {
+        for (int value = 0; value < (3 << 16); value++) {
+            if (bitmap.contains(value) != expected.contains(value)) {
+                assertThat(bitmap.contains(value)).isEqualTo(expected.contains(value));
+            }
+        }
+        assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+    }
+}
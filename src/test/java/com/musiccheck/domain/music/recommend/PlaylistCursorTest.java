@@ -0,0 +1,38 @@
+package com.musiccheck.domain.music.recommend;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 플레이리스트 커서 인코딩/디코딩 검증
+ */
+class PlaylistCursorTest {
+
+    @Test
+    void roundTripsSessionIdAndOffset() {
+        PlaylistCursor cursor = new PlaylistCursor("3f2a9c1e-7b4d-4e8f-9a61-0c5d2b7e8f10", 30);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded.contains(":")).isFalse();  // 클라이언트에는 불투명한 문자열
+        assertThat(PlaylistCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> PlaylistCursor.decode("not base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PlaylistCursor.decode(encode("no-offset"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PlaylistCursor.decode(encode(":30"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PlaylistCursor.decode(encode("session:-1"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PlaylistCursor.decode(encode("session:abc"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,53 @@
+package com.musiccheck.domain.music.recommend;
+
+import com.musiccheck.domain.music.index.VectorMath;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 후보 유사도 보정(offsets)이 취향을 섞은 질의 벡터(blend)로 직접 계산한 유사도와 같은지 검증
+ */
+class TasteBlendTest {
+
+    private static final int DIMENSION = 64;
+
+    @Test
+    void offsetsMatchBlendedQuery() {
+        Random random = new Random(3);
+        float[] book = randomVector(random);
+        float[] taste = TasteBlend.unit(randomVector(random));
+        double weight = 0.3;
+        float[] blended = TasteBlend.blend(book, taste, weight);
+
+        float[][] tracks = new float[50][];
+        float[] tasteDots = new float[tracks.length];
+        for (int i = 0; i < tracks.length; i++) {
+            tracks[i] = randomVector(random);
+            tasteDots[i] = VectorMath.dot(taste, tracks[i]);
+        }
+        double[] offsets = TasteBlend.offsets(book, tasteDots, weight);
+
+        for (int i = 0; i < tracks.length; i++) {
+            double adjusted = VectorMath.negativeInnerProduct(book, tracks[i]) + offsets[i];
+            double direct = VectorMath.negativeInnerProduct(blended, tracks[i]);
+            assertThat(Math.abs(adjusted - direct)).isLessThan(1e-4);
+        }
+    }
+
+    @Test
+    void missingTrackAndZeroTasteAreIgnored() {
+        assertThat(TasteBlend.unit(new float[DIMENSION])).isNull();
+        assertThat(TasteBlend.offsets(new float[]{1f, 0f}, new float[]{Float.NaN}, 0.5)[0]).isEqualTo(0.0);
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int d = 0; d < DIMENSION; d++) {
+            vector[d] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
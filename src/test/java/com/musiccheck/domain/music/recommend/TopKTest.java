@@ -0,0 +1,59 @@
+package com.musiccheck.domain.music.recommend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * bounded top-K 결과가 기존 전체 정렬 + limit(30) 결과와 동일한지 검증
+ */
+class TopKTest {
+
+    @Test
+    void matchesFullSortWithStableTies() {
+        Random random = new Random(3);
+        for (int round = 0; round < 20; round++) {
+            List<double[]> rows = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                // 동점이 자주 생기도록 유사도/좋아요 값을 거칠게 생성
+                rows.add(new double[]{i, random.nextInt(50) / 10.0, random.nextInt(5)});
+            }
+            double min = rows.stream().mapToDouble(r -> r[1]).min().orElse(0.0);
+            double max = rows.stream().mapToDouble(r -> r[1]).max().orElse(1.0);
+            long maxLike = rows.stream().mapToLong(r -> (long) r[2]).max().orElse(1L);
+
+            List<Integer> expected = rows.stream()
+                    .map(r -> new double[]{r[0], RecommendationScorer.score(r[1], (long) r[2], min, max, maxLike)})
+                    .sorted(Comparator.comparing((double[] r) -> r[1]).reversed())
+                    .limit(RecommendationScorer.PLAYLIST_SIZE)
+                    .map(r -> (int) r[0])
+                    .collect(Collectors.toList());
+
+            TopK<Integer> topK = new TopK<>(RecommendationScorer.PLAYLIST_SIZE);
+            for (double[] r : rows) {
+                double score = RecommendationScorer.score(r[1], (long) r[2], min, max, maxLike);
+                if (topK.accepts(score)) {
+                    topK.offer((int) r[0], score);
+                }
+            }
+
+            assertThat(topK.toSortedList()).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void keepsAllWhenFewerThanCapacity() {
+        TopK<String> topK = new TopK<>(5);
+        topK.offer("a", 0.1);
+        topK.offer("b", 0.9);
+        topK.offer("c", 0.5);
+
+        assertThat(topK.toSortedList()).containsExactly("b", "c", "a");
+    }
+}
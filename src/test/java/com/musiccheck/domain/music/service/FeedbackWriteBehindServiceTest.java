@@ -0,0 +1,229 @@
+package com.musiccheck.domain.music.service;
+
+import com.musiccheck.domain.music.dto.FeedbackSaveResult;
+import com.musiccheck.domain.music.repository.UserFeedbackUpsertRepository.FeedbackWrite;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * write-behind 대기열 동작 검증 (DB 대신 반영 요청을 기록하는 FeedbackWriter 사용)
+ * - 연속 변경은 마지막 값만 반영, 반영 중 바뀐 값은 대기열에 남음
+ * - 잘못된 행은 dead letter, 연결 오류는 대기열 유지
+ * - 조회 전 반영은 다른 사용자의 반영을 기다리지 않음, 종료 시 남은 대기분 반영
+ */
+class FeedbackWriteBehindServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingWriter writer = new RecordingWriter();
+    // 주기 반영과 batch-size 도달 시 반영이 테스트 중 끼어들지 않도록 주기는 길게, 묶음 크기는 크게
+    private final FeedbackWriteBehindService service = new FeedbackWriteBehindService(
+            writer, new NoOpTransactionManager(), meterRegistry, true, 600_000L, 100, 1000);
+
+    @Test
+    void collapsesRepeatedTapsToLastValue() {
+        service.enqueue(1L, "isbn", "track", "like");
+        service.enqueue(1L, "isbn", "track", "dislike");
+        service.enqueue(1L, "isbn", "track", "like");
+
+        service.flush();
+
+        assertThat(writer.batches).hasSize(1);
+        assertThat(writer.batches.get(0)).containsExactly(new FeedbackWrite(1L, "isbn", "track", "like"));
+        assertThat(count("collapsed")).isEqualTo(2.0);
+        assertThat(pending()).isEqualTo(0.0);
+    }
+
+    @Test
+    void keepsValueChangedDuringFlush() {
+        service.enqueue(1L, "isbn", "track", "like");
+        // 반영 중에 같은 곡을 다시 탭 (커밋된 값과 다르므로 대기열에서 빠지면 안 됨)
+        writer.onWrite = writes -> service.enqueue(1L, "isbn", "track", "dislike");
+
+        service.flush();
+        writer.onWrite = writes -> {};
+        service.flush();
+
+        assertThat(writer.batches).hasSize(2);
+        assertThat(writer.batches.get(1)).containsExactly(new FeedbackWrite(1L, "isbn", "track", "dislike"));
+        assertThat(pending()).isEqualTo(0.0);
+    }
+
+    @Test
+    void deadLettersBadRowAndWritesTheRest() {
+        writer.badTracks.add("bad");
+        service.enqueue(1L, "isbn", "good-1", "like");
+        service.enqueue(1L, "isbn", "bad", "like");
+        service.enqueue(2L, "isbn", "good-2", "dislike");
+
+        service.flush();
+
+        assertThat(writer.written).extracting(FeedbackWrite::musicId)
+                .containsExactlyInAnyOrder("good-1", "good-2");
+        assertThat(count("failed")).isEqualTo(1.0);
+        assertThat(count("dead_letter")).isEqualTo(1.0);
+        assertThat(pending()).isEqualTo(0.0);
+
+        // dead letter는 다시 반영하지 않음
+        int batches = writer.batches.size();
+        service.flush();
+        assertThat(writer.batches).hasSize(batches);
+    }
+
+    @Test
+    void keepsPendingWhenDatabaseIsUnavailable() {
+        writer.unavailable = true;
+        service.enqueue(1L, "isbn", "track", "like");
+
+        try {
+            service.flush();
+        } catch (DataAccessResourceFailureException expected) {
+            // 다음 주기에 재시도
+        }
+        assertThat(count("dead_letter")).isEqualTo(0.0);
+        assertThat(pending()).isEqualTo(1.0);
+
+        writer.unavailable = false;
+        service.flushUser(1L);
+        assertThat(writer.written).containsExactly(new FeedbackWrite(1L, "isbn", "track", "like"));
+        assertThat(pending()).isEqualTo(0.0);
+    }
+
+    @Test
+    void flushUserDoesNotWaitForOtherUsers() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        writer.onWrite = writes -> {
+            if (writes.get(0).userId() == 2L) {
+                writing.countDown();
+                await(release);
+            }
+        };
+        service.enqueue(2L, "isbn", "track", "like");
+        CompletableFuture<Void> background = CompletableFuture.runAsync(service::flush);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 사용자 2의 주기 반영이 끝나지 않았어도 사용자 1의 조회 전 반영은 바로 끝남
+        service.enqueue(1L, "isbn", "track", "dislike");
+        CompletableFuture<Void> flushUser = CompletableFuture.runAsync(() -> service.flushUser(1L));
+        flushUser.get(5, TimeUnit.SECONDS);
+        assertThat(writer.written).containsExactly(new FeedbackWrite(1L, "isbn", "track", "dislike"));
+
+        release.countDown();
+        background.get(5, TimeUnit.SECONDS);
+        assertThat(pending()).isEqualTo(0.0);
+    }
+
+    @Test
+    void closeWritesRemainingAndRejectsNewFeedback() {
+        service.enqueue(1L, "isbn", "a", "like");
+        service.enqueue(1L, "isbn", "b", "like");
+        service.enqueue(2L, "isbn", "a", "dislike");
+        service.enqueue(3L, "isbn", "a", "like");
+
+        service.close();
+
+        assertThat(writer.written).hasSize(4);
+        assertThat(pending()).isEqualTo(0.0);
+        assertThat(service.enqueue(1L, "isbn", "c", "like")).isNull();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("feedback.write-behind").tag("result", result).counter().count();
+    }
+
+    private double pending() {
+        return meterRegistry.get("feedback.write-behind.pending").gauge().value();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // DB 대신 반영 요청을 기록 (badTracks는 데이터 오류, unavailable이면 연결 오류)
+    private static final class RecordingWriter extends FeedbackWriter {
+
+        private final List<List<FeedbackWrite>> batches = new ArrayList<>();
+        private final List<FeedbackWrite> written = new ArrayList<>();
+        private final Set<String> badTracks = new HashSet<>();
+        private volatile boolean unavailable = false;
+        private volatile Consumer<List<FeedbackWrite>> onWrite = writes -> {};
+
+        RecordingWriter() {
+            super(null, null, null);
+        }
+
+        @Override
+        public Map<FeedbackWrite, FeedbackSaveResult> writeAll(List<FeedbackWrite> writes) {
+            synchronized (this) {
+                batches.add(List.copyOf(writes));
+            }
+            onWrite.accept(writes);
+            Map<FeedbackWrite, FeedbackSaveResult> results = new LinkedHashMap<>();
+            for (FeedbackWrite write : writes) {
+                check(write);
+                results.put(write, FeedbackSaveResult.INSERTED);
+            }
+            synchronized (this) {
+                written.addAll(writes);
+            }
+            return results;
+        }
+
+        @Override
+        public FeedbackSaveResult write(FeedbackWrite write) {
+            check(write);
+            synchronized (this) {
+                written.add(write);
+            }
+            return FeedbackSaveResult.INSERTED;
+        }
+
+        private void check(FeedbackWrite write) {
+            if (unavailable) {
+                throw new DataAccessResourceFailureException("connection refused");
+            }
+            if (badTracks.contains(write.musicId())) {
+                throw new DataIntegrityViolationException("value too long for type character varying(50)");
+            }
+        }
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.musiccheck.domain.music.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 플레이리스트 세션 검증
+ * - 세션 ID는 서버에서 발급, 다른 사용자/ISBN의 세션은 조회되지 않음
+ * - 첫 페이지 뒤에 이어 붙일 때 첫 페이지 곡은 다시 나오지 않고, 먼저 완성된 세션은 바뀌지 않음
+ */
+class PlaylistSessionCacheTest {
+
+    private final PlaylistSessionCache sessions =
+            new PlaylistSessionCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+    @Test
+    void issuesSessionIdsAndChecksOwner() {
+        PlaylistSessionCache.Session first = sessions.create(1L, "isbn", List.of("a", "b"), false);
+        PlaylistSessionCache.Session second = sessions.create(1L, "isbn", List.of("a", "b"), false);
+
+        assertThat(first.id()).isNotEqualTo(second.id());
+        assertThat(sessions.find(first.id(), 1L, "isbn")).isEqualTo(first);
+        assertThat(sessions.find(first.id(), 2L, "isbn")).isNull();
+        assertThat(sessions.find(first.id(), 1L, "other")).isNull();
+        assertThat(sessions.find("unknown", 1L, "isbn")).isNull();
+    }
+
+    @Test
+    void completeAppendsRankedTracksExceptFirstPage() {
+        PlaylistSessionCache.Session session = sessions.create(1L, "isbn", List.of("a", "b"), false);
+
+        // 첫 페이지 이후 b가 싫어요로 빠지고 순위가 바뀐 목록
+        PlaylistSessionCache.Session completed = sessions.complete(session, List.of("a", "c", "d", "e"), 4);
+
+        assertThat(completed.complete()).isTrue();
+        assertThat(completed.trackIds()).containsExactly("a", "b", "c", "d");
+        assertThat(sessions.find(session.id(), 1L, "isbn")).isEqualTo(completed);
+    }
+
+    @Test
+    void completeKeepsSessionCompletedFirst() {
+        PlaylistSessionCache.Session session = sessions.create(1L, "isbn", List.of("a"), false);
+        PlaylistSessionCache.Session completed = sessions.complete(session, List.of("b", "c"), 10);
+
+        // 같은 커서로 동시에 들어온 요청이 다른 순위로 완성하려 해도 먼저 완성된 세션 유지
+        assertThat(sessions.complete(session, List.of("c", "b"), 10)).isEqualTo(completed);
+        assertThat(completed.trackIds()).containsExactly("a", "b", "c");
+    }
+}